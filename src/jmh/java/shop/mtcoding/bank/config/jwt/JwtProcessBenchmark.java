@@ -0,0 +1,95 @@
+package shop.mtcoding.bank.config.jwt;
+
+import com.auth0.jwt.JWT;
+import com.auth0.jwt.algorithms.Algorithm;
+import com.auth0.jwt.interfaces.DecodedJWT;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import shop.mtcoding.bank.config.auth.LoginUser;
+import shop.mtcoding.bank.domain.user.User;
+import shop.mtcoding.bank.domain.user.UserEnum;
+
+/*
+ * 토큰 생성, 검증 처리량 비교
+ * - create : 로그인 성공시 토큰 생성
+ * - legacy : 요청마다 Algorithm, JWTVerifier를 새로 만들던 이전 방식
+ * - cold   : 공유 JWTVerifier로 매번 HMAC 검증 + 폐기 여부 확인
+ * - cached : 검증된 토큰 캐시 적중 (블룸필터로 폐기 여부 확인 포함)
+ * - full   : 캐시가 가득 찬 상태에서 처음 보는 토큰 (HMAC 검증 + 가장 오래된 항목 하나 지우고 저장)
+ *            cold와 차이가 거의 없어야 한다. (저장할 때 캐시 전체를 훑지 않는다)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class JwtProcessBenchmark {
+    private LoginUser loginUser;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        User user = User.builder().id(1L).role(UserEnum.CUSTOMER).build();
+        loginUser = new LoginUser(user);
+        token = JwtProcess.create(loginUser).replace(JwtVO.TOKEN_PREFIX, "");
+        JwtProcess.verify(token);
+    }
+
+    @Benchmark
+    public String create() {
+        return JwtProcess.create(loginUser);
+    }
+
+    @Benchmark
+    public DecodedJWT verifyLegacy() {
+        return JWT.require(Algorithm.HMAC512(JwtVO.SECRET)).build().verify(token);
+    }
+
+    @Benchmark
+    public LoginUser verifyCold() {
+        return JwtProcess.verifyWithoutCache(token);
+    }
+
+    @Benchmark
+    public LoginUser verifyCached() {
+        return JwtProcess.verify(token);
+    }
+
+    @Benchmark
+    public LoginUser verifyFull(FullCache fullCache) {
+        return JwtProcess.verify(fullCache.nextToken());
+    }
+
+    // 캐시 크기의 3배만큼 토큰을 만들어두고 돌아가며 쓴다. (다시 돌아왔을 때는 이미 캐시에서 밀려나 있다)
+    @State(Scope.Thread)
+    public static class FullCache {
+        private String[] tokens;
+        private int next;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            User user = User.builder().id(1L).role(UserEnum.CUSTOMER).build();
+            LoginUser loginUser = new LoginUser(user);
+            tokens = new String[JwtProcess.CACHE_MAX_SIZE * 3];
+            for (int i = 0; i < tokens.length; i++) {
+                tokens[i] = JwtProcess.create(loginUser).replace(JwtVO.TOKEN_PREFIX, "");
+            }
+            JwtProcess.getVerifiedTokenCache().clear();
+            for (int i = 0; i < JwtProcess.CACHE_MAX_SIZE; i++) {
+                JwtProcess.verify(tokens[i]);
+            }
+            next = JwtProcess.CACHE_MAX_SIZE;
+        }
+
+        private String nextToken() {
+            String token = tokens[next];
+            next = (next + 1) % tokens.length;
+            return token;
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package shop.mtcoding.bank.domain.transaction;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/*
+ * transaction_tb insert 처리량 - sender, receiver 컬럼 삭제 전(legacy) / 후(compact)
+ * - legacy  : 거래마다 "ATM", 계좌번호 문자열을 만들어서 같이 저장
+ * - compact : 출금계좌/입금계좌 FK만 저장 (보내는 쪽/받는 쪽은 조회할 때 만든다)
+ * 끝나면 행당 sender, receiver가 차지하던 바이트 수를 출력한다.
+ * (MariaDB의 실제 행 크기는 db/transaction_drop_sender_receiver.sql의 information_schema 쿼리로 확인)
+ * ./gradlew jmh -Pjmh.includes=TransactionInsertBenchmark
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class TransactionInsertBenchmark {
+    private static final int BATCH_SIZE = 50;   // hibernate.jdbc.batch_size와 같게
+
+    private static final String LEGACY_INSERT_SQL = "INSERT INTO transaction_tb "
+            + "(id, deposit_account_id, amount, deposit_account_balance, gubun, sender, receiver, tel, created_at, updated_at) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String COMPACT_INSERT_SQL = "INSERT INTO transaction_tb "
+            + "(id, deposit_account_id, amount, deposit_account_balance, gubun, tel, created_at, updated_at) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+
+    @Param({"legacy", "compact"})
+    private String layout;
+
+    private Connection connection;
+    private PreparedStatement insert;
+    private long nextId;
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        connection = DriverManager.getConnection("jdbc:h2:mem:transaction_insert_" + layout + ";MODE=MySQL", "sa", "");
+        connection.setAutoCommit(false);
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE transaction_tb ("
+                    + "id BIGINT NOT NULL PRIMARY KEY, "
+                    + "withdraw_account_id BIGINT, "
+                    + "deposit_account_id BIGINT, "
+                    + "amount BIGINT, "
+                    + "withdraw_account_balance BIGINT, "
+                    + "deposit_account_balance BIGINT, "
+                    + "gubun VARCHAR(255) NOT NULL, "
+                    + (layout.equals("legacy") ? "sender VARCHAR(255), receiver VARCHAR(255), " : "")
+                    + "tel VARCHAR(255), "
+                    + "created_at TIMESTAMP NOT NULL, "
+                    + "updated_at TIMESTAMP NOT NULL)");
+        }
+        insert = connection.prepareStatement(layout.equals("legacy") ? LEGACY_INSERT_SQL : COMPACT_INSERT_SQL);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        if (layout.equals("legacy")) {
+            try (Statement statement = connection.createStatement();
+                 ResultSet rs = statement.executeQuery(
+                         "SELECT AVG(OCTET_LENGTH(sender) + OCTET_LENGTH(receiver)) FROM transaction_tb")) {
+                rs.next();
+                System.out.println("\nsender, receiver 행당 바이트 : " + rs.getDouble(1) + " (" + nextId + "건)");
+            }
+        }
+        insert.close();
+        connection.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public int[] insertBatch() throws SQLException {
+        Timestamp now = new Timestamp(System.currentTimeMillis());
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            long id = ++nextId;
+            long number = 1000L + id % 9000L;
+            int index = 1;
+            insert.setLong(index++, id);
+            insert.setLong(index++, number);
+            insert.setLong(index++, 100L);
+            insert.setLong(index++, 1000L + id * 100L);
+            insert.setString(index++, TransactionEnum.DEPOSIT.name());
+            if (layout.equals("legacy")) {
+                insert.setString(index++, "ATM");
+                insert.setString(index++, number + "");
+            }
+            insert.setString(index++, "01011112222");
+            insert.setTimestamp(index++, now);
+            insert.setTimestamp(index, now);
+            insert.addBatch();
+        }
+        int[] counts = insert.executeBatch();
+        connection.commit();
+        return counts;
+    }
+}
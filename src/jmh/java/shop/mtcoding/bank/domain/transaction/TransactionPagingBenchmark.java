@@ -0,0 +1,151 @@
+package shop.mtcoding.bank.domain.transaction;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.infra.Blackhole;
+
+/*
+ * 입출금목록 페이지 조회 - 오프셋 페이징 / 커서(키셋) 페이징
+ * - 한 계좌의 입금내역 100만건 (트라이얼마다 한번만 넣는다)
+ * - offset : LIMIT 5 OFFSET n  (앞의 n개를 읽고 버린다 - 뒤 페이지일수록 느려진다)
+ * - cursor : n번째 행의 (created_at, id) 다음부터 LIMIT 5 (깊이와 상관없이 인덱스에서 바로 찾아간다)
+ * 쿼리는 TransactionRepositoryImpl이 DEPOSIT일 때 만드는 SQL과 같은 모양이다. (인덱스도 Transaction 엔티티와 같게)
+ * ./gradlew jmh -Pjmh.includes=TransactionPagingBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class TransactionPagingBenchmark {
+    private static final int ROW_COUNT = 1_000_000;
+    private static final long ACCOUNT_ID = 1L;
+    private static final int PAGE_SIZE = TransactionRepositoryImpl.DEFAULT_PAGE_SIZE;
+
+    private static final String OFFSET_SQL = "SELECT id, amount, deposit_account_balance, created_at FROM transaction_tb "
+            + "WHERE deposit_account_id = ? ORDER BY created_at, id LIMIT ? OFFSET ?";
+    private static final String CURSOR_SQL = "SELECT id, amount, deposit_account_balance, created_at FROM transaction_tb "
+            + "WHERE deposit_account_id = ? AND (created_at > ? OR (created_at = ? AND id > ?)) "
+            + "ORDER BY created_at, id LIMIT ?";
+
+    @Param({"100", "10000", "500000"})
+    private int depth;  // 건너뛸 행 수 (= page * 5)
+
+    private Connection connection;
+    private PreparedStatement offsetQuery;
+    private PreparedStatement cursorQuery;
+    private Timestamp cursorCreatedAt;
+    private long cursorId;
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        connection = DriverManager.getConnection("jdbc:h2:mem:transaction_paging_" + depth + ";MODE=MySQL", "sa", "");
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE transaction_tb ("
+                    + "id BIGINT NOT NULL PRIMARY KEY, "
+                    + "withdraw_account_id BIGINT, "
+                    + "deposit_account_id BIGINT, "
+                    + "amount BIGINT, "
+                    + "withdraw_account_balance BIGINT, "
+                    + "deposit_account_balance BIGINT, "
+                    + "gubun VARCHAR(255) NOT NULL, "
+                    + "tel VARCHAR(255), "
+                    + "created_at TIMESTAMP NOT NULL, "
+                    + "updated_at TIMESTAMP NOT NULL)");
+            // 같은 시각에 두 건씩 - (created_at, id) 순서의 id 비교까지 타게 한다.
+            statement.execute("INSERT INTO transaction_tb "
+                    + "(id, deposit_account_id, amount, deposit_account_balance, gubun, tel, created_at, updated_at) "
+                    + "SELECT x, " + ACCOUNT_ID + ", 100, 1000 + x * 100, 'DEPOSIT', '01011112222', "
+                    + "DATEADD('SECOND', x / 2, TIMESTAMP '2026-01-01 00:00:00'), "
+                    + "DATEADD('SECOND', x / 2, TIMESTAMP '2026-01-01 00:00:00') "
+                    + "FROM SYSTEM_RANGE(1, " + ROW_COUNT + ")");
+            statement.execute("CREATE INDEX idx_transaction_deposit_account ON transaction_tb (deposit_account_id, created_at, id)");
+        }
+
+        offsetQuery = connection.prepareStatement(OFFSET_SQL);
+        cursorQuery = connection.prepareStatement(CURSOR_SQL);
+
+        // 클라이언트가 앞 페이지에서 받은 커서 = depth번째 행의 (created_at, id)
+        try (PreparedStatement statement = connection.prepareStatement(OFFSET_SQL)) {
+            statement.setLong(1, ACCOUNT_ID);
+            statement.setInt(2, 1);
+            statement.setInt(3, depth - 1);
+            try (ResultSet rs = statement.executeQuery()) {
+                rs.next();
+                cursorId = rs.getLong("id");
+                cursorCreatedAt = rs.getTimestamp("created_at");
+            }
+        }
+        if (firstId(this::bindOffset) != firstId(this::bindCursor)) {
+            throw new IllegalStateException("오프셋 페이지와 커서 페이지가 다릅니다");
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        offsetQuery.close();
+        cursorQuery.close();
+        connection.close();
+    }
+
+    @Benchmark
+    public void offset(Blackhole blackhole) throws SQLException {
+        read(bindOffset(), blackhole);
+    }
+
+    @Benchmark
+    public void cursor(Blackhole blackhole) throws SQLException {
+        read(bindCursor(), blackhole);
+    }
+
+    private PreparedStatement bindOffset() throws SQLException {
+        offsetQuery.setLong(1, ACCOUNT_ID);
+        offsetQuery.setInt(2, PAGE_SIZE);
+        offsetQuery.setInt(3, depth);
+        return offsetQuery;
+    }
+
+    private PreparedStatement bindCursor() throws SQLException {
+        cursorQuery.setLong(1, ACCOUNT_ID);
+        cursorQuery.setTimestamp(2, cursorCreatedAt);
+        cursorQuery.setTimestamp(3, cursorCreatedAt);
+        cursorQuery.setLong(4, cursorId);
+        cursorQuery.setInt(5, PAGE_SIZE);
+        return cursorQuery;
+    }
+
+    // 두 방식이 같은 페이지를 읽는지 측정 전에 한번 확인한다.
+    private static long firstId(QueryBinder binder) throws SQLException {
+        try (ResultSet rs = binder.bind().executeQuery()) {
+            rs.next();
+            return rs.getLong("id");
+        }
+    }
+
+    private interface QueryBinder {
+        PreparedStatement bind() throws SQLException;
+    }
+
+    private static void read(PreparedStatement query, Blackhole blackhole) throws SQLException {
+        try (ResultSet rs = query.executeQuery()) {
+            while (rs.next()) {
+                blackhole.consume(rs.getLong(1));
+                blackhole.consume(rs.getLong(3));
+            }
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package shop.mtcoding.bank.dto.account;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import shop.mtcoding.bank.domain.account.Account;
+import shop.mtcoding.bank.domain.transaction.Transaction;
+import shop.mtcoding.bank.domain.transaction.TransactionEnum;
+import shop.mtcoding.bank.domain.user.User;
+import shop.mtcoding.bank.dto.account.AccountRespDto.AccountDepositRespDto;
+import shop.mtcoding.bank.dto.account.AccountRespDto.AccountListRespDto;
+import shop.mtcoding.bank.dto.account.AccountRespDto.AccountTransferRespDto;
+import shop.mtcoding.bank.dto.account.AccountRespDto.AccountWithdrawRespDto;
+
+// 입금, 출금, 이체, 계좌목록 응답 DTO 생성
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class AccountRespDtoBenchmark {
+    private User user;
+    private Account account;
+    private List<Account> accounts;
+    private Transaction transaction;
+
+    @Setup
+    public void setUp() {
+        LocalDateTime now = LocalDateTime.now();
+        user = User.builder().id(1L).username("ssar").fullname("쌀").createdAt(now).build();
+        account = Account.builder().id(1L).number(1111L).password(1234L).balance(1000L).user(user).build();
+        Account depositAccount = Account.builder().id(2L).number(2222L).password(1234L).balance(1000L).user(user).build();
+
+        accounts = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            accounts.add(Account.builder().id((long) i).number(1111L + i).password(1234L).balance(1000L).user(user).build());
+        }
+
+        transaction = Transaction.builder()
+                .id(1L)
+                .withdrawAccount(account)
+                .depositAccount(depositAccount)
+                .amount(100L)
+                .withdrawAccountBalance(900L)
+                .depositAccountBalance(1100L)
+                .gubun(TransactionEnum.TRANSFER)
+                .tel("01022227777")
+                .createdAt(now)
+                .build();
+    }
+
+    @Benchmark
+    public AccountDepositRespDto depositRespDto() {
+        return new AccountDepositRespDto(account, transaction);
+    }
+
+    @Benchmark
+    public AccountWithdrawRespDto withdrawRespDto() {
+        return new AccountWithdrawRespDto(account, transaction);
+    }
+
+    @Benchmark
+    public AccountTransferRespDto transferRespDto() {
+        return new AccountTransferRespDto(account, transaction);
+    }
+
+    @Benchmark
+    public AccountListRespDto listRespDto() {
+        return new AccountListRespDto(user, accounts);
+    }
+}
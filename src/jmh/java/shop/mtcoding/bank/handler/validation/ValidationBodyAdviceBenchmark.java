@@ -0,0 +1,172 @@
+package shop.mtcoding.bank.handler.validation;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import javax.validation.Validation;
+import javax.validation.constraints.Digits;
+import javax.validation.constraints.NotEmpty;
+import javax.validation.constraints.NotNull;
+import javax.validation.constraints.Pattern;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.validation.BeanPropertyBindingResult;
+import org.springframework.validation.BindingResult;
+import org.springframework.validation.FieldError;
+import org.springframework.validation.beanvalidation.SpringValidatorAdapter;
+import org.springframework.web.bind.annotation.PostMapping;
+import shop.mtcoding.bank.dto.account.AccountReqDto.AccountDepositReqDto;
+import shop.mtcoding.bank.handler.ex.CustomValidationException;
+
+/*
+ * 입금 요청 DTO 유효성검사 비교
+ * - aspect : Bean Validation -> BindingResult -> @Around(이전 CustomValidationAdvice) -> 컨트롤러 메서드
+ * - advice : ValidationBodyAdvice(미리 컴파일한 Pattern) -> 컨트롤러 메서드
+ * 스프링 컨텍스트 없이 AspectJProxyFactory로 컨트롤러 대신 Target에 Advice를 적용한다.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class ValidationBodyAdviceBenchmark {
+    private SpringValidatorAdapter validator;
+    private Target aspectProxy;
+    private Target target;
+    private LegacyDepositReqDto legacyValidReqDto;
+    private LegacyDepositReqDto legacyInvalidReqDto;
+    private AccountDepositReqDto validReqDto;
+    private AccountDepositReqDto invalidReqDto;
+
+    public static class Target {
+        @PostMapping("/account/deposit")
+        public Object deposit(Object reqDto, BindingResult bindingResult) {
+            return reqDto;
+        }
+
+        @PostMapping("/account/deposit")
+        public Object deposit(Object reqDto) {
+            return reqDto;
+        }
+    }
+
+    // 이전 CustomValidationAdvice (BindingResult를 매개변수에서 찾는다)
+    @Aspect
+    public static class LegacyValidationAspect {
+        @Around("@annotation(org.springframework.web.bind.annotation.PostMapping)")
+        public Object validationAdvice(ProceedingJoinPoint proceedingJoinPoint) throws Throwable {
+            for (Object arg : proceedingJoinPoint.getArgs()) {
+                if (arg instanceof BindingResult) {
+                    BindingResult bindingResult = (BindingResult) arg;
+                    if (bindingResult.hasErrors()) {
+                        Map<String, String> errorMap = new HashMap<>();
+                        for (FieldError error : bindingResult.getFieldErrors()) {
+                            errorMap.put(error.getField(), error.getDefaultMessage());
+                        }
+                        throw new CustomValidationException("유효성검사 실패", errorMap);
+                    }
+                }
+            }
+            return proceedingJoinPoint.proceed();
+        }
+    }
+
+    // 이전 AccountDepositReqDto (Bean Validation 어노테이션)
+    public static class LegacyDepositReqDto {
+        @NotNull
+        @Digits(integer = 4, fraction = 4)
+        private Long number;
+
+        @NotNull
+        private Long amount;
+
+        @NotEmpty
+        @Pattern(regexp = "^(DEPOSIT)$")
+        private String gubun;
+
+        @NotEmpty
+        @Pattern(regexp = "^[0-9]{11}$")
+        private String tel;
+    }
+
+    @Setup
+    public void setUp() {
+        validator = new SpringValidatorAdapter(Validation.buildDefaultValidatorFactory().getValidator());
+
+        AspectJProxyFactory proxyFactory = new AspectJProxyFactory(new Target());
+        proxyFactory.setProxyTargetClass(true);
+        proxyFactory.addAspect(new LegacyValidationAspect());
+        aspectProxy = proxyFactory.getProxy();
+        target = new Target();
+
+        legacyValidReqDto = legacy(1111L, 100L, "DEPOSIT", "01088887777");
+        legacyInvalidReqDto = legacy(1111L, 100L, "WITHDRAW", "010-8888-7777");
+
+        validReqDto = new AccountDepositReqDto();
+        validReqDto.setNumber(1111L);
+        validReqDto.setAmount(100L);
+        validReqDto.setGubun("DEPOSIT");
+        validReqDto.setTel("01088887777");
+
+        invalidReqDto = new AccountDepositReqDto();
+        invalidReqDto.setNumber(1111L);
+        invalidReqDto.setAmount(100L);
+        invalidReqDto.setGubun("WITHDRAW");
+        invalidReqDto.setTel("010-8888-7777");
+    }
+
+    @Benchmark
+    public Object aspect_valid() {
+        return callAspect(legacyValidReqDto);
+    }
+
+    @Benchmark
+    public Object aspect_invalid() {
+        try {
+            return callAspect(legacyInvalidReqDto);
+        } catch (CustomValidationException e) {
+            return e.getErrorMap();
+        }
+    }
+
+    @Benchmark
+    public Object advice_valid() {
+        return callAdvice(validReqDto);
+    }
+
+    @Benchmark
+    public Object advice_invalid() {
+        try {
+            return callAdvice(invalidReqDto);
+        } catch (CustomValidationException e) {
+            return e.getErrorMap();
+        }
+    }
+
+    private Object callAspect(LegacyDepositReqDto reqDto) {
+        BindingResult bindingResult = new BeanPropertyBindingResult(reqDto, "accountDepositReqDto");
+        validator.validate(reqDto, bindingResult);
+        return aspectProxy.deposit(reqDto, bindingResult);
+    }
+
+    private Object callAdvice(AccountDepositReqDto reqDto) {
+        ValidationBodyAdvice.validate(reqDto);
+        return target.deposit(reqDto);
+    }
+
+    private static LegacyDepositReqDto legacy(Long number, Long amount, String gubun, String tel) {
+        LegacyDepositReqDto reqDto = new LegacyDepositReqDto();
+        reqDto.number = number;
+        reqDto.amount = amount;
+        reqDto.gubun = gubun;
+        reqDto.tel = tel;
+        return reqDto;
+    }
+}
@@ -0,0 +1,89 @@
+package shop.mtcoding.bank.service.ledger;
+
+import java.nio.file.Files;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import shop.mtcoding.bank.BankApplication;
+import shop.mtcoding.bank.config.dummy.DummyObject;
+import shop.mtcoding.bank.domain.account.AccountRepository;
+import shop.mtcoding.bank.domain.user.User;
+import shop.mtcoding.bank.domain.user.UserRepository;
+import shop.mtcoding.bank.dto.account.AccountReqDto.AccountDepositReqDto;
+import shop.mtcoding.bank.dto.account.AccountRespDto.AccountDepositRespDto;
+import shop.mtcoding.bank.service.AccountService;
+
+/*
+ * 입금 처리량 비교 - 48개 스레드가 계좌 100개에 입금 (HTTP 없이 빈을 직접 호출)
+ * - jpa    : AccountService.계좌입금 (요청마다 트랜잭션 + 비관적 락 + INSERT)
+ * - engine : LedgerEngine.deposit (샤드 메모리 잔액 + WAL force, DB 반영은 flusher가 모아서)
+ * ./gradlew jmh -Pjmh.includes=LedgerEngineBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class LedgerEngineBenchmark extends DummyObject {
+    private static final int ACCOUNT_COUNT = 100;
+    private static final long FIRST_NUMBER = 5000L;
+
+    @Param({"jpa", "engine"})
+    private String mode;
+
+    private ConfigurableApplicationContext context;
+    private AccountService accountService;
+    private LedgerEngine ledgerEngine;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        context = new SpringApplicationBuilder(BankApplication.class)
+                .profiles("test")
+                .properties(
+                        "spring.main.web-application-type=none",
+                        "bank.ledger.engine.enabled=" + mode.equals("engine"),
+                        "bank.ledger.engine.wal-dir=" + Files.createTempDirectory("bank-ledger-benchmark"),
+                        "spring.jpa.show-sql=false",
+                        "spring.jpa.properties.hibernate.format_sql=false",
+                        "logging.level.root=WARN",
+                        "logging.level.shop.mtcoding.bank=WARN",
+                        "logging.level.org.hibernate.type=WARN")
+                .run();
+
+        // 입금이 한 계좌의 락(샤드)에 몰리지 않도록 계좌를 여러개 만든다.
+        UserRepository userRepository = context.getBean(UserRepository.class);
+        AccountRepository accountRepository = context.getBean(AccountRepository.class);
+        User ssar = userRepository.save(newUser("ssar", "쌀"));
+        for (int i = 0; i < ACCOUNT_COUNT; i++) {
+            accountRepository.save(newAccount(FIRST_NUMBER + i, ssar));
+        }
+        accountService = context.getBean(AccountService.class);
+        ledgerEngine = context.getBean(LedgerEngine.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    @Threads(48)
+    public AccountDepositRespDto deposit() {
+        AccountDepositReqDto request = new AccountDepositReqDto();
+        request.setNumber(FIRST_NUMBER + ThreadLocalRandom.current().nextInt(ACCOUNT_COUNT));
+        request.setAmount(100L);
+        request.setGubun("DEPOSIT");
+        request.setTel("01011112222");
+        return ledgerEngine.isEnabled() ? ledgerEngine.deposit(request) : accountService.계좌입금(request);
+    }
+}
@@ -0,0 +1,45 @@
+package shop.mtcoding.bank.util;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+/*
+ * 응답 DTO마다 createdAt을 문자열로 바꾼다.
+ * - legacy       : 호출마다 DateTimeFormatter.ofPattern()으로 패턴을 다시 해석하던 이전 방식
+ * - formatter    : 상수 DateTimeFormatter
+ * - toStringFormat : 고정 패턴을 char[]에 직접 채우는 방식 (현재)
+ * - toEpochMilli : X-Date-Format: epoch 요청
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class CustomDateUtilBenchmark {
+    private final LocalDateTime now = LocalDateTime.now();
+
+    @Benchmark
+    public String legacy() {
+        return now.format(DateTimeFormatter.ofPattern(CustomDateUtil.PATTERN));
+    }
+
+    @Benchmark
+    public String formatter() {
+        return now.format(CustomDateUtil.FORMATTER);
+    }
+
+    @Benchmark
+    public String toStringFormat() {
+        return CustomDateUtil.toStringFormat(now);
+    }
+
+    @Benchmark
+    public long toEpochMilli() {
+        return CustomDateUtil.toEpochMilli(now);
+    }
+}
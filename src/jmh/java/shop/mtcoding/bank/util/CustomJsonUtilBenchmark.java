@@ -0,0 +1,90 @@
+package shop.mtcoding.bank.util;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockHttpServletResponse;
+import shop.mtcoding.bank.domain.user.User;
+import shop.mtcoding.bank.dto.ResponseDto;
+import shop.mtcoding.bank.dto.user.UserReqDto.LoginReqDto;
+import shop.mtcoding.bank.dto.user.UserRespDto.LoginRespDto;
+
+/*
+ * 요청마다 new ObjectMapper() 하던 이전 방식과 공용 ObjectReader/ObjectWriter 비교
+ * 할당량은 gc 프로파일러의 gc.alloc.rate.norm (B/op) 으로 확인한다.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class CustomJsonUtilBenchmark {
+    private static final ObjectReader LOGIN_REQ_READER = CustomJsonUtil.readerFor(LoginReqDto.class);
+
+    private byte[] loginRequestBody;
+    private LoginRespDto loginRespDto;
+
+    @Setup
+    public void setUp() {
+        loginRequestBody = "{\"username\":\"ssar\",\"password\":\"1234\"}".getBytes(StandardCharsets.UTF_8);
+        User user = User.builder().id(1L).username("ssar").createdAt(LocalDateTime.now()).build();
+        loginRespDto = new LoginRespDto(user);
+    }
+
+    @Benchmark
+    public LoginReqDto readLegacy() throws IOException {
+        ObjectMapper om = new ObjectMapper();
+        return om.readValue(new ByteArrayInputStream(loginRequestBody), LoginReqDto.class);
+    }
+
+    @Benchmark
+    public LoginReqDto readShared() throws IOException {
+        return LOGIN_REQ_READER.readValue(new ByteArrayInputStream(loginRequestBody));
+    }
+
+    @Benchmark
+    public MockHttpServletResponse successLegacy() throws IOException {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        ObjectMapper om = new ObjectMapper();
+        String responseBody = om.writeValueAsString(new ResponseDto<>(1, "로그인 성공", loginRespDto));
+        response.setContentType("application/json; charset=utf-8");
+        response.setStatus(200);
+        response.getWriter().println(responseBody);
+        return response;
+    }
+
+    @Benchmark
+    public MockHttpServletResponse successShared() {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        CustomResponseUtil.success(response, loginRespDto);
+        return response;
+    }
+
+    @Benchmark
+    public MockHttpServletResponse failLegacy() throws IOException {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        ObjectMapper om = new ObjectMapper();
+        String responseBody = om.writeValueAsString(new ResponseDto<>(-1, "로그인 실패", null));
+        response.setContentType("application/json; charset=utf-8");
+        response.setStatus(HttpStatus.UNAUTHORIZED.value());
+        response.getWriter().println(responseBody);
+        return response;
+    }
+
+    @Benchmark
+    public MockHttpServletResponse failShared() {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        CustomResponseUtil.fail(response, "로그인 실패", HttpStatus.UNAUTHORIZED);
+        return response;
+    }
+}
@@ -0,0 +1,45 @@
+package shop.mtcoding.bank.util;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockHttpServletResponse;
+import shop.mtcoding.bank.domain.user.User;
+import shop.mtcoding.bank.dto.user.UserRespDto.LoginRespDto;
+
+/*
+ * 필터에서 직접 응답을 쓰는 경우 (로그인 성공, 인증/권한 실패)
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class CustomResponseUtilBenchmark {
+    private LoginRespDto loginRespDto;
+
+    @Setup
+    public void setUp() {
+        User user = User.builder().id(1L).username("ssar").createdAt(LocalDateTime.now()).build();
+        loginRespDto = new LoginRespDto(user);
+    }
+
+    @Benchmark
+    public MockHttpServletResponse success() {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        CustomResponseUtil.success(response, loginRespDto);
+        return response;
+    }
+
+    @Benchmark
+    public MockHttpServletResponse fail() {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        CustomResponseUtil.fail(response, "로그인을 진행해 주세요", HttpStatus.UNAUTHORIZED);
+        return response;
+    }
+}
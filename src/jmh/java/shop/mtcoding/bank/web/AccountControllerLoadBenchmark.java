@@ -0,0 +1,106 @@
+package shop.mtcoding.bank.web;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import shop.mtcoding.bank.BankApplication;
+import shop.mtcoding.bank.config.dummy.DummyObject;
+import shop.mtcoding.bank.domain.account.AccountRepository;
+import shop.mtcoding.bank.domain.user.User;
+import shop.mtcoding.bank.domain.user.UserRepository;
+
+/*
+ * 동기(기존) / 비동기(bank.async.enabled=true) 모드의 동시 처리 비교 - 실제 톰캣을 띄워서 HTTP로 요청한다.
+ * - deposit : 48개 스레드가 계좌입금 요청 (JPA + 비관적 락, DB 커넥션 대기)
+ * - health  : 16개 스레드가 같은 시간에 /actuator/health 요청 (DB를 쓰지 않는 가벼운 요청)
+ * 톰캣 스레드를 16개로 제한했기 때문에 동기 모드에서는 입금 요청이 톰캣 스레드를 모두 잡고 있어서 health도 함께 느려진다.
+ * 비동기 모드에서는 입금이 AccountExecutor에서 실행되므로 톰캣 스레드가 비어 health 처리량이 유지된다.
+ * ./gradlew jmh -Pjmh.includes=AccountControllerLoadBenchmark
+ */
+@State(Scope.Group)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class AccountControllerLoadBenchmark extends DummyObject {
+    private static final int TOMCAT_MAX_THREADS = 16;
+    private static final int ACCOUNT_COUNT = 100;
+    private static final long FIRST_NUMBER = 5000L;  // 계좌번호는 4자리
+
+    @Param({"false", "true"})
+    private String async;
+
+    private ConfigurableApplicationContext context;
+    private HttpClient httpClient;
+    private String baseUrl;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(BankApplication.class)
+                .profiles("test")
+                .properties(
+                        "server.port=0",
+                        "server.tomcat.threads.max=" + TOMCAT_MAX_THREADS,
+                        "bank.async.enabled=" + async,
+                        "spring.jpa.show-sql=false",
+                        "spring.jpa.properties.hibernate.format_sql=false",
+                        "logging.level.root=WARN",
+                        "logging.level.shop.mtcoding.bank=WARN",
+                        "logging.level.org.hibernate.type=WARN")
+                .run();
+
+        // 입금 요청이 한 계좌의 락에 몰리지 않도록 계좌를 여러개 만든다.
+        UserRepository userRepository = context.getBean(UserRepository.class);
+        AccountRepository accountRepository = context.getBean(AccountRepository.class);
+        User ssar = userRepository.save(newUser("ssar", "쌀"));
+        for (int i = 0; i < ACCOUNT_COUNT; i++) {
+            accountRepository.save(newAccount(FIRST_NUMBER + i, ssar));
+        }
+
+        int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+        baseUrl = "http://localhost:" + port;
+        httpClient = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    @Group("mixed")
+    @GroupThreads(48)
+    public int deposit() throws Exception {
+        long number = FIRST_NUMBER + ThreadLocalRandom.current().nextInt(ACCOUNT_COUNT);
+        String requestBody = "{\"number\":" + number + ",\"amount\":100,\"gubun\":\"DEPOSIT\",\"tel\":\"01011112222\"}";
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/api/account/deposit"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(requestBody))
+                .build();
+        return httpClient.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+
+    @Benchmark
+    @Group("mixed")
+    @GroupThreads(16)
+    public int health() throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/actuator/health")).GET().build();
+        return httpClient.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+}
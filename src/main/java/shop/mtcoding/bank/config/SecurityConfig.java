@@ -1,7 +1,14 @@
 package shop.mtcoding.bank.config;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import javax.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpStatus;
@@ -10,33 +17,66 @@ import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
 import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.util.matcher.AndRequestMatcher;
+import org.springframework.security.web.util.matcher.AntPathRequestMatcher;
+import org.springframework.security.web.util.matcher.RequestMatcher;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
+import shop.mtcoding.bank.config.auth.LoginRateLimiter;
 import shop.mtcoding.bank.config.jwt.JwtAuthenticationFilter;
 import shop.mtcoding.bank.config.jwt.JwtAuthorizationFilter;
+import shop.mtcoding.bank.config.jwt.JwtVO;
 import shop.mtcoding.bank.domain.user.UserEnum;
 import shop.mtcoding.bank.util.CustomResponseUtil;
 
+@RequiredArgsConstructor
 @Configuration
 public class SecurityConfig {
     // @Slf4j를 사용할경우 Junit에서 문제 발생.
     private final Logger log = LoggerFactory.getLogger(getClass());
 
+    private final LoginRateLimiter loginRateLimiter;
+    private final MeterRegistry meterRegistry;
+
+    // 관리 포트 (application-prod.yml - 내부망에만 열린다). 설정하지 않으면 -1
+    @Value("${management.server.port:-1}")
+    private int managementPort;
+
     @Bean
     public BCryptPasswordEncoder passwordEncoder() {
         log.debug("디버그: BCryptPasswordEncoder 빈 등록됨");
         return new BCryptPasswordEncoder();
     }
 
+    // 로그인(BCrypt 비교) 전용 스레드풀
+    // 톰캣 스레드가 모두 BCrypt에 묶이지 않도록 동시에 검증하는 개수를 CPU 코어 수로 제한하고,
+    // 대기열까지 가득 차면 기다리지 않고 바로 거절한다. (AbortPolicy -> 429)
+    // Executor 타입을 빈으로 등록하면 스프링부트 기본 TaskExecutor가 등록되지 않으므로 빈으로 등록하지 않는다.
+    private final ThreadPoolExecutor loginExecutor = newLoginExecutor();
+
+    private static ThreadPoolExecutor newLoginExecutor() {
+        int threads = Runtime.getRuntime().availableProcessors();
+        return new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(threads * 4), new CustomizableThreadFactory("login-"),
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    @PreDestroy
+    public void shutdownLoginExecutor() {
+        loginExecutor.shutdown();
+    }
+
     // JWT 필터 등록 필요
     public class CustomSecurityFilterManager extends AbstractHttpConfigurer<CustomSecurityFilterManager, HttpSecurity> {
         @Override
         public void configure(HttpSecurity builder) throws Exception {
             AuthenticationManager authenticationManager = builder.getSharedObject(AuthenticationManager.class);
-            builder.addFilter(new JwtAuthenticationFilter(authenticationManager));
-            builder.addFilter(new JwtAuthorizationFilter(authenticationManager));
+            builder.addFilter(new JwtAuthenticationFilter(authenticationManager, loginRateLimiter, loginExecutor,
+                    meterRegistry));
+            builder.addFilter(new JwtAuthorizationFilter(authenticationManager, meterRegistry));
             super.configure(builder);
         }
     }
@@ -75,11 +115,21 @@ public class SecurityConfig {
         http.authorizeRequests()
                 .antMatchers("/api/s/**").authenticated()
                 .antMatchers("/api/admin/**").hasRole(UserEnum.ADMIN.toString())    // 최근 공식문서에서 "ROLE_" 안붙여도 됨.
+                .antMatchers("/actuator/health").permitAll()
+                .requestMatchers(prometheusScrape()).permitAll()    // 프로메테우스 수집용 - 관리 포트로 들어온 요청만
+                .antMatchers("/actuator/**").hasRole(UserEnum.ADMIN.toString())
                 .anyRequest().permitAll();
 
         return http.build();
     }
 
+    // 지표에는 계좌, 로그인 실패 수 같은 내부 정보가 있으므로 서비스 포트로는 인증 없이 열지 않는다.
+    // 관리 포트를 따로 두지 않은 환경(dev)에서는 ADMIN만 조회할 수 있다.
+    private RequestMatcher prometheusScrape() {
+        RequestMatcher managementPortRequest = request -> managementPort > 0 && request.getLocalPort() == managementPort;
+        return new AndRequestMatcher(new AntPathRequestMatcher("/actuator/prometheus"), managementPortRequest);
+    }
+
     public CorsConfigurationSource configurationSource() {
         log.debug("디버그: configurationSource cors 설정이 SecurityFilterChain에 등록됨");
         CorsConfiguration configuration = new CorsConfiguration();
@@ -89,6 +139,7 @@ public class SecurityConfig {
         configuration.setAllowCredentials(true);    // 클라이언트 쪽에서 쿠키요청 허용
 
         configuration.addExposedHeader("Authorization");    // 설정을 해주지 않을 경우 프스트맨과 같은 경우에는 응답값을 확인할 수 있지만, 브라우저에서는 노출을 시켜주지 않기 때문에 expose를 해줘야 브라우저에서 헤더값을 JS로 당겨올 수 있다.(이전에는 default값이었지만 현재는 아니므로 설정해줘야 한다.)
+        configuration.addExposedHeader(JwtVO.REFRESH_HEADER);
 
         UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
         source.registerCorsConfiguration("/**", configuration); // 모든 주소에서 위의 설정 적용
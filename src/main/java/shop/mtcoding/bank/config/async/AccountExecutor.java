@@ -0,0 +1,48 @@
+package shop.mtcoding.bank.config.async;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import javax.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+/*
+ * 비동기 모드(bank.async.enabled=true)에서 계좌 API를 실행하는 스레드풀
+ * - 톰캣 스레드는 요청을 넘기고 바로 반환되고, JPA/DB 대기는 이 스레드풀에서 한다.
+ * - 동시에 실행되는 개수(pool-size)와 대기열(queue-capacity)을 제한하고, 가득 차면 바로 거절한다. (AbortPolicy -> 503)
+ * - pool-size는 커넥션풀(hikari maximum-pool-size)보다 크게 잡아도 DB 커넥션을 기다릴 뿐이므로 비슷하게 맞춘다.
+ * Executor 타입을 빈으로 등록하면 스프링부트 기본 TaskExecutor가 등록되지 않으므로 감싸서 등록한다. (SecurityConfig의 loginExecutor와 같은 이유)
+ */
+@ConditionalOnProperty(name = "bank.async.enabled", havingValue = "true")
+@Component
+public class AccountExecutor {
+    private final ThreadPoolExecutor executor;
+
+    public AccountExecutor(@Value("${bank.async.pool-size:10}") int poolSize,
+                           @Value("${bank.async.queue-capacity:500}") int queueCapacity,
+                           MeterRegistry meterRegistry) {
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), new CustomizableThreadFactory("account-"),
+                new ThreadPoolExecutor.AbortPolicy());
+        // executor.active, executor.queued, executor.pool.size ... (name = account)
+        new ExecutorServiceMetrics(executor, "account", Tags.empty()).bindTo(meterRegistry);
+    }
+
+    // 대기열이 가득 차면 RejectedExecutionException (CustomExceptionHandler -> 503)
+    public <T> CompletableFuture<T> supply(Supplier<T> supplier) {
+        return CompletableFuture.supplyAsync(supplier, executor);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+}
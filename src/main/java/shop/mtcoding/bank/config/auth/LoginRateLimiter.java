@@ -0,0 +1,57 @@
+package shop.mtcoding.bank.config.auth;
+
+import org.springframework.stereotype.Component;
+import shop.mtcoding.bank.util.LocalCache;
+
+/*
+ * 로그인 시도 횟수 제한 (토큰 버킷)
+ * - username, IP 마다 버킷을 하나씩 두고 로그인 시도마다 토큰을 하나씩 꺼낸다.
+ * - 토큰은 시간이 지나면 다시 채워진다. 둘 중 하나라도 비어있으면 로그인을 시도하지 않는다.
+ * - 오랫동안 시도가 없던 버킷은 캐시에서 사라진다. (다시 만들어지면 가득 찬 상태)
+ */
+@Component
+public class LoginRateLimiter {
+    private static final int USERNAME_CAPACITY = 10;    // username 당 1분에 10번
+    private static final int IP_CAPACITY = 50;  // IP 당 1분에 50번
+    private static final long REFILL_PERIOD_NANOS = 60L * 1_000_000_000;
+
+    private static final int MAX_BUCKETS = 100_000;
+    private static final long BUCKET_TTL = 1000L * 60 * 10;   // 10분
+
+    private final LocalCache<String, TokenBucket> usernameBuckets = new LocalCache<>(MAX_BUCKETS, BUCKET_TTL);
+    private final LocalCache<String, TokenBucket> ipBuckets = new LocalCache<>(MAX_BUCKETS, BUCKET_TTL);
+
+    public boolean tryAcquire(String username, String ip) {
+        // IP 버킷을 먼저 확인해야 username을 바꿔가며 시도하는 요청도 막을 수 있다.
+        if (!ipBuckets.get(ip, key -> new TokenBucket(IP_CAPACITY)).tryConsume()) {
+            return false;
+        }
+        String key = username == null ? "" : username;
+        return usernameBuckets.get(key, k -> new TokenBucket(USERNAME_CAPACITY)).tryConsume();
+    }
+
+    static class TokenBucket {
+        private final int capacity;
+        private final long nanosPerToken;
+        private double tokens;
+        private long lastRefillNanos;
+
+        TokenBucket(int capacity) {
+            this.capacity = capacity;
+            this.nanosPerToken = REFILL_PERIOD_NANOS / capacity;
+            this.tokens = capacity;
+            this.lastRefillNanos = System.nanoTime();
+        }
+
+        synchronized boolean tryConsume() {
+            long now = System.nanoTime();
+            tokens = Math.min(capacity, tokens + (double) (now - lastRefillNanos) / nanosPerToken);
+            lastRefillNanos = now;
+            if (tokens < 1) {
+                return false;
+            }
+            tokens--;
+            return true;
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package shop.mtcoding.bank.config.auth;
+
+import org.springframework.security.core.AuthenticationException;
+
+// 로그인 시도가 너무 많거나, 비밀번호 검증 스레드풀이 가득 찬 경우 (429 Too Many Requests)
+public class LoginThrottledException extends AuthenticationException {
+
+    public LoginThrottledException(String msg) {
+        super(msg);
+    }
+}
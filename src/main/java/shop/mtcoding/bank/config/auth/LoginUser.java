@@ -1,33 +1,59 @@
 package shop.mtcoding.bank.config.auth;
 
-import java.util.ArrayList;
 import java.util.Collection;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
 import lombok.Getter;
-import lombok.RequiredArgsConstructor;
 import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 import shop.mtcoding.bank.domain.user.User;
+import shop.mtcoding.bank.domain.user.UserEnum;
 
+// 토큰으로 인증하면(/api/s/**) id, role만 가진다. user는 로그인(LoginService)할 때만 있다.
 @Getter
-@RequiredArgsConstructor
 public class LoginUser implements UserDetails {
-    private final User user;
+    // 권한은 role마다 하나씩 미리 만들어두고 공유한다. (요청마다 리스트, 문자열을 만들지 않는다)
+    private static final Map<UserEnum, List<GrantedAuthority>> AUTHORITIES = new EnumMap<>(UserEnum.class);
+
+    static {
+        for (UserEnum role : UserEnum.values()) {
+            AUTHORITIES.put(role, List.of(new SimpleGrantedAuthority("ROLE_" + role.name())));
+        }
+    }
+
+    private final Long id;
+    private final UserEnum role;
+    private final User user;    // 토큰으로 인증하면 null
+
+    // 로그인 - 비밀번호 확인, 로그인 응답에 User가 필요하다.
+    public LoginUser(User user) {
+        this.id = user.getId();
+        this.role = user.getRole();
+        this.user = user;
+    }
+
+    // 토큰 인증
+    public LoginUser(Long id, UserEnum role) {
+        this.id = id;
+        this.role = role;
+        this.user = null;
+    }
 
     @Override
     public Collection<? extends GrantedAuthority> getAuthorities() {
-        Collection<GrantedAuthority> authorities = new ArrayList<>();
-        authorities.add(() -> "ROLE_" + user.getRole());
-        return authorities;
+        return AUTHORITIES.get(role);
     }
 
     @Override
     public String getPassword() {
-        return user.getPassword();
+        return user == null ? null : user.getPassword();
     }
 
     @Override
     public String getUsername() {
-        return user.getUsername();
+        return user == null ? null : user.getUsername();
     }
 
     @Override
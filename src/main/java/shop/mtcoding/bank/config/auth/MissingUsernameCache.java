@@ -0,0 +1,33 @@
+package shop.mtcoding.bank.config.auth;
+
+import org.springframework.stereotype.Component;
+import shop.mtcoding.bank.util.LocalCache;
+
+/*
+ * 존재하지 않는 username 캐시 (네거티브 캐시)
+ * 없는 username으로 반복해서 로그인을 시도하면 DB 조회, BCrypt 비교 없이 바로 실패시킨다.
+ * 회원가입을 하면 해당 username을 지워야 한다.
+ */
+@Component
+public class MissingUsernameCache {
+    private static final int MAX_SIZE = 10_000;
+    private static final long TTL = 1000L * 60 * 5;   // 5분
+
+    private final LocalCache<String, Boolean> cache = new LocalCache<>(MAX_SIZE, TTL);
+
+    public boolean isMissing(String username) {
+        return username != null && cache.get(username) != null;
+    }
+
+    public void markMissing(String username) {
+        cache.put(username, Boolean.TRUE);
+    }
+
+    public void evict(String username) {
+        cache.evict(username);
+    }
+
+    public LocalCache<String, Boolean> getCache() {
+        return cache;
+    }
+}
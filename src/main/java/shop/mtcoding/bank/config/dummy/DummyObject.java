@@ -27,8 +27,6 @@ public class DummyObject {
                 .depositAccountBalance(null)
                 .amount(100L)
                 .gubun(TransactionEnum.WITHDRAW)
-                .sender(account.getNumber() + "")
-                .receiver("ATM")
                 .build();
     }
 
@@ -46,8 +44,6 @@ public class DummyObject {
                 .depositAccountBalance(account.getBalance())
                 .amount(100L)
                 .gubun(TransactionEnum.DEPOSIT)
-                .sender("ATM")
-                .receiver(account.getNumber() + "")
                 .tel("01022227777")
                 .build();
     }
@@ -68,8 +64,6 @@ public class DummyObject {
                 .depositAccountBalance(depositAccount.getBalance())
                 .amount(100L)
                 .gubun(TransactionEnum.TRANSFER)
-                .sender(withdrawAccount.getNumber() + "")
-                .receiver(depositAccount.getNumber() + "")
                 .build();
     }
 
@@ -131,8 +125,6 @@ public class DummyObject {
                 .depositAccountBalance(account.getBalance())
                 .amount(100L)
                 .gubun(TransactionEnum.DEPOSIT)
-                .sender("ATM")
-                .receiver(account.getNumber() + "")
                 .tel("01011112222")
                 .createdAt(LocalDateTime.now())
                 .updatedAt(LocalDateTime.now())
@@ -1,7 +1,14 @@
 package shop.mtcoding.bank.config.jwt;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import java.io.IOException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 import javax.servlet.FilterChain;
 import javax.servlet.ServletException;
 import javax.servlet.http.HttpServletRequest;
@@ -15,20 +22,34 @@ import org.springframework.security.authentication.UsernamePasswordAuthenticatio
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.AuthenticationException;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
+import shop.mtcoding.bank.config.auth.LoginRateLimiter;
+import shop.mtcoding.bank.config.auth.LoginThrottledException;
 import shop.mtcoding.bank.config.auth.LoginUser;
 import shop.mtcoding.bank.dto.user.UserReqDto.LoginReqDto;
 import shop.mtcoding.bank.dto.user.UserRespDto.LoginRespDto;
+import shop.mtcoding.bank.util.CustomJsonUtil;
 import shop.mtcoding.bank.util.CustomResponseUtil;
 
 public class JwtAuthenticationFilter extends UsernamePasswordAuthenticationFilter {
     private final Logger log = LoggerFactory.getLogger(getClass());
 
+    private static final ObjectReader LOGIN_REQ_READER = CustomJsonUtil.readerFor(LoginReqDto.class);
+    private static final long AUTHENTICATE_TIMEOUT_SECONDS = 5;
+    public static final String METRIC_NAME = "bank.login";
+
     private AuthenticationManager authenticationManager;
+    private LoginRateLimiter loginRateLimiter;
+    private ThreadPoolExecutor loginExecutor;
+    private MeterRegistry meterRegistry;
 
-    public JwtAuthenticationFilter(AuthenticationManager authenticationManager) {
+    public JwtAuthenticationFilter(AuthenticationManager authenticationManager, LoginRateLimiter loginRateLimiter,
+                                   ThreadPoolExecutor loginExecutor, MeterRegistry meterRegistry) {
         super(authenticationManager);
         setFilterProcessesUrl("/api/login");    // 로그인 url 변경
         this.authenticationManager = authenticationManager;
+        this.loginRateLimiter = loginRateLimiter;
+        this.loginExecutor = loginExecutor;
+        this.meterRegistry = meterRegistry;
     }
 
     // POST : /api/login 경로로 요청될경우 동작
@@ -36,9 +57,16 @@ public class JwtAuthenticationFilter extends UsernamePasswordAuthenticationFilte
     public Authentication attemptAuthentication(HttpServletRequest request, HttpServletResponse response)
             throws AuthenticationException {
         log.debug("디버그 : attemptAuthentication 호출됨");
+        // 로그인 소요시간 (BCrypt 대기 포함) - outcome : success, fail, throttled
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "fail";
         try {
-            ObjectMapper om = new ObjectMapper();
-            LoginReqDto loginReqDto = om.readValue(request.getInputStream(), LoginReqDto.class);
+            LoginReqDto loginReqDto = LOGIN_REQ_READER.readValue(request.getInputStream());
+
+            // 시도 횟수 초과 -> DB 조회, BCrypt 비교 없이 바로 429
+            if (!loginRateLimiter.tryAcquire(loginReqDto.getUsername(), request.getRemoteAddr())) {
+                throw new LoginThrottledException("로그인 시도가 너무 많습니다");
+            }
 
             // 강제로그인
             UsernamePasswordAuthenticationToken authenticationToken = new UsernamePasswordAuthenticationToken(
@@ -47,13 +75,39 @@ public class JwtAuthenticationFilter extends UsernamePasswordAuthenticationFilte
             // UserDetailsService의 LoadUserByUsername()을 호출.
             // JWT를 쓴다 하더라도, 컨트롤러에 진입하면 시큐리티의 권한체크, 인증체크 (authorizeRequest())의 도움을 받을 수 있게 세션을 만든다.
             // 이 세션의 유효기간은 request하고, response하면 끝!! (jSessionId를 사용하지 않기 때문에 다음 요청에서 이 세션을 사용할 수 없다.)
-            Authentication authentication = authenticationManager.authenticate(authenticationToken);
+            // BCrypt 비교는 로그인 전용 스레드풀에서 실행한다. (없는 username은 LoginService가 캐시로 바로 실패시킨다)
+            Authentication authentication = authenticateOnLoginExecutor(authenticationToken);
+            outcome = "success";
             return authentication;
+        } catch (LoginThrottledException e) {
+            outcome = "throttled";
+            throw e;
         } catch (Exception e) {
             // 꼭 InternalAuthenticationServiceException을 던져야 한다.
             // 필터 내부의 예외는 ControllerAdvice에서 제어할 수 없다.
             // unsuccessfulAuthentication()을 호출한다.
             throw new InternalAuthenticationServiceException(e.getMessage());
+        } finally {
+            sample.stop(meterRegistry.timer(METRIC_NAME, "outcome", outcome));
+        }
+    }
+
+    private Authentication authenticateOnLoginExecutor(UsernamePasswordAuthenticationToken authenticationToken)
+            throws Exception {
+        Future<Authentication> future;
+        try {
+            future = loginExecutor.submit(() -> authenticationManager.authenticate(authenticationToken));
+        } catch (RejectedExecutionException e) {
+            // 대기열까지 가득 참 -> 기다리지 않고 바로 429
+            throw new LoginThrottledException("로그인 요청이 많아 잠시 후 다시 시도해주세요");
+        }
+        try {
+            return future.get(AUTHENTICATE_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        } catch (ExecutionException e) {
+            throw new InternalAuthenticationServiceException(e.getCause().getMessage(), e.getCause());
+        } catch (Exception e) {
+            future.cancel(true);
+            throw e;
         }
     }
 
@@ -61,6 +115,10 @@ public class JwtAuthenticationFilter extends UsernamePasswordAuthenticationFilte
     @Override
     protected void unsuccessfulAuthentication(HttpServletRequest request, HttpServletResponse response,
                                               AuthenticationException failed) throws IOException, ServletException {
+        if (failed instanceof LoginThrottledException) {
+            CustomResponseUtil.fail(response, failed.getMessage(), HttpStatus.TOO_MANY_REQUESTS);
+            return;
+        }
         CustomResponseUtil.fail(response, "로그인 실패", HttpStatus.UNAUTHORIZED);
     }
 
@@ -72,6 +130,7 @@ public class JwtAuthenticationFilter extends UsernamePasswordAuthenticationFilte
         LoginUser loginUser = (LoginUser) authResult.getPrincipal();
         String jwtToken = JwtProcess.create(loginUser);
         response.addHeader(JwtVO.HEADER, jwtToken);
+        response.addHeader(JwtVO.REFRESH_HEADER, JwtProcess.createRefresh(loginUser));
 
         LoginRespDto loginRespDto = new LoginRespDto(loginUser.getUser());
         CustomResponseUtil.success(response, loginRespDto);
@@ -1,5 +1,8 @@
 package shop.mtcoding.bank.config.jwt;
 
+import com.auth0.jwt.exceptions.JWTVerificationException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import java.io.IOException;
 import javax.servlet.FilterChain;
 import javax.servlet.ServletException;
@@ -20,8 +23,13 @@ import shop.mtcoding.bank.config.auth.LoginUser;
 public class JwtAuthorizationFilter extends BasicAuthenticationFilter {
     private final Logger log = LoggerFactory.getLogger(getClass());
 
-    public JwtAuthorizationFilter(AuthenticationManager authenticationManager) {
+    public static final String METRIC_NAME = "bank.token.verify";
+
+    private final MeterRegistry meterRegistry;
+
+    public JwtAuthorizationFilter(AuthenticationManager authenticationManager, MeterRegistry meterRegistry) {
         super(authenticationManager);
+        this.meterRegistry = meterRegistry;
     }
 
     // JWT 토큰 헤더를 추가하지 않아도 해당 필터를 통과는 할 수 있지만, 시큐리티단에서 세션 값 검증에 실패한다.
@@ -32,17 +40,38 @@ public class JwtAuthorizationFilter extends BasicAuthenticationFilter {
             log.debug("디버그: 토큰이 존재함");
 
             String token = request.getHeader(JwtVO.HEADER).replace(JwtVO.TOKEN_PREFIX, "");
-            LoginUser loginUser = JwtProcess.verify(token);
-            log.debug("디버그: 토큰 검증이 완료됨");
+            try {
+                LoginUser loginUser = verify(token);
+                log.debug("디버그: 토큰 검증이 완료됨");
 
-            // 임시 세션 (UserDetails 타입 or username)
-            Authentication authentication = new UsernamePasswordAuthenticationToken(loginUser, null, loginUser.getAuthorities());   // id, role만 존재
-            SecurityContextHolder.getContext().setAuthentication(authentication);
-            log.debug("디버그: 임시 세션이 생성됨");
+                // 임시 세션 (UserDetails 타입 or username) - 권한은 role별로 미리 만들어둔 것을 쓴다.
+                Authentication authentication = new UsernamePasswordAuthenticationToken(loginUser, null, loginUser.getAuthorities());   // id, role만 존재
+                SecurityContextHolder.getContext().setAuthentication(authentication);
+                log.debug("디버그: 임시 세션이 생성됨");
+            } catch (JWTVerificationException e) {
+                // 만료, 위조, 폐기된 토큰 -> 세션을 만들지 않는다. (인증이 필요한 주소면 401)
+                log.debug("디버그: 토큰 검증 실패 - " + e.getMessage());
+            }
         }
         chain.doFilter(request, response);
     }
 
+    // 토큰 검증 소요시간 - outcome : success, fail (fail이면 reason에 예외 이름)
+    private LoginUser verify(String token) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "success";
+        String reason = "none";
+        try {
+            return JwtProcess.verify(token);
+        } catch (RuntimeException e) {
+            outcome = "fail";
+            reason = e.getClass().getSimpleName();
+            throw e;
+        } finally {
+            sample.stop(meterRegistry.timer(METRIC_NAME, "outcome", outcome, "reason", reason));
+        }
+    }
+
     private boolean isHeaderVerify(HttpServletRequest request, HttpServletResponse response) {
         String header = request.getHeader(JwtVO.HEADER);
         if (header == null || !header.startsWith(JwtVO.TOKEN_PREFIX)) {
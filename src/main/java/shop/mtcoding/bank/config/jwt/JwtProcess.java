@@ -1,35 +1,132 @@
 package shop.mtcoding.bank.config.jwt;
 
 import com.auth0.jwt.JWT;
+import com.auth0.jwt.JWTVerifier;
+import com.auth0.jwt.RegisteredClaims;
 import com.auth0.jwt.algorithms.Algorithm;
+import com.auth0.jwt.exceptions.JWTVerificationException;
 import com.auth0.jwt.interfaces.DecodedJWT;
 import java.util.Date;
+import java.util.UUID;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import shop.mtcoding.bank.config.auth.LoginUser;
-import shop.mtcoding.bank.domain.user.User;
 import shop.mtcoding.bank.domain.user.UserEnum;
+import shop.mtcoding.bank.util.LocalCache;
 
 public class JwtProcess {
     private final Logger log = LoggerFactory.getLogger(getClass());
 
-    // 토큰 생성
+    private static final String ACCESS_SUBJECT = "bank";
+    private static final String REFRESH_SUBJECT = "bank-refresh";
+
+    // Algorithm, JWTVerifier는 thread-safe하기 때문에 요청마다 만들지 않고 한번만 만들어서 공유한다.
+    // 액세스 토큰과 리플래시 토큰은 제목(subject)으로 구분한다. (리플래시 토큰으로 API를 호출할 수 없다)
+    private static final Algorithm ALGORITHM = Algorithm.HMAC512(JwtVO.SECRET);
+    private static final JWTVerifier VERIFIER = JWT.require(ALGORITHM)
+            .withSubject(ACCESS_SUBJECT)
+            .withClaimPresence(RegisteredClaims.JWT_ID)
+            .build();
+    private static final JWTVerifier REFRESH_VERIFIER = JWT.require(ALGORITHM)
+            .withSubject(REFRESH_SUBJECT)
+            .withClaimPresence(RegisteredClaims.JWT_ID)
+            .build();
+
+    // 검증이 끝난 토큰 -> LoginUser (같은 토큰으로 다시 요청하면 HMAC 검증을 생략한다)
+    static final int CACHE_MAX_SIZE = 10_000;
+    private static final long CACHE_TTL = 1000L * 60 * 5; // 5분
+    private static final LocalCache<String, VerifiedToken> VERIFIED_TOKEN_CACHE = new LocalCache<>(CACHE_MAX_SIZE, CACHE_TTL);
+
+    // 폐기된 액세스 토큰 (캐시에 있는 토큰도 매번 확인한다)
+    private static final TokenRevocationList REVOCATION_LIST = new TokenRevocationList();
+
+    // 액세스 토큰 생성
     public static String create(LoginUser loginUser) {
-        String jwtToken = JWT.create()
-                .withSubject("bank")  // 토큰의 제목
-                .withExpiresAt(new Date(System.currentTimeMillis() + JwtVO.EXPIRATION_TIME))
-                .withClaim("id", loginUser.getUser().getId())
-                .withClaim("role", loginUser.getUser().getRole().name())
-                .sign(Algorithm.HMAC512(JwtVO.SECRET));
-        return JwtVO.TOKEN_PREFIX + jwtToken;
+        return JwtVO.TOKEN_PREFIX + sign(loginUser, ACCESS_SUBJECT, JwtVO.EXPIRATION_TIME);
+    }
+
+    // 리플래시 토큰 생성 (Bearer 없이 Refresh-Token 헤더로 주고받는다)
+    public static String createRefresh(LoginUser loginUser) {
+        return sign(loginUser, REFRESH_SUBJECT, JwtVO.REFRESH_EXPIRATION_TIME);
+    }
+
+    private static String sign(LoginUser loginUser, String subject, long expirationTime) {
+        return JWT.create()
+                .withSubject(subject)  // 토큰의 제목
+                .withJWTId(UUID.randomUUID().toString())   // 폐기할 때 쓰는 토큰 식별자
+                .withExpiresAt(new Date(System.currentTimeMillis() + expirationTime))
+                .withClaim("id", loginUser.getId())
+                .withClaim("role", loginUser.getRole().name())
+                .sign(ALGORITHM);
     }
 
     // 토큰 검증 (리턴되는 LoginUser 객체를 강제로 시큐리티 세션에 직접 주입할 예정 - 강제로그인)
     public static LoginUser verify(String token) {
-        DecodedJWT decodedJWT = JWT.require(Algorithm.HMAC512(JwtVO.SECRET)).build().verify(token);
+        VerifiedToken cachedToken = VERIFIED_TOKEN_CACHE.get(token);
+        if (cachedToken != null) {
+            checkNotRevoked(cachedToken.jti);
+            return cachedToken.loginUser;
+        }
+
+        DecodedJWT decodedJWT = VERIFIER.verify(token);
+        checkNotRevoked(decodedJWT.getId());
+        LoginUser loginUser = toLoginUser(decodedJWT);
+
+        // 토큰의 만료시간이 지나면 캐시에서도 사라져야 한다.
+        VERIFIED_TOKEN_CACHE.put(token, new VerifiedToken(loginUser, decodedJWT.getId()), decodedJWT.getExpiresAt().getTime());
+        return loginUser;
+    }
+
+    // 캐시를 사용하지 않는 검증 (벤치마크 비교용)
+    static LoginUser verifyWithoutCache(String token) {
+        DecodedJWT decodedJWT = VERIFIER.verify(token);
+        checkNotRevoked(decodedJWT.getId());
+        return toLoginUser(decodedJWT);
+    }
+
+    // 리플래시 토큰 서명, 만료시간 검증 (한번 썼는지는 TokenService가 DB에서 확인한다)
+    public static DecodedJWT verifyRefresh(String refreshToken) {
+        return REFRESH_VERIFIER.verify(refreshToken);
+    }
+
+    // 액세스 토큰 서명, 만료시간 검증 (폐기 여부, 캐시는 보지 않는다 - 로그아웃용)
+    public static DecodedJWT verifyAccess(String token) {
+        return VERIFIER.verify(token);
+    }
+
+    // 메모리 폐기 목록에 올린다. 만료시간까지 남는다. (DB 저장은 TokenService)
+    public static void revoke(String jti, long expiresAtMillis) {
+        REVOCATION_LIST.revoke(jti, expiresAtMillis);
+    }
+
+    private static void checkNotRevoked(String jti) {
+        if (REVOCATION_LIST.isRevoked(jti)) {
+            throw new JWTVerificationException("폐기된 토큰입니다");
+        }
+    }
+
+    public static LocalCache<String, VerifiedToken> getVerifiedTokenCache() {
+        return VERIFIED_TOKEN_CACHE;
+    }
+
+    public static TokenRevocationList getRevocationList() {
+        return REVOCATION_LIST;
+    }
+
+    public static LoginUser toLoginUser(DecodedJWT decodedJWT) {
         Long id = decodedJWT.getClaim("id").asLong();
         String role = decodedJWT.getClaim("role").asString();
-        User user = User.builder().id(id).role(UserEnum.valueOf(role)).build();
-        return new LoginUser(user);
+        return new LoginUser(id, UserEnum.valueOf(role));
+    }
+
+    // 캐시 적중시에도 폐기 여부를 확인할 수 있도록 jti를 같이 저장한다.
+    public static class VerifiedToken {
+        private final LoginUser loginUser;
+        private final String jti;
+
+        private VerifiedToken(LoginUser loginUser, String jti) {
+            this.loginUser = loginUser;
+            this.jti = jti;
+        }
     }
 }
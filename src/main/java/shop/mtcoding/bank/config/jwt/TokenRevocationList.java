@@ -0,0 +1,130 @@
+package shop.mtcoding.bank.config.jwt;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/*
+ * 폐기된 액세스 토큰(jti) 목록 - 블룸필터 + 정확한 집합
+ * - 대부분의 토큰은 폐기되지 않았으므로 블룸필터에서 바로 false가 나온다. (DB 조회, 락 없음)
+ * - 블룸필터가 "있을 수도 있다"고 할 때만 집합을 확인한다. (거짓 양성은 여기서 걸러진다)
+ * - 토큰의 만료시간이 지나면 서명 검증에서 걸러지므로 목록에서 지운다.
+ *   블룸필터는 항목을 지울 수 없으므로 지울 때 남은 항목으로 다시 만든다.
+ * - 액세스 토큰만 올리므로 항목은 최대 액세스 토큰 유효시간(30분)만 남는다.
+ *   리플래시 토큰은 요청마다 확인하지 않으므로 DB(revoked_token_tb)에서만 확인한다. (TokenService)
+ * - 항목이 블룸필터 용량을 넘으면 만료된 항목을 지우고 남은 항목 수에 맞게 다시 만든다. (거짓 양성 비율 유지)
+ * - 원본은 DB에 있고, 기동할 때 TokenService가 다시 올린다.
+ */
+public class TokenRevocationList {
+    private static final int BLOOM_BITS = 1 << 20;  // 128KB, 10만개일 때 거짓 양성 약 1%
+    private static final int BLOOM_MAX_BITS = 1 << 30;  // 128MB
+    private static final int BLOOM_HASHES = 5;
+    private static final int BITS_PER_ENTRY = 10;   // 항목당 10비트 - 거짓 양성 약 1%
+    private static final long PURGE_INTERVAL = 1000L * 60; // 1분
+
+    private final Map<String, Long> revoked = new ConcurrentHashMap<>();   // jti -> 토큰 만료시간
+    private volatile BloomFilter bloomFilter = new BloomFilter(BLOOM_BITS, BLOOM_HASHES);
+    private long nextPurgeAt = System.currentTimeMillis() + PURGE_INTERVAL;
+
+    // 새로 폐기했으면 true, 이미 폐기된 토큰이면 false
+    public synchronized boolean revoke(String jti, long expiresAtMillis) {
+        long now = System.currentTimeMillis();
+        if (now >= nextPurgeAt) {
+            purgeExpired(now);
+        }
+        if (revoked.putIfAbsent(jti, expiresAtMillis) != null) {
+            return false;
+        }
+        bloomFilter.add(jti);
+        if (revoked.size() > bloomFilter.capacity()) {
+            purgeExpired(now);
+        }
+        return true;
+    }
+
+    public boolean isRevoked(String jti) {
+        if (!bloomFilter.mightContain(jti)) {
+            return false;
+        }
+        return revoked.containsKey(jti);
+    }
+
+    public int size() {
+        return revoked.size();
+    }
+
+    synchronized void purgeExpired(long now) {
+        revoked.values().removeIf(expiresAtMillis -> expiresAtMillis <= now);
+        BloomFilter newBloomFilter = new BloomFilter(bloomBitsFor(revoked.size()), BLOOM_HASHES);
+        for (String jti : revoked.keySet()) {
+            newBloomFilter.add(jti);
+        }
+        bloomFilter = newBloomFilter;
+        nextPurgeAt = now + PURGE_INTERVAL;
+    }
+
+    // 남은 항목의 2배까지 다시 만들지 않아도 되는 크기 (2의 거듭제곱)
+    static int bloomBitsFor(int size) {
+        long bits = Math.max((long) size * 2 * BITS_PER_ENTRY, BLOOM_BITS);
+        return (int) Math.min(Long.highestOneBit(bits - 1) << 1, BLOOM_MAX_BITS);
+    }
+
+    int bloomBits() {
+        return bloomFilter.bitSize;
+    }
+
+    // 더블 해싱 (h1 + i * h2) - 64비트 FNV-1a 해시 하나를 둘로 나눠서 쓴다.
+    private static class BloomFilter {
+        private final AtomicLongArray bits;
+        private final int bitSize;
+        private final int hashes;
+
+        private BloomFilter(int bitSize, int hashes) {
+            this.bits = new AtomicLongArray(bitSize / Long.SIZE);
+            this.bitSize = bitSize;
+            this.hashes = hashes;
+        }
+
+        private int capacity() {
+            return bitSize / BITS_PER_ENTRY;
+        }
+
+        private void add(String value) {
+            long hash = hash(value);
+            int h1 = (int) hash;
+            int h2 = (int) (hash >>> 32);
+            for (int i = 0; i < hashes; i++) {
+                int index = Math.floorMod(h1 + i * h2, bitSize);
+                long mask = 1L << index;
+                int word = index >>> 6;
+                long current;
+                do {
+                    current = bits.get(word);
+                } while ((current & mask) == 0 && !bits.compareAndSet(word, current, current | mask));
+            }
+        }
+
+        private boolean mightContain(String value) {
+            long hash = hash(value);
+            int h1 = (int) hash;
+            int h2 = (int) (hash >>> 32);
+            for (int i = 0; i < hashes; i++) {
+                int index = Math.floorMod(h1 + i * h2, bitSize);
+                if ((bits.get(index >>> 6) & (1L << index)) == 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private static long hash(String value) {
+            long hash = 0xcbf29ce484222325L;
+            for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+                hash ^= b;
+                hash *= 0x100000001b3L;
+            }
+            return hash;
+        }
+    }
+}
@@ -9,6 +9,7 @@ import javax.persistence.FetchType;
 import javax.persistence.GeneratedValue;
 import javax.persistence.GenerationType;
 import javax.persistence.Id;
+import javax.persistence.Index;
 import javax.persistence.ManyToOne;
 import javax.persistence.Table;
 import lombok.Builder;
@@ -23,7 +24,10 @@ import shop.mtcoding.bank.handler.ex.CustomApiException;
 @NoArgsConstructor
 @Getter
 @EntityListeners(AuditingEntityListener.class)
-@Table(name = "account_tb")
+// 계좌번호로 소유자를 확인하는 조회(AccountMeta)는 (number, user_id) 인덱스만 읽고 끝난다. (InnoDB 보조 인덱스에는 PK id가 들어있다)
+@Table(name = "account_tb", indexes = {
+        @Index(name = "idx_account_number_user", columnList = "number, user_id")
+})
 @Entity
 public class Account {
 
@@ -66,7 +70,7 @@ public class Account {
     public void checkOwner(Long userId) {   // id를 조회할 때는 Lazy로딩이여도 select쿼리가 날라가지 않는다.
 //        String username = user.getUsername();
 //        System.out.println("테스트 : " + username);
-        if (user.getId() != userId) {
+        if (!user.getId().equals(userId)) {    // Long은 == 로 비교하면 128 이상에서 다른 객체가 된다.
             throw new CustomApiException("계좌 소유자가 아닙니다");
         }
     }
@@ -0,0 +1,23 @@
+package shop.mtcoding.bank.domain.account;
+
+import lombok.Getter;
+
+// 계좌에서 바뀌지 않는 값 (계좌번호 -> 계좌id, 소유자id). 잔액은 담지 않는다.
+// 엔티티가 아닌 DTO로 조회하므로 영속성 컨텍스트에 올라가지 않는다.
+// (같은 트랜잭션에서 뒤에 락을 걸고 조회하는 Account가 이전에 읽은 잔액으로 남아있으면 안된다)
+@Getter
+public class AccountMeta {
+    private final Long id;
+    private final Long number;
+    private final Long ownerId;
+
+    public AccountMeta(Long id, Long number, Long ownerId) {
+        this.id = id;
+        this.number = number;
+        this.ownerId = ownerId;
+    }
+
+    public boolean isOwner(Long userId) {
+        return ownerId.equals(userId);
+    }
+}
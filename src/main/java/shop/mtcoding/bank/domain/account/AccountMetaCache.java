@@ -0,0 +1,56 @@
+package shop.mtcoding.bank.domain.account;
+
+import java.util.function.Function;
+import org.springframework.stereotype.Component;
+import shop.mtcoding.bank.handler.ex.CustomApiException;
+import shop.mtcoding.bank.util.LocalCache;
+
+/*
+ * 계좌 메타데이터(계좌번호 -> 계좌id, 소유자id), 유저 이름 캐시
+ * - 잔액은 캐시하지 않는다. (잔액은 항상 DB에서 읽는다)
+ * - 계좌등록, 계좌삭제에서 해당 계좌번호를 지운다.
+ * - 다른 서버에서 삭제된 계좌가 남아있을 수 있으므로 유효시간(ttl)을 둔다.
+ */
+@Component
+public class AccountMetaCache {
+    private static final int MAX_SIZE = 10_000;
+    private static final long TTL = 1000L * 60 * 10;  // 10분
+
+    private final LocalCache<Long, AccountMeta> metaCache = new LocalCache<>(MAX_SIZE, TTL);
+    private final LocalCache<Long, String> fullnameCache = new LocalCache<>(MAX_SIZE, TTL);
+
+    // 없는 계좌면 null
+    public AccountMeta get(Long number, Function<Long, AccountMeta> loader) {
+        return metaCache.get(number, loader);
+    }
+
+    // 소유자 확인까지 한다. 캐시의 소유자가 다르면 캐시가 오래됐을 수 있으므로 DB에서 한번 더 확인한다.
+    public AccountMeta getOwned(Long number, Long userId, Function<Long, AccountMeta> loader) {
+        AccountMeta accountMeta = metaCache.get(number, loader);
+        if (accountMeta == null || accountMeta.isOwner(userId)) {
+            return accountMeta;
+        }
+        metaCache.evict(number);
+        accountMeta = metaCache.get(number, loader);
+        if (accountMeta != null && !accountMeta.isOwner(userId)) {
+            throw new CustomApiException("계좌 소유자가 아닙니다");
+        }
+        return accountMeta;
+    }
+
+    public void evict(Long number) {
+        metaCache.evict(number);
+    }
+
+    public String getFullname(Long userId, Function<Long, String> loader) {
+        return fullnameCache.get(userId, loader);
+    }
+
+    public LocalCache<Long, AccountMeta> getMetaCache() {
+        return metaCache;
+    }
+
+    public LocalCache<Long, String> getFullnameCache() {
+        return fullnameCache;
+    }
+}
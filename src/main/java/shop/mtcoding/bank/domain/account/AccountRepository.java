@@ -1,9 +1,15 @@
 package shop.mtcoding.bank.domain.account;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import javax.persistence.LockModeType;
+import javax.persistence.QueryHint;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
 public interface AccountRepository extends JpaRepository<Account, Long> {
     // @Query("SELECT ac FROM Account ac JOIN FETCH ac.user u WHERE ac.number = :number")
@@ -11,5 +17,27 @@ public interface AccountRepository extends JpaRepository<Account, Long> {
     // 그렇다면 EntityGraph는 미리 가져올 필드를 지정할 싶을 경우 사용.
     Optional<Account> findByNumber(Long number);
 
+    // 계좌등록 중복 확인 - 엔티티를 만들지 않고 id 하나만 읽는다. (number 유니크 인덱스)
+    boolean existsByNumber(Long number);
+
+    // AccountMetaCache에서 사용 - 엔티티를 영속성 컨텍스트에 올리지 않는다.
+    // ac.user.id는 FK 컬럼이라 user_tb를 조인하지 않는다. (number, user_id) 인덱스만 읽는다.
+    @Query("SELECT new shop.mtcoding.bank.domain.account.AccountMeta(ac.id, ac.number, ac.user.id) FROM Account ac WHERE ac.number = :number")
+    Optional<AccountMeta> findMetaByNumber(@Param("number") Long number);
+
+    // 잔액을 변경하는 입금/출금/이체에서 사용 (select ... for update)
+    // 트랜잭션이 끝날때까지 다른 요청은 해당 계좌를 읽고 수정할 수 없으므로 갱신 손실(lost update)이 발생하지 않는다.
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints({@QueryHint(name = "javax.persistence.lock.timeout", value = "3000")})
+    @Query("SELECT ac FROM Account ac WHERE ac.number = :number")
+    Optional<Account> findByNumberForUpdate(@Param("number") Long number);
+
+    // 일괄이체에서 사용 - 관련된 계좌를 IN 쿼리 한번으로 조회하면서 락을 건다.
+    // 계좌번호 순으로 락을 걸어야 단건 이체(계좌번호가 작은 계좌부터 락)와 데드락이 발생하지 않는다.
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints({@QueryHint(name = "javax.persistence.lock.timeout", value = "3000")})
+    @Query("SELECT ac FROM Account ac WHERE ac.number IN :numbers ORDER BY ac.number")
+    List<Account> findAllByNumberInForUpdate(@Param("numbers") Collection<Long> numbers);
+
     List<Account> findByUser_id(Long userId);
 }
@@ -0,0 +1,56 @@
+package shop.mtcoding.bank.domain.account;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.GeneratedValue;
+import javax.persistence.GenerationType;
+import javax.persistence.Id;
+import javax.persistence.Table;
+import javax.persistence.UniqueConstraint;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+// 계좌별 일별 마감잔액 (그날 마지막 거래 후 잔액)
+// 명세서를 만들 때 거래내역 전체를 읽지 않고, 시작일 직전 스냅샷에서 기초잔액을 가져온다.
+// 입금/출금/이체에서 upsert(AccountSnapshotRepository.upsert)로만 쓰기 때문에 감사(Auditing) 리스너를 쓰지 않는다.
+@NoArgsConstructor
+@Getter
+@Table(name = "account_snapshot_tb", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_account_snapshot", columnNames = {"account_id", "snapshot_date"})
+})
+@Entity
+public class AccountSnapshot {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "account_id", nullable = false)
+    private Long accountId;
+
+    @Column(name = "snapshot_date", nullable = false)
+    private LocalDate snapshotDate;
+
+    @Column(nullable = false)
+    private Long balance;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    @Builder
+    public AccountSnapshot(Long id, Long accountId, LocalDate snapshotDate, Long balance, LocalDateTime createdAt,
+                           LocalDateTime updatedAt) {
+        this.id = id;
+        this.accountId = accountId;
+        this.snapshotDate = snapshotDate;
+        this.balance = balance;
+        this.createdAt = createdAt;
+        this.updatedAt = updatedAt;
+    }
+}
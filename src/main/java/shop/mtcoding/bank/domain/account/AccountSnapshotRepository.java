@@ -0,0 +1,24 @@
+package shop.mtcoding.bank.domain.account;
+
+import java.time.LocalDate;
+import java.util.Optional;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+public interface AccountSnapshotRepository extends JpaRepository<AccountSnapshot, Long> {
+
+    // 그날 스냅샷이 없으면 만들고, 있으면 잔액만 바꾼다. (MariaDB, H2 MySQL 모드)
+    // 잔액을 바꾸는 쪽은 계좌에 락을 잡고 있으므로 같은 계좌의 스냅샷을 동시에 쓰는 경우는 없다.
+    @Modifying
+    @Query(value = "INSERT INTO account_snapshot_tb (account_id, snapshot_date, balance, created_at, updated_at) "
+            + "VALUES (:accountId, :snapshotDate, :balance, NOW(), NOW()) "
+            + "ON DUPLICATE KEY UPDATE balance = VALUES(balance), updated_at = NOW()", nativeQuery = true)
+    int upsert(@Param("accountId") Long accountId, @Param("snapshotDate") LocalDate snapshotDate,
+               @Param("balance") Long balance);
+
+    // 기준일 이전의 가장 최근 스냅샷 (uk_account_snapshot 인덱스로 한 행만 읽는다)
+    Optional<AccountSnapshot> findFirstByAccountIdAndSnapshotDateBeforeOrderBySnapshotDateDesc(Long accountId,
+                                                                                              LocalDate snapshotDate);
+}
@@ -10,7 +10,10 @@ import javax.persistence.FetchType;
 import javax.persistence.GeneratedValue;
 import javax.persistence.GenerationType;
 import javax.persistence.Id;
+import javax.persistence.Index;
+import javax.persistence.JoinColumn;
 import javax.persistence.ManyToOne;
+import javax.persistence.SequenceGenerator;
 import javax.persistence.Table;
 import lombok.Builder;
 import lombok.Getter;
@@ -23,16 +26,27 @@ import shop.mtcoding.bank.domain.account.Account;
 @NoArgsConstructor
 @Getter
 @EntityListeners(AuditingEntityListener.class)
-@Table(name = "transaction_tb")
+// 입출금목록은 (계좌id, createdAt, id) 순으로 조회하므로 출금쪽, 입금쪽 각각 복합 인덱스를 건다.
+// columnList는 논리 컬럼명을 사용하므로 인덱스에 들어가는 컬럼은 이름을 직접 지정한다.
+@Table(name = "transaction_tb", indexes = {
+        @Index(name = "idx_transaction_withdraw_account", columnList = "withdraw_account_id, created_at, id"),
+        @Index(name = "idx_transaction_deposit_account", columnList = "deposit_account_id, created_at, id"),
+        @Index(name = "idx_transaction_created_at", columnList = "created_at, id")   // 기간 내보내기 (모든 계좌)
+})
 @Entity
 public class Transaction {
+    // IDENTITY는 insert를 해야 id를 알 수 있어서 하이버네이트가 insert를 배치로 묶지 못한다.
+    // 시퀀스에서 50개씩 미리 받아두고(pooled) 메모리에서 id를 할당하면 여러 거래내역을 한번에 insert 할 수 있다.
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "transaction_seq_generator")
+    @SequenceGenerator(name = "transaction_seq_generator", sequenceName = "transaction_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "withdraw_account_id")
     private Account withdrawAccount;
     @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "deposit_account_id")
     private Account depositAccount;
 
     private Long amount;
@@ -44,12 +58,11 @@ public class Transaction {
     @Enumerated(EnumType.STRING)
     private TransactionEnum gubun;  // WITHDRAW, DEPOSIT, TRANSFER, ALL
 
-    private String sender;
-    private String receiver;
+    // 보내는 쪽, 받는 쪽은 저장하지 않는다. (TransactionParty - 출금계좌, 입금계좌로 정해진다)
     private String tel;
 
     @CreatedDate
-    @Column(nullable = false)
+    @Column(name = "created_at", nullable = false)
     private LocalDateTime createdAt;
 
     @LastModifiedDate
@@ -58,8 +71,8 @@ public class Transaction {
 
     @Builder
     public Transaction(Long id, Account withdrawAccount, Account depositAccount, Long amount,
-                       Long withdrawAccountBalance, Long depositAccountBalance, TransactionEnum gubun, String sender,
-                       String receiver, String tel, LocalDateTime createdAt, LocalDateTime updatedAt) {
+                       Long withdrawAccountBalance, Long depositAccountBalance, TransactionEnum gubun, String tel,
+                       LocalDateTime createdAt, LocalDateTime updatedAt) {
         this.id = id;
         this.withdrawAccount = withdrawAccount;
         this.depositAccount = depositAccount;
@@ -67,10 +80,26 @@ public class Transaction {
         this.withdrawAccountBalance = withdrawAccountBalance;
         this.depositAccountBalance = depositAccountBalance;
         this.gubun = gubun;
-        this.sender = sender;
-        this.receiver = receiver;
         this.tel = tel;
         this.createdAt = createdAt;
         this.updatedAt = updatedAt;
     }
+
+    // 보내는 쪽 계좌번호 (ATM이면 null)
+    public Long getSenderNumber() {
+        return withdrawAccount == null ? null : withdrawAccount.getNumber();
+    }
+
+    // 받는 쪽 계좌번호 (ATM이면 null)
+    public Long getReceiverNumber() {
+        return depositAccount == null ? null : depositAccount.getNumber();
+    }
+
+    public String getSender() {
+        return TransactionParty.display(getSenderNumber());
+    }
+
+    public String getReceiver() {
+        return TransactionParty.display(getReceiverNumber());
+    }
 }
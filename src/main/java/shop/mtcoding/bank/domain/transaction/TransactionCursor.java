@@ -0,0 +1,58 @@
+package shop.mtcoding.bank.domain.transaction;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import lombok.Getter;
+import shop.mtcoding.bank.handler.ex.CustomApiException;
+
+/*
+ * 키셋(커서) 페이징의 기준점 - 마지막으로 읽은 거래내역의 (createdAt, id)
+ * 클라이언트에게는 내부 구조를 알 수 없는 문자열(Base64)로 전달한다.
+ */
+@Getter
+public class TransactionCursor implements Comparable<TransactionCursor> {
+    private static final String DELIMITER = "_";
+
+    private final LocalDateTime createdAt;
+    private final Long id;
+
+    public TransactionCursor(LocalDateTime createdAt, Long id) {
+        this.createdAt = createdAt;
+        this.id = id;
+    }
+
+    public static TransactionCursor of(Transaction transaction) {
+        return new TransactionCursor(transaction.getCreatedAt(), transaction.getId());
+    }
+
+    // (createdAt, id) 순서 - 목록 조회의 정렬 기준과 같다.
+    @Override
+    public int compareTo(TransactionCursor other) {
+        int result = createdAt.compareTo(other.createdAt);
+        if (result != 0) {
+            return result;
+        }
+        return id.compareTo(other.id);
+    }
+
+    public String encode() {
+        String raw = createdAt + DELIMITER + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    // 첫 페이지 요청은 커서가 없다.
+    public static TransactionCursor decode(String token) {
+        if (token == null || token.isBlank()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int index = raw.lastIndexOf(DELIMITER);
+            return new TransactionCursor(LocalDateTime.parse(raw.substring(0, index)), Long.parseLong(raw.substring(index + 1)));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeParseException e) {
+            throw new CustomApiException("잘못된 커서입니다");
+        }
+    }
+}
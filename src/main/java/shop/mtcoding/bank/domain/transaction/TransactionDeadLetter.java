@@ -0,0 +1,52 @@
+package shop.mtcoding.bank.domain.transaction;
+
+import java.time.LocalDateTime;
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.Table;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+// 원장(LedgerEngine)이 완료한 입금 중 DB에 반영하지 못한 입금 (입금을 받은 뒤에 계좌가 없어진 경우)
+// 고객에게는 완료로 응답했으므로 버리지 않고 남겨둔다. (환불, 재처리는 운영자가 한다)
+// id는 원장이 할당한 거래내역 id - LedgerFlusher가 JDBC로만 쓰기 때문에 감사(Auditing) 리스너를 쓰지 않는다.
+@NoArgsConstructor
+@Getter
+@Table(name = "transaction_dead_letter_tb")
+@Entity
+public class TransactionDeadLetter {
+
+    @Id
+    private Long id;
+
+    @Column(nullable = false)
+    private Long number;
+
+    @Column(nullable = false)
+    private Long amount;
+
+    private String tel;
+
+    @Column(nullable = false)
+    private String reason;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;    // 입금 시각
+
+    @Column(name = "parked_at", nullable = false)
+    private LocalDateTime parkedAt;
+
+    @Builder
+    public TransactionDeadLetter(Long id, Long number, Long amount, String tel, String reason, LocalDateTime createdAt,
+                                 LocalDateTime parkedAt) {
+        this.id = id;
+        this.number = number;
+        this.amount = amount;
+        this.tel = tel;
+        this.reason = reason;
+        this.createdAt = createdAt;
+        this.parkedAt = parkedAt;
+    }
+}
@@ -0,0 +1,19 @@
+package shop.mtcoding.bank.domain.transaction;
+
+/*
+ * 거래의 보내는 쪽(sender), 받는 쪽(receiver)
+ * - 컬럼으로 저장하지 않는다. 출금계좌/입금계좌 FK가 있으면 그 계좌, 없으면 ATM이다.
+ *   (입금 : ATM -> 입금계좌, 출금 : 출금계좌 -> ATM, 이체 : 출금계좌 -> 입금계좌)
+ * - 응답 DTO는 계좌번호(Long)만 들고 있다가 직렬화할 때 문자열로 만든다.
+ */
+public class TransactionParty {
+    public static final String ATM = "ATM";
+
+    private TransactionParty() {
+    }
+
+    // number : 상대 계좌번호 (null이면 ATM)
+    public static String display(Long number) {
+        return number == null ? ATM : String.valueOf(number);
+    }
+}
@@ -1,55 +1,293 @@
 package shop.mtcoding.bank.domain.transaction;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
+import java.util.function.Consumer;
 import javax.persistence.EntityManager;
 import javax.persistence.TypedQuery;
 import lombok.RequiredArgsConstructor;
+import org.hibernate.ScrollMode;
+import org.hibernate.ScrollableResults;
+import org.hibernate.query.Query;
 import org.springframework.data.repository.query.Param;
+import shop.mtcoding.bank.dto.transaction.TransactionRespDto.TransactionDto;
+import shop.mtcoding.bank.dto.transaction.TransactionRespDto.TransactionExportDto;
 
 interface Dao {
     List<Transaction> findTransactionList(@Param("accountId") Long accountId, @Param("gubun") String gubun, @Param("page") Integer page);   // 요청값이 여러개일경우 @Param을 붙여줘야 한다.
+
+    // 키셋(커서) 페이징 - cursor가 null이면 첫 페이지
+    List<Transaction> findTransactionListByCursor(@Param("accountId") Long accountId, @Param("gubun") String gubun,
+                                                  @Param("cursor") TransactionCursor cursor, @Param("size") Integer size);
+
+    // 엔티티 대신 DTO로 조회 (입출금목록보기 API)
+    List<TransactionDto> findTransactionHistory(@Param("accountId") Long accountId, @Param("gubun") String gubun,
+                                                @Param("cursor") TransactionCursor cursor, @Param("size") Integer size);
+
+    // 명세서 - 기간 [start, end) 안의 입출금내역 전체 (createdAt, id 순)
+    List<TransactionDto> findTransactionHistoryBetween(@Param("accountId") Long accountId,
+                                                       @Param("start") LocalDateTime start, @Param("end") LocalDateTime end);
+
+    // 내보내기 - 조건에 맞는 거래내역 전체를 (createdAt, id) 순으로 한 행씩 consumer에 넘긴다.
+    // accountId, start, end는 null이면 조건에서 빠진다. (트랜잭션 안에서 호출해야 한다)
+    void scrollTransactionExport(@Param("accountId") Long accountId, @Param("start") LocalDateTime start,
+                                 @Param("end") LocalDateTime end, Consumer<TransactionExportDto> consumer);
 }
 
 // Impl을 붙여줘야 하고, TransactionRepository가 앞에 붙어야 한다.
 @RequiredArgsConstructor
 public class TransactionRepositoryImpl implements Dao {
+    public static final int DEFAULT_PAGE_SIZE = 5;
+    public static final int MAX_PAGE_SIZE = 100;
+    private static final int EXPORT_FETCH_SIZE = 1000;
+
+    // 응답에 필요한 컬럼만 조회 (출금계좌 id는 조회한 계좌 기준 잔액을 고르는 데 사용)
+    // 보내는 쪽, 받는 쪽은 저장하지 않으므로 출금계좌, 입금계좌의 번호를 읽는다. (account_tb PK 조인)
+    private static final String TRANSACTION_DTO_SELECT = ""
+            + "select new shop.mtcoding.bank.dto.transaction.TransactionRespDto$TransactionDto("
+            + "t.id, t.gubun, t.amount, t.tel, t.createdAt, "
+            + "wa.id, wa.number, da.number, t.withdrawAccountBalance, t.depositAccountBalance) "
+            + "from Transaction t "
+            + "left join t.withdrawAccount wa "
+            + "left join t.depositAccount da ";
+
+    private static final String TRANSACTION_EXPORT_SELECT = ""
+            + "select new shop.mtcoding.bank.dto.transaction.TransactionRespDto$TransactionExportDto("
+            + "t.id, t.gubun, t.amount, wa.number, da.number, t.withdrawAccountBalance, t.depositAccountBalance, "
+            + "t.tel, t.createdAt) "
+            + "from Transaction t "
+            + "left join t.withdrawAccount wa "
+            + "left join t.depositAccount da ";
+
     private final EntityManager em;
 
     @Override
     public List<Transaction> findTransactionList(Long accountId, String gubun, Integer page) {
         // JPQL
         // 동적쿼리 (gubun이 DEPOSIT일경우 입금내역, WITHDRAW일경우 출금내역, ALL일경우 입출금내역)
+        int offset = page * DEFAULT_PAGE_SIZE;
+        if (isAll(gubun)) {
+            // 출금쪽, 입금쪽을 각각 앞에서부터 offset + 5개씩 읽은 후 합친다.
+            // 뒤 페이지일수록 2 * (offset + 5)개의 엔티티를 읽게 된다. (페이지 제한은 TransactionService)
+            List<Transaction> withdrawList = selectTransactions(accountId, "WITHDRAW", gubun, null, 0, offset + DEFAULT_PAGE_SIZE);
+            List<Transaction> depositList = selectTransactions(accountId, "DEPOSIT", gubun, null, 0, offset + DEFAULT_PAGE_SIZE);
+            return merge(withdrawList, depositList, Comparator.comparing(TransactionCursor::of), offset, DEFAULT_PAGE_SIZE);
+        }
+        return selectTransactions(accountId, gubun, gubun, null, offset, DEFAULT_PAGE_SIZE);
+    }
+
+    // offset 방식은 앞 페이지의 행을 모두 읽고 버리기 때문에 뒤 페이지로 갈수록 느려진다.
+    // 마지막으로 읽은 (createdAt, id) 다음부터 읽으면 몇번째 페이지든 인덱스에서 바로 찾아간다.
+    @Override
+    public List<Transaction> findTransactionListByCursor(Long accountId, String gubun, TransactionCursor cursor, Integer size) {
+        int limit = pageSize(size);
+        if (isAll(gubun)) {
+            List<Transaction> withdrawList = selectTransactions(accountId, "WITHDRAW", gubun, cursor, 0, limit);
+            List<Transaction> depositList = selectTransactions(accountId, "DEPOSIT", gubun, cursor, 0, limit);
+            return merge(withdrawList, depositList, Comparator.comparing(TransactionCursor::of), 0, limit);
+        }
+        return selectTransactions(accountId, gubun, gubun, cursor, 0, limit);
+    }
+
+    // 연관된 Account 엔티티를 페치조인하지 않고 응답에 필요한 컬럼만 조회한다.
+    @Override
+    public List<TransactionDto> findTransactionHistory(Long accountId, String gubun, TransactionCursor cursor, Integer size) {
+        int limit = pageSize(size);
+        List<TransactionDto> transactionDtos;
+        if (isAll(gubun)) {
+            List<TransactionDto> withdrawList = selectTransactionDtos(accountId, "WITHDRAW", cursor, limit);
+            List<TransactionDto> depositList = selectTransactionDtos(accountId, "DEPOSIT", cursor, limit);
+            transactionDtos = merge(withdrawList, depositList, Comparator.comparing(TransactionDto::getCursor), 0, limit);
+        } else {
+            transactionDtos = selectTransactionDtos(accountId, gubun, cursor, limit);
+        }
+        transactionDtos.forEach(transactionDto -> transactionDto.applyBalance(accountId));
+        return transactionDtos;
+    }
+
+    // 기간 조건도 (계좌id, createdAt, id) 인덱스의 범위 검색이므로 기간 밖의 거래내역은 읽지 않는다.
+    @Override
+    public List<TransactionDto> findTransactionHistoryBetween(Long accountId, LocalDateTime start, LocalDateTime end) {
+        List<TransactionDto> withdrawList = selectTransactionDtosBetween(accountId, "WITHDRAW", start, end);
+        List<TransactionDto> depositList = selectTransactionDtosBetween(accountId, "DEPOSIT", start, end);
+        List<TransactionDto> transactionDtos = merge(withdrawList, depositList, Comparator.comparing(TransactionDto::getCursor),
+                0, withdrawList.size() + depositList.size());
+        transactionDtos.forEach(transactionDto -> transactionDto.applyBalance(accountId));
+        return transactionDtos;
+    }
+
+    // 수백만 건이어도 메모리에 모으지 않는다.
+    // - 엔티티가 아닌 DTO로 조회하므로 영속성 컨텍스트에 쌓이지 않는다.
+    // - FORWARD_ONLY 커서 + fetchSize : 드라이버가 fetchSize만큼씩 읽어온다. (MariaDB Connector/J는 fetchSize > 0 이면 스트리밍)
+    // 한 계좌의 출금쪽, 입금쪽을 두 커서로 동시에 읽을 수 없으므로 (스트리밍 중인 커넥션은 다른 쿼리를 실행할 수 없다)
+    // 계좌 조건은 or로 조회하고 정렬은 DB에 맡긴다.
+    @Override
+    public void scrollTransactionExport(Long accountId, LocalDateTime start, LocalDateTime end,
+                                        Consumer<TransactionExportDto> consumer) {
+        String sql = TRANSACTION_EXPORT_SELECT;
+        sql += "where 1 = 1";
+        if (accountId != null) {
+            sql += " and (wa.id = :accountId or da.id = :accountId)";
+        }
+        if (start != null) {
+            sql += " and t.createdAt >= :start";
+        }
+        if (end != null) {
+            sql += " and t.createdAt < :end";
+        }
+        sql += " order by t.createdAt, t.id";
+
+        TypedQuery<TransactionExportDto> typedQuery = em.createQuery(sql, TransactionExportDto.class);
+        if (accountId != null) {
+            typedQuery.setParameter("accountId", accountId);
+        }
+        if (start != null) {
+            typedQuery.setParameter("start", start);
+        }
+        if (end != null) {
+            typedQuery.setParameter("end", end);
+        }
+
+        Query<?> query = typedQuery.unwrap(Query.class);
+        query.setFetchSize(EXPORT_FETCH_SIZE);
+        query.setReadOnly(true);
+        try (ScrollableResults results = query.scroll(ScrollMode.FORWARD_ONLY)) {
+            while (results.next()) {
+                consumer.accept((TransactionExportDto) results.get(0));
+            }
+        }
+    }
+
+    public static int pageSize(Integer size) {
+        if (size == null || size <= 0) {
+            return DEFAULT_PAGE_SIZE;
+        }
+        return Math.min(size, MAX_PAGE_SIZE);
+    }
+
+    // ALL일 때 "출금계좌 = ? or 입금계좌 = ?" 한번으로 조회하면 두 FK 인덱스를 모두 쓰지 못하고 테이블 전체를 읽게 된다.
+    // 그래서 출금쪽(side = WITHDRAW), 입금쪽(side = DEPOSIT)을 각각 (계좌id, createdAt, id) 인덱스로 조회한다.
+    private List<Transaction> selectTransactions(Long accountId, String side, String gubun, TransactionCursor cursor,
+                                                 int offset, int limit) {
         String sql = "";
         sql += "select t from Transaction t ";
+        sql += fetchJoin(gubun);
+        sql += where(side);
+        sql += afterCursor(cursor);
+
+        TypedQuery<Transaction> query = em.createQuery(sql, Transaction.class);
+        query = setAccountParameter(query, accountId, side);
+        query = setCursorParameter(query, cursor);
 
+        query.setFirstResult(offset);
+        query.setMaxResults(limit);
+
+        return query.getResultList();
+    }
+
+    private List<TransactionDto> selectTransactionDtos(Long accountId, String side, TransactionCursor cursor, int limit) {
+        String sql = TRANSACTION_DTO_SELECT;
+        sql += where(side);
+        sql += afterCursor(cursor);
+
+        TypedQuery<TransactionDto> query = em.createQuery(sql, TransactionDto.class);
+        query = setAccountParameter(query, accountId, side);
+        query = setCursorParameter(query, cursor);
+
+        query.setMaxResults(limit);
+
+        return query.getResultList();
+    }
+
+    private List<TransactionDto> selectTransactionDtosBetween(Long accountId, String side, LocalDateTime start,
+                                                              LocalDateTime end) {
+        String sql = TRANSACTION_DTO_SELECT;
+        sql += where(side);
+        sql += " and t.createdAt >= :start and t.createdAt < :end";
+        sql += " order by t.createdAt, t.id";
+
+        TypedQuery<TransactionDto> query = em.createQuery(sql, TransactionDto.class);
+        query = setAccountParameter(query, accountId, side);
+        query.setParameter("start", start);
+        query.setParameter("end", end);
+
+        return query.getResultList();
+    }
+
+    // 두 리스트는 이미 (createdAt, id) 순으로 정렬되어 있으므로 앞에서부터 하나씩 비교하며 합친다. (merge sort의 merge 단계)
+    // 자기 자신에게 이체할 수 없으므로 두 리스트에 같은 거래가 들어있는 경우는 없다.
+    private static <T> List<T> merge(List<T> withdrawList, List<T> depositList, Comparator<T> comparator, int offset, int limit) {
+        List<T> result = new ArrayList<>(limit);
+        int w = 0;
+        int d = 0;
+        int index = 0;
+        while ((w < withdrawList.size() || d < depositList.size()) && result.size() < limit) {
+            T next;
+            if (d >= depositList.size()
+                    || (w < withdrawList.size() && comparator.compare(withdrawList.get(w), depositList.get(d)) <= 0)) {
+                next = withdrawList.get(w++);
+            } else {
+                next = depositList.get(d++);
+            }
+            if (index++ >= offset) {
+                result.add(next);
+            }
+        }
+        return result;
+    }
+
+    private boolean isAll(String gubun) {
+        return !gubun.equals("WITHDRAW") && !gubun.equals("DEPOSIT");
+    }
+
+    private String fetchJoin(String gubun) {
+        String sql = "";
         if (gubun.equals("WITHDRAW")) {
             sql += "join fetch t.withdrawAccount wa ";  // 페치조인
-            sql += "where t.withdrawAccount.id = :withdrawAccountId";
         } else if (gubun.equals("DEPOSIT")){
             sql += "join fetch t.depositAccount da ";
-            sql += "where t.depositAccount.id = :depositAccountId";
         } else {
             sql += "left join fetch t.withdrawAccount wa ";
             sql += "left join fetch t.depositAccount da ";
-            sql += "where t.withdrawAccount.id = :withdrawAccountId ";
-            sql += "or ";
-            sql += "t.depositAccount.id = :depositAccountId";
         }
+        return sql;
+    }
 
-        TypedQuery<Transaction> query = em.createQuery(sql, Transaction.class);
+    private String where(String side) {
+        String sql = "";
+        if (side.equals("WITHDRAW")) {
+            sql += "where t.withdrawAccount.id = :withdrawAccountId";
+        } else {
+            sql += "where t.depositAccount.id = :depositAccountId";
+        }
+        return sql;
+    }
 
-        if (gubun.equals("WITHDRAW")) {
+    private String afterCursor(TransactionCursor cursor) {
+        String sql = "";
+        if (cursor != null) {
+            sql += " and (t.createdAt > :cursorCreatedAt or (t.createdAt = :cursorCreatedAt and t.id > :cursorId))";
+        }
+        sql += " order by t.createdAt, t.id";
+        return sql;
+    }
+
+    private <T> TypedQuery<T> setAccountParameter(TypedQuery<T> query, Long accountId, String side) {
+        if (side.equals("WITHDRAW")) {
             query = query.setParameter("withdrawAccountId", accountId);
-        } else if (gubun.equals("DEPOSIT")) {
-            query = query.setParameter("depositAccountId", accountId);
         } else {
-            query = query.setParameter("withdrawAccountId", accountId);
             query = query.setParameter("depositAccountId", accountId);
         }
+        return query;
+    }
 
-        query.setFirstResult(page * 5);
-        query.setMaxResults(5);
-
-        return query.getResultList();
+    private <T> TypedQuery<T> setCursorParameter(TypedQuery<T> query, TransactionCursor cursor) {
+        if (cursor != null) {
+            query = query.setParameter("cursorCreatedAt", cursor.getCreatedAt());
+            query = query.setParameter("cursorId", cursor.getId());
+        }
+        return query;
     }
 }
@@ -0,0 +1,44 @@
+package shop.mtcoding.bank.domain.user;
+
+import java.time.LocalDateTime;
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.Index;
+import javax.persistence.Table;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+// 폐기된 토큰 (jti) - 로그아웃, 한번 쓴 리플래시 토큰
+// 서버를 다시 띄워도, 서버가 여러대여도 같은 목록을 본다. 토큰의 만료시간이 지나면 지운다. (TokenService)
+// RevokedTokenRepository.insert(native)로만 쓰기 때문에 감사(Auditing) 리스너를 쓰지 않는다.
+@NoArgsConstructor
+@Getter
+@Table(name = "revoked_token_tb", indexes = {
+        @Index(name = "idx_revoked_token_expires_at", columnList = "expires_at")
+})
+@Entity
+public class RevokedToken {
+
+    @Id
+    @Column(length = 64)
+    private String jti;
+
+    @Column(nullable = false)
+    private Boolean refresh;    // 리플래시 토큰이면 true
+
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Builder
+    public RevokedToken(String jti, Boolean refresh, LocalDateTime expiresAt, LocalDateTime createdAt) {
+        this.jti = jti;
+        this.refresh = refresh;
+        this.expiresAt = expiresAt;
+        this.createdAt = createdAt;
+    }
+}
@@ -0,0 +1,28 @@
+package shop.mtcoding.bank.domain.user;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+public interface RevokedTokenRepository extends JpaRepository<RevokedToken, String> {
+
+    // 이미 폐기된 jti이면 PK 위반 (DataIntegrityViolationException) - 같은 리플래시 토큰을 동시에 써도 한번만 성공한다.
+    // save()는 id가 있는 엔티티를 merge(select 후 insert)하므로 쓰지 않는다.
+    @Transactional
+    @Modifying
+    @Query(value = "INSERT INTO revoked_token_tb (jti, refresh, expires_at, created_at) "
+            + "VALUES (:jti, :refresh, :expiresAt, NOW())", nativeQuery = true)
+    int insert(@Param("jti") String jti, @Param("refresh") boolean refresh, @Param("expiresAt") LocalDateTime expiresAt);
+
+    // 기동할 때 메모리 폐기 목록에 다시 올릴 액세스 토큰 (만료되지 않은 것만 - 최대 액세스 토큰 유효시간만큼)
+    List<RevokedToken> findAllByRefreshFalseAndExpiresAtAfter(LocalDateTime now);
+
+    @Transactional
+    @Modifying
+    @Query("delete from RevokedToken r where r.expiresAt <= :now")
+    int deleteExpired(@Param("now") LocalDateTime now);
+}
@@ -1,88 +1,127 @@
 package shop.mtcoding.bank.dto.account;
 
-import javax.validation.constraints.Digits;
-import javax.validation.constraints.NotEmpty;
-import javax.validation.constraints.NotNull;
-import javax.validation.constraints.Pattern;
+import java.util.List;
+import java.util.regex.Pattern;
 import lombok.Getter;
 import lombok.Setter;
 import shop.mtcoding.bank.domain.account.Account;
 import shop.mtcoding.bank.domain.user.User;
+import shop.mtcoding.bank.handler.aop.IdempotencyScope;
+import shop.mtcoding.bank.handler.validation.Validatable;
+import shop.mtcoding.bank.handler.validation.ValidationErrors;
 
 public class AccountReqDto {
+    private static final int NUMBER_DIGITS = 4;
+    private static final int MAX_BATCH_SIZE = 1000;    // 계좌를 IN 쿼리 한번으로 조회하므로 개수를 제한한다.
+    private static final Pattern TRANSFER = Pattern.compile("^(TRANSFER)$");
+    private static final Pattern WITHDRAW = Pattern.compile("^(WITHDRAW)$");
+    private static final Pattern DEPOSIT = Pattern.compile("^(DEPOSIT)$");
+    private static final Pattern TEL = Pattern.compile("^[0-9]{11}$");
+
+    // 계좌번호, 비밀번호 (4자리 숫자)
+    private static void checkNumber(ValidationErrors errors, String field, Long value) {
+        if (errors.notNull(field, value)) {
+            errors.digits(field, value, NUMBER_DIGITS);
+        }
+    }
+
+    private static void checkGubun(ValidationErrors errors, String value, Pattern pattern) {
+        if (errors.notEmpty("gubun", value)) {
+            errors.matches("gubun", value, pattern);
+        }
+    }
 
     @Getter
     @Setter
-    public static class AccountTransferReqDto {
-        @NotNull
-        @Digits(integer = 4, fraction = 4)
-        private Long withdrawNumber;
+    public static class AccountTransferBatchReqDto implements Validatable {
+        private List<AccountTransferReqDto> transfers;
+
+        @Override
+        public void validate(ValidationErrors errors) {
+            if (errors.notEmpty("transfers", transfers) && errors.size("transfers", transfers, MAX_BATCH_SIZE)) {
+                for (int i = 0; i < transfers.size(); i++) {
+                    AccountTransferReqDto transfer = transfers.get(i);
+                    if (errors.notNull("transfers[" + i + "]", transfer)) {
+                        errors.nested("transfers", i, transfer);
+                    }
+                }
+            }
+        }
+    }
 
-        @NotNull
-        @Digits(integer = 4, fraction = 4)
+    @Getter
+    @Setter
+    public static class AccountTransferReqDto implements Validatable {
+        private Long withdrawNumber;
         private Long depositNumber;
-
-        @NotNull
-        @Digits(integer = 4, fraction = 4)
         private Long withdrawPassword;
-
-        @NotNull
         private Long amount;
-
-        @NotEmpty
-        @Pattern(regexp = "^(TRANSFER)$")
         private String gubun;
+
+        @Override
+        public void validate(ValidationErrors errors) {
+            checkNumber(errors, "withdrawNumber", withdrawNumber);
+            checkNumber(errors, "depositNumber", depositNumber);
+            checkNumber(errors, "withdrawPassword", withdrawPassword);
+            errors.notNull("amount", amount);
+            checkGubun(errors, gubun, TRANSFER);
+        }
     }
 
     @Getter
     @Setter
-    public static class AccountWithdrawReqDto {
-        @NotNull
-        @Digits(integer = 4, fraction = 4)
+    public static class AccountWithdrawReqDto implements Validatable {
         private Long number;
-
-        @NotNull
-        @Digits(integer = 4, fraction = 4)
         private Long password;
-
-        @NotNull
         private Long amount;
-
-        @NotEmpty
-        @Pattern(regexp = "^(WITHDRAW)$")
         private String gubun;
+
+        @Override
+        public void validate(ValidationErrors errors) {
+            checkNumber(errors, "number", number);
+            checkNumber(errors, "password", password);
+            errors.notNull("amount", amount);
+            checkGubun(errors, gubun, WITHDRAW);
+        }
     }
 
     @Getter
     @Setter
-    public static class AccountDepositReqDto {
-        @NotNull
-        @Digits(integer = 4, fraction = 4)
+    public static class AccountDepositReqDto implements Validatable, IdempotencyScope {
         private Long number;
-
-        @NotNull
         private Long amount;
-
-        @NotEmpty
-        @Pattern(regexp = "^(DEPOSIT)$")
         private String gubun;   // DEPOSIT
-
-        @NotEmpty
-        @Pattern(regexp = "^[0-9]{11}$")
         private String tel;
+
+        // 로그인 없이 입금하므로 입금계좌와 입금자 전화번호로 Idempotency-Key 범위를 나눈다.
+        @Override
+        public String idempotencyScope() {
+            return number + ":" + tel;
+        }
+
+        @Override
+        public void validate(ValidationErrors errors) {
+            checkNumber(errors, "number", number);
+            errors.notNull("amount", amount);
+            checkGubun(errors, gubun, DEPOSIT);
+            if (errors.notEmpty("tel", tel)) {
+                errors.matches("tel", tel, TEL);
+            }
+        }
     }
 
     @Getter
     @Setter
-    public static class AccountSaveReqDto {
-        @NotNull
-        @Digits(integer = 4, fraction = 4)
+    public static class AccountSaveReqDto implements Validatable {
         private Long number;
-
-        @NotNull
-        @Digits(integer = 4, fraction = 4)
         private Long password;
 
+        @Override
+        public void validate(ValidationErrors errors) {
+            checkNumber(errors, "number", number);
+            checkNumber(errors, "password", password);
+        }
+
         public Account toEntity(User user) {
             return Account.builder()
                     .number(number)
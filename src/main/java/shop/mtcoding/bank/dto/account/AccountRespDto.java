@@ -1,6 +1,8 @@
 package shop.mtcoding.bank.dto.account;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.stream.Collectors;
@@ -8,11 +10,67 @@ import lombok.Getter;
 import lombok.Setter;
 import shop.mtcoding.bank.domain.account.Account;
 import shop.mtcoding.bank.domain.transaction.Transaction;
+import shop.mtcoding.bank.domain.transaction.TransactionParty;
 import shop.mtcoding.bank.domain.user.User;
-import shop.mtcoding.bank.util.CustomDateUtil;
+import shop.mtcoding.bank.dto.account.AccountReqDto.AccountTransferReqDto;
+import shop.mtcoding.bank.util.CustomDateSerializer;
 
 public class AccountRespDto {
 
+    @Getter
+    @Setter
+    public static class AccountTransferBatchRespDto {
+        private int successCount;
+        private int failCount;
+        private List<TransferResultDto> results;
+
+        public AccountTransferBatchRespDto(List<TransferResultDto> results) {
+            this.results = results;
+            this.successCount = (int) results.stream().filter(TransferResultDto::isSuccess).count();
+            this.failCount = results.size() - successCount;
+        }
+
+        // 요청 순서(index)대로 건별 성공/실패를 알려준다.
+        @Getter
+        @Setter
+        public static class TransferResultDto {
+            private int index;
+            private Long withdrawNumber;
+            private Long depositNumber;
+            private Long amount;
+            private boolean success;
+            private String msg;
+            private Long balance;   // 출금계좌잔액 (실패시 null)
+            @JsonIgnore
+            private Transaction transaction;
+
+            public static TransferResultDto success(int index, AccountTransferReqDto reqDto, Account withdrawAccount,
+                                                    Transaction transaction) {
+                TransferResultDto resultDto = new TransferResultDto(index, reqDto, true, "계좌이체 성공");
+                resultDto.balance = withdrawAccount.getBalance();
+                resultDto.transaction = transaction;
+                return resultDto;
+            }
+
+            public static TransferResultDto fail(int index, AccountTransferReqDto reqDto, String msg) {
+                return new TransferResultDto(index, reqDto, false, msg);
+            }
+
+            private TransferResultDto(int index, AccountTransferReqDto reqDto, boolean success, String msg) {
+                this.index = index;
+                this.withdrawNumber = reqDto.getWithdrawNumber();
+                this.depositNumber = reqDto.getDepositNumber();
+                this.amount = reqDto.getAmount();
+                this.success = success;
+                this.msg = msg;
+            }
+
+            public Long getTransactionId() {
+                return transaction == null ? null : transaction.getId();
+            }
+        }
+    }
+
     @Getter
     @Setter
     public static class AccountTransferRespDto {
@@ -33,21 +91,33 @@ public class AccountRespDto {
         public class TransactionDto {
             private Long id;
             private String gubun;
-            private String sender;
-            private String receiver;
+            @JsonIgnore
+            private Long senderNumber;  // 보내는 쪽 계좌번호 (ATM이면 null)
+            @JsonIgnore
+            private Long receiverNumber;
             private Long amount;
             @JsonIgnore
             private Long depositAccountBalance;
-            private String createdAt;
+            @JsonSerialize(using = CustomDateSerializer.class)
+            private LocalDateTime createdAt;
 
             public TransactionDto(Transaction transaction) {
                 this.id = transaction.getId();
                 this.gubun = transaction.getGubun().getValue();
-                this.sender = transaction.getSender();
-                this.receiver = transaction.getReceiver();
+                this.senderNumber = transaction.getSenderNumber();
+                this.receiverNumber = transaction.getReceiverNumber();
                 this.amount = transaction.getAmount();
                 this.depositAccountBalance = transaction.getDepositAccountBalance();
-                this.createdAt = CustomDateUtil.toStringFormat(transaction.getCreatedAt());
+                this.createdAt = transaction.getCreatedAt();
+            }
+
+            // 문자열은 응답을 직렬화할 때 만든다.
+            public String getSender() {
+                return TransactionParty.display(senderNumber);
+            }
+
+            public String getReceiver() {
+                return TransactionParty.display(receiverNumber);
             }
         }
     }
@@ -72,19 +142,55 @@ public class AccountRespDto {
         public class TransactionDto {
             private Long id;
             private String gubun;
-            private String sender;
-            private String receiver;
+            @JsonIgnore
+            private Long senderNumber;  // 보내는 쪽 계좌번호 (ATM이면 null)
+            @JsonIgnore
+            private Long receiverNumber;
             private Long amount;
-            private String createdAt;
+            @JsonSerialize(using = CustomDateSerializer.class)
+            private LocalDateTime createdAt;
 
             public TransactionDto(Transaction transaction) {
                 this.id = transaction.getId();
                 this.gubun = transaction.getGubun().getValue();
-                this.sender = transaction.getSender();
-                this.receiver = transaction.getReceiver();
+                this.senderNumber = transaction.getSenderNumber();
+                this.receiverNumber = transaction.getReceiverNumber();
                 this.amount = transaction.getAmount();
-                this.createdAt = CustomDateUtil.toStringFormat(transaction.getCreatedAt());
+                this.createdAt = transaction.getCreatedAt();
+            }
+
+            // 문자열은 응답을 직렬화할 때 만든다.
+            public String getSender() {
+                return TransactionParty.display(senderNumber);
             }
+
+            public String getReceiver() {
+                return TransactionParty.display(receiverNumber);
+            }
+        }
+    }
+
+    // 그룹 입금(LedgerWriter) 한건의 결과 - 성공이면 resp, 실패면 msg
+    @Getter
+    public static class AccountDepositResultDto {
+        private final AccountDepositRespDto resp;
+        private final String msg;
+
+        private AccountDepositResultDto(AccountDepositRespDto resp, String msg) {
+            this.resp = resp;
+            this.msg = msg;
+        }
+
+        public static AccountDepositResultDto success(Account account, Transaction transaction) {
+            return new AccountDepositResultDto(new AccountDepositRespDto(account, transaction), null);
+        }
+
+        public static AccountDepositResultDto fail(String msg) {
+            return new AccountDepositResultDto(null, msg);
+        }
+
+        public boolean isSuccess() {
+            return resp != null;
         }
     }
 
@@ -106,11 +212,14 @@ public class AccountRespDto {
         public class TransactionDto {
             private Long id;
             private String gubun;
-            private String sender;
-            private String receiver;
+            @JsonIgnore
+            private Long senderNumber;  // 보내는 쪽 계좌번호 (ATM이면 null)
+            @JsonIgnore
+            private Long receiverNumber;
             private Long amount;
             private String tel;
-            private String createdAt;
+            @JsonSerialize(using = CustomDateSerializer.class)
+            private LocalDateTime createdAt;
 
             @JsonIgnore
             private Long depositAccountBalance; // 클라이언트에게 전달 x -> 서비스단에서 테스트 용도
@@ -118,12 +227,21 @@ public class AccountRespDto {
             public TransactionDto(Transaction transaction) {
                 this.id = transaction.getId();
                 this.gubun = transaction.getGubun().getValue();
-                this.sender = transaction.getSender();
-                this.receiver = transaction.getReceiver();
+                this.senderNumber = transaction.getSenderNumber();
+                this.receiverNumber = transaction.getReceiverNumber();
                 this.amount = transaction.getAmount();
                 this.depositAccountBalance = transaction.getDepositAccountBalance();
                 this.tel = transaction.getTel();
-                this.createdAt = CustomDateUtil.toStringFormat(transaction.getCreatedAt());
+                this.createdAt = transaction.getCreatedAt();
+            }
+
+            // 문자열은 응답을 직렬화할 때 만든다.
+            public String getSender() {
+                return TransactionParty.display(senderNumber);
+            }
+
+            public String getReceiver() {
+                return TransactionParty.display(receiverNumber);
             }
         }
     }
@@ -153,6 +271,11 @@ public class AccountRespDto {
             this.accounts = accounts.stream().map(AccountDto::new).collect(Collectors.toList());
         }
 
+        public AccountListRespDto(String fullname, List<Account> accounts) {
+            this.fullname = fullname;
+            this.accounts = accounts.stream().map(AccountDto::new).collect(Collectors.toList());
+        }
+
         @Getter
         @Setter
         public class AccountDto {
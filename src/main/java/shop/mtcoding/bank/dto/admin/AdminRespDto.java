@@ -0,0 +1,39 @@
+package shop.mtcoding.bank.dto.admin;
+
+import java.util.ArrayList;
+import java.util.List;
+import lombok.Getter;
+import lombok.Setter;
+import shop.mtcoding.bank.util.LocalCache;
+
+public class AdminRespDto {
+
+    @Getter
+    @Setter
+    public static class CacheStatsRespDto {
+        private List<CacheStatDto> caches = new ArrayList<>();
+
+        public CacheStatsRespDto add(String name, LocalCache<?, ?> cache) {
+            caches.add(new CacheStatDto(name, cache));
+            return this;
+        }
+
+        @Getter
+        @Setter
+        public static class CacheStatDto {
+            private String name;
+            private int size;
+            private long hitCount;
+            private long missCount;
+            private double hitRatio;
+
+            public CacheStatDto(String name, LocalCache<?, ?> cache) {
+                this.name = name;
+                this.size = cache.size();
+                this.hitCount = cache.getHitCount();
+                this.missCount = cache.getMissCount();
+                this.hitRatio = cache.getHitRatio();
+            }
+        }
+    }
+}
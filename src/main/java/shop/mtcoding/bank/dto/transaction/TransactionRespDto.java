@@ -0,0 +1,188 @@
+package shop.mtcoding.bank.dto.transaction;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import lombok.Getter;
+import lombok.Setter;
+import shop.mtcoding.bank.domain.account.Account;
+import shop.mtcoding.bank.domain.transaction.Transaction;
+import shop.mtcoding.bank.domain.transaction.TransactionCursor;
+import shop.mtcoding.bank.domain.transaction.TransactionEnum;
+import shop.mtcoding.bank.domain.transaction.TransactionParty;
+import shop.mtcoding.bank.util.CustomDateSerializer;
+import shop.mtcoding.bank.util.CustomDateUtil;
+
+public class TransactionRespDto {
+
+    // 계좌 명세서 - 기초잔액(스냅샷) + 기간 내 거래내역
+    @Getter
+    @Setter
+    public static class StatementRespDto {
+        private Long number;    // 계좌번호
+        private String from;
+        private String to;
+        private Long openingBalance;    // 기초잔액 (시작일 직전 잔액)
+        private Long closingBalance;    // 기말잔액
+        private Long depositTotal;
+        private Long withdrawTotal;
+        private List<TransactionDto> transactions;
+
+        public StatementRespDto(Long accountId, Long number, LocalDate from, LocalDate to, Long openingBalance,
+                                List<TransactionDto> transactions) {
+            this.number = number;
+            this.from = from.toString();
+            this.to = to.toString();
+            this.openingBalance = openingBalance;
+            this.transactions = transactions;
+
+            long depositTotal = 0L;
+            long withdrawTotal = 0L;
+            for (TransactionDto transactionDto : transactions) {
+                long signedAmount = transactionDto.signedAmount(accountId);
+                if (signedAmount < 0) {
+                    withdrawTotal -= signedAmount;
+                } else {
+                    depositTotal += signedAmount;
+                }
+            }
+            this.depositTotal = depositTotal;
+            this.withdrawTotal = withdrawTotal;
+            this.closingBalance = transactions.isEmpty()
+                    ? openingBalance
+                    : transactions.get(transactions.size() - 1).getBalance();
+        }
+    }
+
+    // 내보내기(CSV, NDJSON) 한 행 - 계좌 기준이 아니라 거래 자체의 정보 (출금/입금 계좌번호와 각각의 거래 후 잔액)
+    @Getter
+    @JsonPropertyOrder({"id", "gubun", "amount", "withdrawNumber", "depositNumber", "withdrawAccountBalance",
+            "depositAccountBalance", "sender", "receiver", "tel", "createdAt"})
+    public static class TransactionExportDto {
+        private final Long id;
+        private final String gubun;
+        private final Long amount;
+        private final Long withdrawNumber;
+        private final Long depositNumber;
+        private final Long withdrawAccountBalance;
+        private final Long depositAccountBalance;
+        private final String tel;
+        private final String createdAt;
+
+        public TransactionExportDto(Long id, TransactionEnum gubun, Long amount, Long withdrawNumber, Long depositNumber,
+                                    Long withdrawAccountBalance, Long depositAccountBalance, String tel,
+                                    LocalDateTime createdAt) {
+            this.id = id;
+            this.gubun = gubun.name();
+            this.amount = amount;
+            this.withdrawNumber = withdrawNumber;
+            this.depositNumber = depositNumber;
+            this.withdrawAccountBalance = withdrawAccountBalance;
+            this.depositAccountBalance = depositAccountBalance;
+            this.tel = tel;
+            this.createdAt = CustomDateUtil.toStringFormat(createdAt);
+        }
+
+        public String getSender() {
+            return TransactionParty.display(withdrawNumber);
+        }
+
+        public String getReceiver() {
+            return TransactionParty.display(depositNumber);
+        }
+    }
+
+    @Getter
+    @Setter
+    public static class TransactionListRespDto {
+        private List<TransactionDto> transactions;
+        private String nextCursor;  // 다음 페이지가 없으면 null
+
+        public TransactionListRespDto(List<TransactionDto> transactions, int pageSize) {
+            this.transactions = transactions;
+            if (transactions.size() == pageSize) {
+                this.nextCursor = transactions.get(transactions.size() - 1).getCursor().encode();
+            }
+        }
+    }
+
+    // 엔티티가 아닌 DTO로 바로 조회한다. (JPQL new 명령어 - 영속성 컨텍스트에 올라가지 않는다)
+    @Getter
+    @Setter
+    public static class TransactionDto {
+        private Long id;
+        private String gubun;
+        private Long amount;
+        private String tel;
+        @JsonSerialize(using = CustomDateSerializer.class)
+        private LocalDateTime createdAt;
+        private Long balance;   // 조회한 계좌 기준 거래 후 잔액
+
+        @JsonIgnore
+        private TransactionCursor cursor;
+        @JsonIgnore
+        private Long withdrawAccountId;
+        @JsonIgnore
+        private Long withdrawNumber;    // 보내는 쪽 (ATM이면 null)
+        @JsonIgnore
+        private Long depositNumber;     // 받는 쪽 (ATM이면 null)
+        @JsonIgnore
+        private Long withdrawAccountBalance;
+        @JsonIgnore
+        private Long depositAccountBalance;
+
+        public TransactionDto(Long id, TransactionEnum gubun, Long amount, String tel, LocalDateTime createdAt,
+                              Long withdrawAccountId, Long withdrawNumber, Long depositNumber,
+                              Long withdrawAccountBalance, Long depositAccountBalance) {
+            this.id = id;
+            this.gubun = gubun.getValue();
+            this.amount = amount;
+            this.tel = tel;
+            this.createdAt = createdAt;
+            this.cursor = new TransactionCursor(createdAt, id);
+            this.withdrawAccountId = withdrawAccountId;
+            this.withdrawNumber = withdrawNumber;
+            this.depositNumber = depositNumber;
+            this.withdrawAccountBalance = withdrawAccountBalance;
+            this.depositAccountBalance = depositAccountBalance;
+        }
+
+        // 오프셋 페이징 (엔티티로 조회 - 출금계좌, 입금계좌는 페치조인되어 있다)
+        public static TransactionDto of(Transaction transaction) {
+            Account withdrawAccount = transaction.getWithdrawAccount();
+            Account depositAccount = transaction.getDepositAccount();
+            return new TransactionDto(transaction.getId(), transaction.getGubun(), transaction.getAmount(),
+                    transaction.getTel(), transaction.getCreatedAt(),
+                    withdrawAccount == null ? null : withdrawAccount.getId(),
+                    withdrawAccount == null ? null : withdrawAccount.getNumber(),
+                    depositAccount == null ? null : depositAccount.getNumber(),
+                    transaction.getWithdrawAccountBalance(), transaction.getDepositAccountBalance());
+        }
+
+        // 보내는 쪽, 받는 쪽 문자열은 응답을 직렬화할 때 만든다.
+        public String getSender() {
+            return TransactionParty.display(withdrawNumber);
+        }
+
+        public String getReceiver() {
+            return TransactionParty.display(depositNumber);
+        }
+
+        // 조회한 계좌 기준 금액 (출금이면 음수)
+        public long signedAmount(Long accountId) {
+            return accountId.equals(withdrawAccountId) ? -amount : amount;
+        }
+
+        // 이체는 출금계좌와 입금계좌가 모두 존재하므로 조회한 계좌가 어느쪽인지에 따라 잔액이 달라진다.
+        public void applyBalance(Long accountId) {
+            if (accountId.equals(withdrawAccountId)) {
+                this.balance = withdrawAccountBalance;
+            } else {
+                this.balance = depositAccountBalance;
+            }
+        }
+    }
+}
@@ -1,13 +1,13 @@
 package shop.mtcoding.bank.dto.user;
 
-import javax.validation.constraints.NotEmpty;
-import javax.validation.constraints.Pattern;
-import javax.validation.constraints.Size;
+import java.util.regex.Pattern;
 import lombok.Getter;
 import lombok.Setter;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import shop.mtcoding.bank.domain.user.User;
 import shop.mtcoding.bank.domain.user.UserEnum;
+import shop.mtcoding.bank.handler.validation.Validatable;
+import shop.mtcoding.bank.handler.validation.ValidationErrors;
 
 public class UserReqDto {
 
@@ -20,22 +20,32 @@ public class UserReqDto {
 
     @Getter
     @Setter
-    public static class JoinReqDto {
-        @NotEmpty   // null이거나, 공백일 수 없다. 영문, 숫자, 길이 최소 2~20자 이내
-        @Pattern(regexp = "^[a-zA-Z0-9]{2,20}$", message = "영문/숫자 2~20자 이내로 작성해주세요")
-        private String username;
-
-        @NotEmpty   // 길이 4~20
-        @Size(min = 4, max = 20)
-        private String password;
-
-        @NotEmpty   // 이메일 형식
-        @Pattern(regexp = "^[a-zA-Z0-9]{2,9}@[a-zA-Z0-9]{2,6}\\.[a-zA-Z]{2,3}$", message = "이메일 형식으로 작성해주세요")
-        private String email;
-
-        @NotEmpty   // 영어, 한글 1~20
-        @Pattern(regexp = "^[a-zA-Z가-힣]{1,20}$", message = "한글/영문 1~20자 이내로 작성해주세요")
-        private String fullname;
+    public static class JoinReqDto implements Validatable {
+        private static final Pattern USERNAME = Pattern.compile("^[a-zA-Z0-9]{2,20}$");
+        private static final Pattern EMAIL = Pattern.compile("^[a-zA-Z0-9]{2,9}@[a-zA-Z0-9]{2,6}\\.[a-zA-Z]{2,3}$");
+        private static final Pattern FULLNAME = Pattern.compile("^[a-zA-Z가-힣]{1,20}$");
+
+        private String username;    // 영문, 숫자, 길이 최소 2~20자 이내
+        private String password;    // 길이 4~20
+        private String email;       // 이메일 형식
+        private String fullname;    // 영어, 한글 1~20
+
+        // 모두 null이거나, 공백일 수 없다.
+        @Override
+        public void validate(ValidationErrors errors) {
+            if (errors.notEmpty("username", username)) {
+                errors.matches("username", username, USERNAME, "영문/숫자 2~20자 이내로 작성해주세요");
+            }
+            if (errors.notEmpty("password", password)) {
+                errors.size("password", password, 4, 20);
+            }
+            if (errors.notEmpty("email", email)) {
+                errors.matches("email", email, EMAIL, "이메일 형식으로 작성해주세요");
+            }
+            if (errors.notEmpty("fullname", fullname)) {
+                errors.matches("fullname", fullname, FULLNAME, "한글/영문 1~20자 이내로 작성해주세요");
+            }
+        }
 
         public User toEntity(BCryptPasswordEncoder passwordEncoder) {
             return User.builder()
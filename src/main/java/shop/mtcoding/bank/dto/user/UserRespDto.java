@@ -1,10 +1,12 @@
 package shop.mtcoding.bank.dto.user;
 
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import java.time.LocalDateTime;
 import lombok.Getter;
 import lombok.Setter;
 import lombok.ToString;
 import shop.mtcoding.bank.domain.user.User;
-import shop.mtcoding.bank.util.CustomDateUtil;
+import shop.mtcoding.bank.util.CustomDateSerializer;
 
 public class UserRespDto {
 
@@ -13,12 +15,13 @@ public class UserRespDto {
     public static class LoginRespDto {
         private Long id;
         private String username;
-        private String createdAt;
+        @JsonSerialize(using = CustomDateSerializer.class)
+        private LocalDateTime createdAt;
 
         public LoginRespDto(User user) {
             this.id = user.getId();
             this.username = user.getUsername();
-            this.createdAt = CustomDateUtil.toStringFormat(user.getCreatedAt());
+            this.createdAt = user.getCreatedAt();
         }
     }
 
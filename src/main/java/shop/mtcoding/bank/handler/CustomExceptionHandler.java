@@ -1,5 +1,7 @@
 package shop.mtcoding.bank.handler;
 
+import com.auth0.jwt.exceptions.JWTVerificationException;
+import java.util.concurrent.RejectedExecutionException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.http.HttpStatus;
@@ -8,7 +10,9 @@ import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 import shop.mtcoding.bank.dto.ResponseDto;
 import shop.mtcoding.bank.handler.ex.CustomApiException;
+import shop.mtcoding.bank.handler.ex.CustomConflictException;
 import shop.mtcoding.bank.handler.ex.CustomForbiddenException;
+import shop.mtcoding.bank.handler.ex.CustomUnprocessableEntityException;
 import shop.mtcoding.bank.handler.ex.CustomValidationException;
 
 @RestControllerAdvice
@@ -32,4 +36,31 @@ public class CustomExceptionHandler {
         log.error(e.getMessage());
         return new ResponseEntity<>(new ResponseDto<>(-1, e.getMessage(), null), HttpStatus.FORBIDDEN);
     }
+
+    // 리플래시 토큰 만료, 위조, 재사용
+    @ExceptionHandler(JWTVerificationException.class)
+    public ResponseEntity<?> jwtVerificationException(JWTVerificationException e) {
+        log.error(e.getMessage());
+        return new ResponseEntity<>(new ResponseDto<>(-1, "토큰이 유효하지 않습니다", null), HttpStatus.UNAUTHORIZED);
+    }
+
+    @ExceptionHandler(CustomConflictException.class)
+    public ResponseEntity<?> customConflictException(CustomConflictException e) {
+        log.error(e.getMessage());
+        return new ResponseEntity<>(new ResponseDto<>(-1, e.getMessage(), null), HttpStatus.CONFLICT);
+    }
+
+    // 같은 Idempotency-Key로 다른 요청 바디를 보냄
+    @ExceptionHandler(CustomUnprocessableEntityException.class)
+    public ResponseEntity<?> customUnprocessableEntityException(CustomUnprocessableEntityException e) {
+        log.error(e.getMessage());
+        return new ResponseEntity<>(new ResponseDto<>(-1, e.getMessage(), null), HttpStatus.UNPROCESSABLE_ENTITY);
+    }
+
+    // 비동기 모드에서 AccountExecutor의 대기열이 가득 참, 멱등키 저장소가 가득 참
+    @ExceptionHandler(RejectedExecutionException.class)
+    public ResponseEntity<?> rejectedExecutionException(RejectedExecutionException e) {
+        log.error(e.getMessage());
+        return new ResponseEntity<>(new ResponseDto<>(-1, "요청이 많아 잠시 후 다시 시도해주세요", null), HttpStatus.SERVICE_UNAVAILABLE);
+    }
 }
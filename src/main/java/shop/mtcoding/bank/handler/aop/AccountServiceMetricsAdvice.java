@@ -0,0 +1,53 @@
+package shop.mtcoding.bank.handler.aop;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.annotation.Pointcut;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import shop.mtcoding.bank.handler.ex.CustomApiException;
+
+/*
+ * AccountService의 모든 public 메서드 실행시간과 결과를 기록한다.
+ * - bank.account.operation (timer) : method, outcome(success/fail/error), reason
+ * - reason : CustomApiException의 메시지 (메시지가 모두 고정된 문자열이라 태그 값의 개수가 늘어나지 않는다)
+ * 트랜잭션 커밋(flush)까지 포함해서 재야 하므로 @Transactional 프록시보다 바깥에서 실행한다.
+ */
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@RequiredArgsConstructor
+@Component
+@Aspect
+public class AccountServiceMetricsAdvice {
+    public static final String METRIC_NAME = "bank.account.operation";
+
+    private final MeterRegistry meterRegistry;
+
+    @Pointcut("execution(public * shop.mtcoding.bank.service.AccountService.*(..))")
+    public void accountService() {}
+
+    @Around("accountService()")
+    public Object metricsAdvice(ProceedingJoinPoint proceedingJoinPoint) throws Throwable {
+        String method = proceedingJoinPoint.getSignature().getName();
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "success";
+        String reason = "none";
+        try {
+            return proceedingJoinPoint.proceed();
+        } catch (CustomApiException e) {
+            outcome = "fail";
+            reason = e.getMessage();
+            throw e;
+        } catch (Throwable e) {
+            outcome = "error";
+            reason = e.getClass().getSimpleName();
+            throw e;
+        } finally {
+            sample.stop(meterRegistry.timer(METRIC_NAME, "method", method, "outcome", outcome, "reason", reason));
+        }
+    }
+}
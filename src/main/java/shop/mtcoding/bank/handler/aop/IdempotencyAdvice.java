@@ -0,0 +1,179 @@
+package shop.mtcoding.bank.handler.aop;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import java.lang.annotation.Annotation;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import javax.servlet.http.HttpServletRequest;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.annotation.Pointcut;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import shop.mtcoding.bank.config.auth.LoginUser;
+import shop.mtcoding.bank.handler.ex.CustomApiException;
+import shop.mtcoding.bank.handler.ex.CustomConflictException;
+import shop.mtcoding.bank.handler.ex.CustomUnprocessableEntityException;
+import shop.mtcoding.bank.util.CustomJsonUtil;
+import shop.mtcoding.bank.util.LocalCache;
+
+/*
+ * 모바일 클라이언트는 타임아웃이 나면 같은 요청을 다시 보낸다. (입금, 출금, 이체가 두번 실행되면 안된다)
+ * - 키 : 로그인 유저 id + 요청 주소 + Idempotency-Key 헤더
+ *   로그인하지 않은 요청은 요청 바디의 IdempotencyScope(예: 입금계좌 + 전화번호)를 유저 id 대신 쓴다. (없으면 적용하지 않는다)
+ * - 처음 요청 : 요청 바디의 해시와 함께 처리중으로 표시하고 실행 -> 성공(2xx)하면 응답을 저장, 실패하면 지워서 다시 시도할 수 있게 한다.
+ * - 같은 키로 다시 요청 : 요청 바디가 다르면 422, 처리중이면 409, 끝났으면 저장된 응답을 DB 조회 없이 그대로 돌려준다. (Idempotent-Replayed: true)
+ * 서버 메모리에 저장하므로 서버가 여러대라면 같은 서버로 요청이 가야 한다.
+ * 저장소가 가득 차도 24시간이 지나지 않은 기록은 지우지 않는다. (지우면 재시도한 입금, 출금, 이체가 다시 실행된다)
+ * 만료된 기록이 없으면 새 키의 요청은 실행하지 않고 503으로 거절한다.
+ */
+@Component
+@Aspect
+public class IdempotencyAdvice {
+    public static final String HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+
+    private static final int MAX_KEY_LENGTH = 64;
+    private static final int CACHE_MAX_SIZE = 100_000;
+    private static final long CACHE_TTL = 1000L * 60 * 60 * 24; // 24시간
+
+    private final LocalCache<String, IdempotencyRecord> cache = new LocalCache<>(CACHE_MAX_SIZE, CACHE_TTL, false);
+
+    @Pointcut("@annotation(shop.mtcoding.bank.handler.aop.Idempotent)")
+    public void idempotent() {}
+
+    @Around("idempotent()")
+    public Object idempotencyAdvice(ProceedingJoinPoint proceedingJoinPoint) throws Throwable {
+        HttpServletRequest request = ((ServletRequestAttributes) RequestContextHolder.currentRequestAttributes()).getRequest();
+        String idempotencyKey = request.getHeader(HEADER);
+        if (idempotencyKey == null || idempotencyKey.isBlank()) {
+            return proceedingJoinPoint.proceed();
+        }
+        if (idempotencyKey.length() > MAX_KEY_LENGTH) {
+            throw new CustomApiException("Idempotency-Key는 " + MAX_KEY_LENGTH + "자 이하여야 합니다");
+        }
+
+        Object requestBody = requestBody(proceedingJoinPoint);
+        String owner = owner(requestBody);
+        if (owner == null) {
+            return proceedingJoinPoint.proceed();
+        }
+
+        String cacheKey = owner + ":" + request.getRequestURI() + ":" + idempotencyKey;
+        IdempotencyRecord record = new IdempotencyRecord(hash(requestBody));
+        IdempotencyRecord previous;
+        try {
+            previous = cache.putIfAbsent(cacheKey, record);
+        } catch (LocalCache.FullException e) {
+            throw new RejectedExecutionException("멱등키 저장소가 가득 찼습니다");  // CustomExceptionHandler -> 503
+        }
+        if (previous != null) {
+            return replay(previous, record.bodyHash, proceedingJoinPoint);
+        }
+
+        Object result;
+        try {
+            result = proceedingJoinPoint.proceed();
+        } catch (Throwable e) {
+            cache.evict(cacheKey);
+            throw e;
+        }
+
+        // 비동기 모드(AsyncAccountController)는 응답이 나중에 완성된다.
+        if (result instanceof CompletableFuture) {
+            return ((CompletableFuture<?>) result).whenComplete((response, e) -> complete(cacheKey, record, response, e));
+        }
+        complete(cacheKey, record, result, null);
+        return result;
+    }
+
+    public LocalCache<String, IdempotencyRecord> getCache() {
+        return cache;
+    }
+
+    private void complete(String cacheKey, IdempotencyRecord record, Object response, Throwable e) {
+        if (e == null && response instanceof ResponseEntity && ((ResponseEntity<?>) response).getStatusCode().is2xxSuccessful()) {
+            record.response = (ResponseEntity<?>) response;
+        } else {
+            cache.evict(cacheKey);
+        }
+    }
+
+    private Object replay(IdempotencyRecord previous, String bodyHash, ProceedingJoinPoint proceedingJoinPoint) {
+        if (!previous.bodyHash.equals(bodyHash)) {
+            throw new CustomUnprocessableEntityException("같은 Idempotency-Key로 다른 요청을 보낼 수 없습니다");
+        }
+        ResponseEntity<?> response = previous.response;
+        if (response == null) {
+            throw new CustomConflictException("같은 Idempotency-Key의 요청이 처리중입니다");
+        }
+        ResponseEntity<?> replayed = ResponseEntity.status(response.getStatusCode())
+                .headers(response.getHeaders())
+                .header(REPLAYED_HEADER, "true")
+                .body(response.getBody());
+        Class<?> returnType = ((MethodSignature) proceedingJoinPoint.getSignature()).getReturnType();
+        if (CompletableFuture.class.isAssignableFrom(returnType)) {
+            return CompletableFuture.completedFuture(replayed);
+        }
+        return replayed;
+    }
+
+    // null이면 키를 나눌 수 없는 익명 요청
+    private String owner(Object requestBody) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof LoginUser) {
+            return String.valueOf(((LoginUser) authentication.getPrincipal()).getId());
+        }
+        if (requestBody instanceof IdempotencyScope) {
+            return "anonymous:" + ((IdempotencyScope) requestBody).idempotencyScope();
+        }
+        return null;
+    }
+
+    private Object requestBody(ProceedingJoinPoint proceedingJoinPoint) {
+        Annotation[][] parameterAnnotations = ((MethodSignature) proceedingJoinPoint.getSignature()).getMethod()
+                .getParameterAnnotations();
+        Object[] args = proceedingJoinPoint.getArgs();
+        for (int i = 0; i < args.length; i++) {
+            for (Annotation annotation : parameterAnnotations[i]) {
+                if (annotation instanceof RequestBody) {
+                    return args[i];
+                }
+            }
+        }
+        return null;
+    }
+
+    // 요청 바디를 JSON으로 직렬화한 SHA-256 (바디가 없으면 빈 문자열)
+    private String hash(Object requestBody) throws JsonProcessingException {
+        if (requestBody == null) {
+            return "";
+        }
+        byte[] json = CustomJsonUtil.writerFor(requestBody.getClass()).writeValueAsBytes(requestBody);
+        try {
+            return Base64.getEncoder().encodeToString(MessageDigest.getInstance("SHA-256").digest(json));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);    // 모든 JVM은 SHA-256을 지원해야 한다.
+        }
+    }
+
+    // response가 null이면 처리중
+    public static class IdempotencyRecord {
+        private final String bodyHash;
+        private volatile ResponseEntity<?> response;
+
+        private IdempotencyRecord(String bodyHash) {
+            this.bodyHash = bodyHash;
+        }
+    }
+}
@@ -0,0 +1,10 @@
+package shop.mtcoding.bank.handler.aop;
+
+/*
+ * 로그인하지 않은 요청의 Idempotency-Key 범위 (IdempotencyAdvice)
+ * 익명 요청끼리 키를 공유하지 않도록 요청을 보낸 쪽이 알고 있는 값으로 범위를 정한다.
+ * 요청 바디(@RequestBody)가 구현하지 않으면 익명 요청은 Idempotency-Key를 적용하지 않는다.
+ */
+public interface IdempotencyScope {
+    String idempotencyScope();
+}
@@ -0,0 +1,15 @@
+package shop.mtcoding.bank.handler.aop;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/*
+ * Idempotency-Key 헤더가 있으면 같은 키로 다시 요청했을때 서비스를 실행하지 않고 처음 응답을 그대로 돌려준다.
+ * (IdempotencyAdvice)
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface Idempotent {
+}
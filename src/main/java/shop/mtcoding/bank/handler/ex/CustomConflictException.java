@@ -0,0 +1,7 @@
+package shop.mtcoding.bank.handler.ex;
+
+public class CustomConflictException extends RuntimeException {
+    public CustomConflictException(String message) {
+        super(message);
+    }
+}
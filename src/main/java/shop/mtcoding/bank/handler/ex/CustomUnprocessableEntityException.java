@@ -0,0 +1,7 @@
+package shop.mtcoding.bank.handler.ex;
+
+public class CustomUnprocessableEntityException extends RuntimeException {
+    public CustomUnprocessableEntityException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,7 @@
+package shop.mtcoding.bank.handler.validation;
+
+// 요청 바디 DTO의 유효성검사 - 바디를 읽은 직후 ValidationBodyAdvice가 한번 호출한다.
+public interface Validatable {
+
+    void validate(ValidationErrors errors);
+}
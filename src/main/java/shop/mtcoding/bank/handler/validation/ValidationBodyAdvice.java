@@ -0,0 +1,38 @@
+package shop.mtcoding.bank.handler.validation;
+
+import java.lang.reflect.Type;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.RequestBodyAdviceAdapter;
+import shop.mtcoding.bank.handler.ex.CustomValidationException;
+
+/*
+ * @RequestBody를 읽은 직후(인자 변환 단계)에 한번 유효성검사를 한다.
+ * 컨트롤러마다 프록시를 씌우고 BindingResult를 찾는 AOP 대신, 실패하면 바로 CustomValidationException을 던진다.
+ */
+@ControllerAdvice
+public class ValidationBodyAdvice extends RequestBodyAdviceAdapter {
+
+    @Override
+    public boolean supports(MethodParameter methodParameter, Type targetType,
+                            Class<? extends HttpMessageConverter<?>> converterType) {
+        return Validatable.class.isAssignableFrom(methodParameter.getParameterType());
+    }
+
+    @Override
+    public Object afterBodyRead(Object body, HttpInputMessage inputMessage, MethodParameter parameter, Type targetType,
+                                Class<? extends HttpMessageConverter<?>> converterType) {
+        validate((Validatable) body);
+        return body;
+    }
+
+    public static void validate(Validatable body) {
+        ValidationErrors errors = new ValidationErrors();
+        body.validate(errors);
+        if (errors.hasErrors()) {
+            throw new CustomValidationException("유효성검사 실패", errors.getErrorMap());
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package shop.mtcoding.bank.handler.validation;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/*
+ * 필드별 검사 결과를 모은다. (필드마다 처음 실패한 규칙의 메시지만 남긴다)
+ * - 정규식은 DTO에 static final Pattern으로 미리 컴파일해두고 넘겨받는다.
+ * - 실패가 없으면 Map을 만들지 않는다.
+ */
+public class ValidationErrors {
+    private static final String NOT_NULL = "널이어서는 안됩니다";
+    private static final String NOT_EMPTY = "비어 있을 수 없습니다";
+
+    private final String prefix;    // 리스트 안의 DTO면 "transfers[0]."
+    private Map<String, String> errorMap;
+
+    public ValidationErrors() {
+        this("", null);
+    }
+
+    private ValidationErrors(String prefix, Map<String, String> errorMap) {
+        this.prefix = prefix;
+        this.errorMap = errorMap;
+    }
+
+    public boolean notNull(String field, Object value) {
+        if (value == null) {
+            return reject(field, NOT_NULL);
+        }
+        return true;
+    }
+
+    public boolean notEmpty(String field, String value) {
+        if (value == null || value.isEmpty()) {
+            return reject(field, NOT_EMPTY);
+        }
+        return true;
+    }
+
+    public boolean notEmpty(String field, Collection<?> value) {
+        if (value == null || value.isEmpty()) {
+            return reject(field, NOT_EMPTY);
+        }
+        return true;
+    }
+
+    // 정수부 자릿수 제한 (@Digits(integer = n)와 같다) - null이면 통과
+    public boolean digits(String field, Long value, int integer) {
+        if (value != null && Long.toString(Math.abs(value)).length() > integer) {
+            return reject(field, "숫자 값이 " + integer + "자리를 초과할 수 없습니다");
+        }
+        return true;
+    }
+
+    // 문자열 길이 제한 - null이면 통과
+    public boolean size(String field, String value, int min, int max) {
+        if (value != null && (value.length() < min || value.length() > max)) {
+            return reject(field, "크기가 " + min + "에서 " + max + " 사이여야 합니다");
+        }
+        return true;
+    }
+
+    public boolean size(String field, Collection<?> value, int max) {
+        if (value != null && value.size() > max) {
+            return reject(field, "크기가 0에서 " + max + " 사이여야 합니다");
+        }
+        return true;
+    }
+
+    // 정규식 - null이면 통과
+    public boolean matches(String field, String value, Pattern pattern, String message) {
+        if (value != null && !pattern.matcher(value).matches()) {
+            return reject(field, message);
+        }
+        return true;
+    }
+
+    public boolean matches(String field, String value, Pattern pattern) {
+        return matches(field, value, pattern, "\"" + pattern.pattern() + "\"와 일치해야 합니다");
+    }
+
+    // 리스트 안의 DTO를 검사한다. (필드 이름 앞에 "field[index]."가 붙는다)
+    public void nested(String field, int index, Validatable target) {
+        ValidationErrors nestedErrors = new ValidationErrors(prefix + field + "[" + index + "].", errorMap);
+        target.validate(nestedErrors);
+        this.errorMap = nestedErrors.errorMap;
+    }
+
+    public boolean hasErrors() {
+        return errorMap != null;
+    }
+
+    public Map<String, String> getErrorMap() {
+        return errorMap;
+    }
+
+    private boolean reject(String field, String message) {
+        if (errorMap == null) {
+            errorMap = new LinkedHashMap<>();
+        }
+        errorMap.putIfAbsent(prefix + field, message);
+        return false;
+    }
+}
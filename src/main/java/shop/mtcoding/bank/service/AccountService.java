@@ -1,12 +1,21 @@
 package shop.mtcoding.bank.service;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
-import java.util.Optional;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.TreeSet;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import shop.mtcoding.bank.domain.account.Account;
+import shop.mtcoding.bank.domain.account.AccountMeta;
+import shop.mtcoding.bank.domain.account.AccountMetaCache;
 import shop.mtcoding.bank.domain.account.AccountRepository;
+import shop.mtcoding.bank.domain.account.AccountSnapshotRepository;
 import shop.mtcoding.bank.domain.transaction.Transaction;
 import shop.mtcoding.bank.domain.transaction.TransactionEnum;
 import shop.mtcoding.bank.domain.transaction.TransactionRepository;
@@ -14,14 +23,19 @@ import shop.mtcoding.bank.domain.user.User;
 import shop.mtcoding.bank.domain.user.UserRepository;
 import shop.mtcoding.bank.dto.account.AccountReqDto.AccountDepositReqDto;
 import shop.mtcoding.bank.dto.account.AccountReqDto.AccountSaveReqDto;
+import shop.mtcoding.bank.dto.account.AccountReqDto.AccountTransferBatchReqDto;
 import shop.mtcoding.bank.dto.account.AccountReqDto.AccountTransferReqDto;
 import shop.mtcoding.bank.dto.account.AccountReqDto.AccountWithdrawReqDto;
 import shop.mtcoding.bank.dto.account.AccountRespDto.AccountDepositRespDto;
+import shop.mtcoding.bank.dto.account.AccountRespDto.AccountDepositResultDto;
 import shop.mtcoding.bank.dto.account.AccountRespDto.AccountListRespDto;
 import shop.mtcoding.bank.dto.account.AccountRespDto.AccountSaveRespDto;
+import shop.mtcoding.bank.dto.account.AccountRespDto.AccountTransferBatchRespDto;
+import shop.mtcoding.bank.dto.account.AccountRespDto.AccountTransferBatchRespDto.TransferResultDto;
 import shop.mtcoding.bank.dto.account.AccountRespDto.AccountTransferRespDto;
 import shop.mtcoding.bank.dto.account.AccountRespDto.AccountWithdrawRespDto;
 import shop.mtcoding.bank.handler.ex.CustomApiException;
+import shop.mtcoding.bank.service.ledger.LedgerEngine;
 
 @RequiredArgsConstructor
 @Transactional(readOnly = true)
@@ -30,14 +44,21 @@ public class AccountService {
     private final UserRepository userRepository;
     private final AccountRepository accountRepository;
     private final TransactionRepository transactionRepository;
+    private final AccountSnapshotRepository accountSnapshotRepository;
+    private final AccountMetaCache accountMetaCache;
+    private final LedgerEngine ledgerEngine;   // 메모리 원장을 켜면 잔액을 바꾸기 전에 원장과 맞춘다.
 
     public AccountListRespDto 계좌목록보기_유저별(Long userId) {
-        User userPS = userRepository.findById(userId)
-                .orElseThrow(() -> new CustomApiException("유저를 찾을 수 없습니다"));
+        // 유저 이름은 캐시에서, 계좌목록(잔액)은 항상 DB에서
+        String fullname = accountMetaCache.getFullname(userId,
+                id -> userRepository.findById(id).map(User::getFullname).orElse(null));
+        if (fullname == null) {
+            throw new CustomApiException("유저를 찾을 수 없습니다");
+        }
 
         List<Account> accountListPS = accountRepository.findByUser_id(userId);
 
-        return new AccountListRespDto(userPS, accountListPS);
+        return new AccountListRespDto(fullname, accountListPS);
     }
 
     @Transactional
@@ -47,13 +68,16 @@ public class AccountService {
                 .orElseThrow(() -> new CustomApiException("유저를 찾을 수 없습니다"));
 
         // 해당 계좌가 DB에 있는 중복여부를 체크
-        Optional<Account> accountOP = accountRepository.findByNumber(accountSaveReqDto.getNumber());
-        if (accountOP.isPresent()) {
+        if (accountRepository.existsByNumber(accountSaveReqDto.getNumber())) {
             throw new CustomApiException("해당 계좌가 이미 존재합니다");
         }
 
         // 계좌 저장
         Account accountPS = accountRepository.save(accountSaveReqDto.toEntity(userPS));
+        accountMetaCache.evict(accountPS.getNumber());
+
+        // 첫 스냅샷 (명세서의 기초잔액)
+        accountSnapshotRepository.upsert(accountPS.getId(), snapshotDate(accountPS.getCreatedAt()), accountPS.getBalance());
 
         // DTO를 응답
         return new AccountSaveRespDto(accountPS);
@@ -69,7 +93,9 @@ public class AccountService {
         accountPS.checkOwner(userId);
 
         // 3. 계좌 삭제
+        ledgerEngine.syncForUpdate(List.of(number));
         accountRepository.deleteById(accountPS.getId());
+        accountMetaCache.evict(number);
     }
 
     // 인증 필요 x
@@ -80,29 +106,81 @@ public class AccountService {
             throw new CustomApiException("0원 이하의 금액을 입금할 수 없습니다");
         }
 
-        // 입금계좌 확인
-        Account depositAccountPS = accountRepository.findByNumber(accountDepositReqDto.getNumber())
+        // 입금계좌 확인 (비관적 락)
+        ledgerEngine.syncForUpdate(List.of(accountDepositReqDto.getNumber()));
+        Account depositAccountPS = accountRepository.findByNumberForUpdate(accountDepositReqDto.getNumber())
                 .orElseThrow(() -> new CustomApiException("계좌를 찾을 수 없습니다"));
 
-        // 입금 (해당 계좌 balance 조정 - update문 - 더티체킹)
+        // 입금 (해당 계좌 balance 조정 - update문 - 더티체킹) + 거래내역 남기기
+        Transaction transaction = deposit(accountDepositReqDto, depositAccountPS);
+
+        Transaction transactionPS = transactionRepository.save(transaction);
+        recordSnapshots(List.of(transactionPS));
+
+        return new AccountDepositRespDto(depositAccountPS, transactionPS);
+    }
+
+    // 그룹 커밋 (LedgerWriter가 모아온 여러 요청의 입금을 트랜잭션 하나로 처리한다)
+    // 1. 관련된 계좌를 IN 쿼리 한번으로 조회하면서 계좌번호 순으로 락을 건다.
+    // 2. 요청 순서대로 입금한다. 검증에 실패한 건은 잔액을 바꾸기 전에 실패로 기록하고 다음 건으로 넘어간다.
+    // 3. 거래내역은 모아서 한번에 저장한다. (insert 배치) -> 커밋(fsync)은 그룹 전체에 한번
+    @Transactional
+    public List<AccountDepositResultDto> 계좌입금_그룹(List<AccountDepositReqDto> accountDepositReqDtos) {
+        TreeSet<Long> numbers = new TreeSet<>();
+        for (AccountDepositReqDto accountDepositReqDto : accountDepositReqDtos) {
+            numbers.add(accountDepositReqDto.getNumber());
+        }
+        ledgerEngine.syncForUpdate(numbers);
+        Map<Long, Account> accountMap = new HashMap<>();
+        for (Account accountPS : accountRepository.findAllByNumberInForUpdate(numbers)) {
+            accountMap.put(accountPS.getNumber(), accountPS);
+        }
+
+        // 응답의 거래내역 id, createdAt은 저장한 뒤에 채워지므로 응답은 저장 후에 만든다.
+        Account[] depositAccounts = new Account[accountDepositReqDtos.size()];
+        Transaction[] depositTransactions = new Transaction[accountDepositReqDtos.size()];
+        List<Transaction> transactions = new ArrayList<>(accountDepositReqDtos.size());
+        String[] failMessages = new String[accountDepositReqDtos.size()];
+        for (int i = 0; i < accountDepositReqDtos.size(); i++) {
+            AccountDepositReqDto accountDepositReqDto = accountDepositReqDtos.get(i);
+            if (accountDepositReqDto.getAmount() <= 0L) {
+                failMessages[i] = "0원 이하의 금액을 입금할 수 없습니다";
+            } else if (!accountMap.containsKey(accountDepositReqDto.getNumber())) {
+                failMessages[i] = "계좌를 찾을 수 없습니다";
+            } else {
+                depositAccounts[i] = accountMap.get(accountDepositReqDto.getNumber());
+                depositTransactions[i] = deposit(accountDepositReqDto, depositAccounts[i]);
+                transactions.add(depositTransactions[i]);
+            }
+        }
+
+        transactionRepository.saveAll(transactions);
+        recordSnapshots(transactions);
+
+        List<AccountDepositResultDto> results = new ArrayList<>(accountDepositReqDtos.size());
+        for (int i = 0; i < accountDepositReqDtos.size(); i++) {
+            if (failMessages[i] == null) {
+                results.add(AccountDepositResultDto.success(depositAccounts[i], depositTransactions[i]));
+            } else {
+                results.add(AccountDepositResultDto.fail(failMessages[i]));
+            }
+        }
+        return results;
+    }
+
+    // 입금 한건 (잔액 조정 + 거래내역 생성, 저장은 호출한 쪽에서)
+    private Transaction deposit(AccountDepositReqDto accountDepositReqDto, Account depositAccountPS) {
         depositAccountPS.deposit(accountDepositReqDto.getAmount());
 
-        // 거래내역 남기기
-        Transaction transaction = Transaction.builder()
+        return Transaction.builder()
                 .depositAccount(depositAccountPS)   // 입금계좌
                 .withdrawAccount(null)
                 .depositAccountBalance(depositAccountPS.getBalance())   // 입금계좌 잔액
                 .withdrawAccountBalance(null)
                 .amount(accountDepositReqDto.getAmount())
                 .gubun(TransactionEnum.DEPOSIT)
-                .sender("ATM")
-                .receiver(depositAccountPS.getNumber() + "")
                 .tel(accountDepositReqDto.getTel())
                 .build();
-
-        Transaction transactionPS = transactionRepository.save(transaction);
-
-        return new AccountDepositRespDto(depositAccountPS, transactionPS);
     }
 
     @Transactional
@@ -112,8 +190,14 @@ public class AccountService {
             throw new CustomApiException("0원 이하의 금액을 입금할 수 없습니다");
         }
 
-        // 출금계좌 확인
-        Account withdrawAccountPS = accountRepository.findByNumber(accountWithdrawReqDto.getNumber())
+        // 출금계좌 소유자 확인 (캐시) - 다른 사람의 요청은 락을 걸기 전에 거절한다.
+        if (findOwnedAccountMeta(accountWithdrawReqDto.getNumber(), userId) == null) {
+            throw new CustomApiException("계좌를 찾을 수 없습니다");
+        }
+
+        // 출금계좌 확인 (비관적 락)
+        ledgerEngine.syncForUpdate(List.of(accountWithdrawReqDto.getNumber()));
+        Account withdrawAccountPS = accountRepository.findByNumberForUpdate(accountWithdrawReqDto.getNumber())
                 .orElseThrow(() -> new CustomApiException("계좌를 찾을 수 없습니다"));
 
         // 출금 소유자 확인 (로그인한 사람과 동일한지)
@@ -136,11 +220,10 @@ public class AccountService {
                 .depositAccountBalance(null)
                 .amount(accountWithdrawReqDto.getAmount())
                 .gubun(TransactionEnum.WITHDRAW)
-                .sender(accountWithdrawReqDto.getNumber() + "")
-                .receiver("ATM")
                 .build();
 
         Transaction transactionPS = transactionRepository.save(transaction);
+        recordSnapshots(List.of(transactionPS));
 
         // DTO 응답
         return new AccountWithdrawRespDto(withdrawAccountPS, transactionPS);
@@ -158,13 +241,23 @@ public class AccountService {
             throw new CustomApiException("0원 이하의 금액을 입금할 수 없습니다");
         }
 
-        // 출금계좌 확인
-        Account withdrawAccountPS = accountRepository.findByNumber(accountTransferReqDto.getWithdrawNumber())
-                .orElseThrow(() -> new CustomApiException("출금계좌를 찾을 수 없습니다"));
+        // 출금계좌 소유자 확인 (캐시) - 다른 사람의 요청은 락을 걸기 전에 거절한다.
+        if (findOwnedAccountMeta(accountTransferReqDto.getWithdrawNumber(), userId) == null) {
+            throw new CustomApiException("출금계좌를 찾을 수 없습니다");
+        }
 
-        // 입금계좌 확인
-        Account depositAccountPS = accountRepository.findByNumber(accountTransferReqDto.getDepositNumber())
-                .orElseThrow(() -> new CustomApiException("입금계좌를 찾을 수 없습니다"));
+        // 출금계좌, 입금계좌 확인 (비관적 락)
+        // 데드락 방지 - 이체 방향과 상관없이 항상 계좌번호가 작은 계좌부터 락을 건다.
+        ledgerEngine.syncForUpdate(List.of(accountTransferReqDto.getWithdrawNumber(), accountTransferReqDto.getDepositNumber()));
+        Account withdrawAccountPS;
+        Account depositAccountPS;
+        if (accountTransferReqDto.getWithdrawNumber() < accountTransferReqDto.getDepositNumber()) {
+            withdrawAccountPS = findWithdrawAccountForUpdate(accountTransferReqDto.getWithdrawNumber());
+            depositAccountPS = findDepositAccountForUpdate(accountTransferReqDto.getDepositNumber());
+        } else {
+            depositAccountPS = findDepositAccountForUpdate(accountTransferReqDto.getDepositNumber());
+            withdrawAccountPS = findWithdrawAccountForUpdate(accountTransferReqDto.getWithdrawNumber());
+        }
 
         // 출금 소유자 확인
         withdrawAccountPS.checkOwner(userId);
@@ -187,11 +280,121 @@ public class AccountService {
                 .depositAccountBalance(depositAccountPS.getBalance())
                 .amount(accountTransferReqDto.getAmount())
                 .gubun(TransactionEnum.TRANSFER)
-                .sender(accountTransferReqDto.getWithdrawNumber() + "")
-                .receiver(accountTransferReqDto.getDepositNumber() + "")
                 .build();
         Transaction transactionPS = transactionRepository.save(transaction);
+        recordSnapshots(List.of(transactionPS));
 
         return new AccountTransferRespDto(withdrawAccountPS, transactionPS);
     }
+
+    // 여러건의 이체를 하나의 트랜잭션으로 처리한다. (급여 일괄이체 등)
+    // 1. 관련된 계좌를 IN 쿼리 한번으로 조회하면서 계좌번호 순으로 락을 건다.
+    // 2. 요청 순서대로 이체한다. 검증(소유자, 비밀번호, 잔액)에 실패한 건은 잔액을 바꾸기 전에 실패로 기록하고 다음 건으로 넘어간다.
+    // 3. 거래내역은 모아서 한번에 저장한다. (insert 배치)
+    @Transactional
+    public AccountTransferBatchRespDto 계좌일괄이체(AccountTransferBatchReqDto accountTransferBatchReqDto, Long userId) {
+        List<AccountTransferReqDto> transfers = accountTransferBatchReqDto.getTransfers();
+
+        TreeSet<Long> numbers = new TreeSet<>();
+        for (AccountTransferReqDto transfer : transfers) {
+            numbers.add(transfer.getWithdrawNumber());
+            numbers.add(transfer.getDepositNumber());
+        }
+        ledgerEngine.syncForUpdate(numbers);
+        Map<Long, Account> accountMap = new HashMap<>();
+        for (Account accountPS : accountRepository.findAllByNumberInForUpdate(numbers)) {
+            accountMap.put(accountPS.getNumber(), accountPS);
+        }
+
+        List<TransferResultDto> results = new ArrayList<>(transfers.size());
+        List<Transaction> transactions = new ArrayList<>(transfers.size());
+        for (int i = 0; i < transfers.size(); i++) {
+            AccountTransferReqDto transfer = transfers.get(i);
+            try {
+                Account withdrawAccountPS = accountMap.get(transfer.getWithdrawNumber());
+                Account depositAccountPS = accountMap.get(transfer.getDepositNumber());
+                Transaction transaction = transfer(transfer, withdrawAccountPS, depositAccountPS, userId);
+                transactions.add(transaction);
+                results.add(TransferResultDto.success(i, transfer, withdrawAccountPS, transaction));
+            } catch (CustomApiException e) {
+                results.add(TransferResultDto.fail(i, transfer, e.getMessage()));
+            }
+        }
+
+        transactionRepository.saveAll(transactions);
+        recordSnapshots(transactions);
+
+        return new AccountTransferBatchRespDto(results);
+    }
+
+    // 일괄이체 한건 (잔액을 바꾸기 전에 모든 검증을 끝낸다)
+    private Transaction transfer(AccountTransferReqDto accountTransferReqDto, Account withdrawAccountPS,
+                                 Account depositAccountPS, Long userId) {
+        if (accountTransferReqDto.getWithdrawNumber().equals(accountTransferReqDto.getDepositNumber())) {
+            throw new CustomApiException("입출금계좌가 동일할 수 없습니다");
+        }
+        if (accountTransferReqDto.getAmount() <= 0L) {
+            throw new CustomApiException("0원 이하의 금액을 입금할 수 없습니다");
+        }
+        if (withdrawAccountPS == null) {
+            throw new CustomApiException("출금계좌를 찾을 수 없습니다");
+        }
+        if (depositAccountPS == null) {
+            throw new CustomApiException("입금계좌를 찾을 수 없습니다");
+        }
+
+        withdrawAccountPS.checkOwner(userId);
+        withdrawAccountPS.checkSamePassword(accountTransferReqDto.getWithdrawPassword());
+        withdrawAccountPS.checkBalance(accountTransferReqDto.getAmount());
+
+        withdrawAccountPS.withdraw(accountTransferReqDto.getAmount());
+        depositAccountPS.deposit(accountTransferReqDto.getAmount());
+
+        return Transaction.builder()
+                .withdrawAccount(withdrawAccountPS)
+                .depositAccount(depositAccountPS)
+                .withdrawAccountBalance(withdrawAccountPS.getBalance())
+                .depositAccountBalance(depositAccountPS.getBalance())
+                .amount(accountTransferReqDto.getAmount())
+                .gubun(TransactionEnum.TRANSFER)
+                .build();
+    }
+
+    // 거래 후 잔액으로 계좌별 일별 스냅샷을 갱신한다. 같은 (계좌, 날짜)는 마지막 잔액만 한번 쓴다.
+    private void recordSnapshots(List<Transaction> transactions) {
+        Map<Long, Map<LocalDate, Long>> balances = new TreeMap<>();
+        for (Transaction transaction : transactions) {
+            LocalDate date = snapshotDate(transaction.getCreatedAt());
+            if (transaction.getWithdrawAccount() != null) {
+                balances.computeIfAbsent(transaction.getWithdrawAccount().getId(), id -> new TreeMap<>())
+                        .put(date, transaction.getWithdrawAccountBalance());
+            }
+            if (transaction.getDepositAccount() != null) {
+                balances.computeIfAbsent(transaction.getDepositAccount().getId(), id -> new TreeMap<>())
+                        .put(date, transaction.getDepositAccountBalance());
+            }
+        }
+        balances.forEach((accountId, balanceByDate) -> balanceByDate.forEach((date, balance) ->
+                accountSnapshotRepository.upsert(accountId, date, balance)));
+    }
+
+    // createdAt은 영속화(@PrePersist) 시점에 채워진다. 스냅샷 날짜는 거래내역의 createdAt 날짜와 같아야 한다.
+    private LocalDate snapshotDate(LocalDateTime createdAt) {
+        return createdAt == null ? LocalDate.now() : createdAt.toLocalDate();
+    }
+
+    // 락을 건 뒤에도 checkOwner()로 한번 더 확인한다. (캐시는 빠른 거절용)
+    private AccountMeta findOwnedAccountMeta(Long number, Long userId) {
+        return accountMetaCache.getOwned(number, userId, n -> accountRepository.findMetaByNumber(n).orElse(null));
+    }
+
+    private Account findWithdrawAccountForUpdate(Long number) {
+        return accountRepository.findByNumberForUpdate(number)
+                .orElseThrow(() -> new CustomApiException("출금계좌를 찾을 수 없습니다"));
+    }
+
+    private Account findDepositAccountForUpdate(Long number) {
+        return accountRepository.findByNumberForUpdate(number)
+                .orElseThrow(() -> new CustomApiException("입금계좌를 찾을 수 없습니다"));
+    }
 }
@@ -0,0 +1,216 @@
+package shop.mtcoding.bank.service;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.PessimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.CannotCreateTransactionException;
+import shop.mtcoding.bank.dto.account.AccountReqDto.AccountDepositReqDto;
+import shop.mtcoding.bank.dto.account.AccountRespDto.AccountDepositRespDto;
+import shop.mtcoding.bank.dto.account.AccountRespDto.AccountDepositResultDto;
+import shop.mtcoding.bank.handler.ex.CustomApiException;
+
+/*
+ * 입금 그룹 커밋 (bank.ledger.group-commit.enabled=true 일때만 동작)
+ * 입금은 건마다 트랜잭션을 커밋하면 커밋(fsync) 시간이 대부분을 차지한다.
+ * 요청을 대기열에 넣고, 전용 스레드가 max-delay-ms 동안 또는 max-batch-size개까지 모아서 트랜잭션 하나로 처리한 뒤
+ * 각 요청의 future를 완료한다. (요청마다 최대 max-delay-ms만큼 늦어지는 대신 커밋 횟수가 줄어든다)
+ * - 건별 검증 실패(없는 계좌, 0원) -> 해당 요청만 CustomApiException
+ * - 그룹 트랜잭션이 확실히 롤백된 실패(제약조건, 락, 트랜잭션 시작 실패) -> 아무것도 반영되지 않았으므로 건별로 다시 실행한다.
+ * - 커밋 여부를 알 수 없는 실패(커밋 중 연결 끊김 등) -> 다시 실행하면 두번 입금될 수 있으므로 그룹 전체를 실패시킨다.
+ */
+@Component
+public class LedgerWriter {
+    private final Logger log = LoggerFactory.getLogger(getClass());
+
+    private static final long POLL_TIMEOUT_MILLIS = 100;
+    private static final long SHUTDOWN_TIMEOUT_MILLIS = 5000;
+
+    private final AccountService accountService;
+    private final boolean enabled;
+    private final int maxBatchSize;
+    private final long maxDelayNanos;
+    private final BlockingQueue<DepositRequest> queue;
+    private final DistributionSummary batchSizeSummary;
+
+    private volatile boolean running;
+    private Thread writerThread;
+
+    public LedgerWriter(AccountService accountService, MeterRegistry meterRegistry,
+                        @Value("${bank.ledger.group-commit.enabled:false}") boolean enabled,
+                        @Value("${bank.ledger.group-commit.max-batch-size:100}") int maxBatchSize,
+                        @Value("${bank.ledger.group-commit.max-delay-ms:5}") long maxDelayMillis,
+                        @Value("${bank.ledger.group-commit.queue-capacity:10000}") int queueCapacity) {
+        this.accountService = accountService;
+        this.enabled = enabled;
+        this.maxBatchSize = maxBatchSize;
+        this.maxDelayNanos = TimeUnit.MILLISECONDS.toNanos(maxDelayMillis);
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.batchSizeSummary = DistributionSummary.builder("bank.ledger.batch.size").register(meterRegistry);
+        meterRegistry.gauge("bank.ledger.queue.size", queue, BlockingQueue::size);
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        running = true;
+        writerThread = new Thread(this::run, "ledger-writer");
+        writerThread.setDaemon(true);
+        writerThread.start();
+    }
+
+    // 새 요청은 받지 않고, 대기열에 남은 요청은 처리한 뒤 종료한다.
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        if (writerThread != null) {
+            writerThread.join(SHUTDOWN_TIMEOUT_MILLIS);
+        }
+        DepositRequest request;
+        while ((request = queue.poll()) != null) {
+            request.future.completeExceptionally(new RejectedExecutionException("서버가 종료중입니다"));
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    // 대기열이 가득 차면 RejectedExecutionException (CustomExceptionHandler -> 503)
+    public CompletableFuture<AccountDepositRespDto> depositAsync(AccountDepositReqDto accountDepositReqDto) {
+        DepositRequest request = new DepositRequest(accountDepositReqDto);
+        if (!running || !queue.offer(request)) {
+            throw new RejectedExecutionException("입금 대기열이 가득 찼습니다");
+        }
+        return request.future;
+    }
+
+    // 그룹 커밋이 끝날때까지 기다린다. (future는 성공이든 실패든 반드시 완료된다)
+    public AccountDepositRespDto deposit(AccountDepositReqDto accountDepositReqDto) {
+        try {
+            return depositAsync(accountDepositReqDto).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    private void run() {
+        List<DepositRequest> batch = new ArrayList<>(maxBatchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                DepositRequest first = queue.poll(POLL_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                collect(batch);
+                flush(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } catch (Exception e) {
+                log.error("입금 그룹 커밋 실패", e);
+                batch.forEach(request -> request.future.completeExceptionally(e));  // 이미 완료된 future는 바뀌지 않는다.
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    // 첫 요청이 들어온 뒤 max-delay-ms가 지나거나 max-batch-size개가 모일때까지 기다린다.
+    private void collect(List<DepositRequest> batch) throws InterruptedException {
+        long deadline = System.nanoTime() + maxDelayNanos;
+        while (batch.size() < maxBatchSize) {
+            if (queue.drainTo(batch, maxBatchSize - batch.size()) > 0) {
+                continue;
+            }
+            long remaining = deadline - System.nanoTime();
+            if (remaining <= 0) {
+                return;
+            }
+            DepositRequest next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+            if (next == null) {
+                return;
+            }
+            batch.add(next);
+        }
+    }
+
+    private void flush(List<DepositRequest> batch) {
+        batchSizeSummary.record(batch.size());
+
+        List<AccountDepositReqDto> accountDepositReqDtos = new ArrayList<>(batch.size());
+        for (DepositRequest request : batch) {
+            accountDepositReqDtos.add(request.accountDepositReqDto);
+        }
+
+        List<AccountDepositResultDto> results;
+        try {
+            results = accountService.계좌입금_그룹(accountDepositReqDtos);
+        } catch (Exception e) {
+            if (!isRolledBack(e)) {
+                log.error("입금 그룹 커밋 결과를 알 수 없습니다 - 다시 실행하지 않습니다", e);
+                batch.forEach(request -> request.future.completeExceptionally(e));
+                return;
+            }
+            log.error("입금 그룹 커밋 실패 - 건별로 다시 실행합니다 : " + e.getMessage());
+            flushOneByOne(batch);
+            return;
+        }
+
+        for (int i = 0; i < batch.size(); i++) {
+            AccountDepositResultDto result = results.get(i);
+            if (result.isSuccess()) {
+                batch.get(i).future.complete(result.getResp());
+            } else {
+                batch.get(i).future.completeExceptionally(new CustomApiException(result.getMsg()));
+            }
+        }
+    }
+
+    // 커밋하기 전에 실패해서 DB가 롤백한 것이 확실한 예외
+    static boolean isRolledBack(Exception e) {
+        return e instanceof CustomApiException
+                || e instanceof DataIntegrityViolationException
+                || e instanceof PessimisticLockingFailureException
+                || e instanceof CannotCreateTransactionException;
+    }
+
+    private void flushOneByOne(List<DepositRequest> batch) {
+        for (DepositRequest request : batch) {
+            try {
+                request.future.complete(accountService.계좌입금(request.accountDepositReqDto));
+            } catch (Exception e) {
+                request.future.completeExceptionally(e);
+            }
+        }
+    }
+
+    private static class DepositRequest {
+        private final AccountDepositReqDto accountDepositReqDto;
+        private final CompletableFuture<AccountDepositRespDto> future = new CompletableFuture<>();
+
+        private DepositRequest(AccountDepositReqDto accountDepositReqDto) {
+            this.accountDepositReqDto = accountDepositReqDto;
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package shop.mtcoding.bank.service;
+
+import com.auth0.jwt.exceptions.JWTVerificationException;
+import com.auth0.jwt.interfaces.DecodedJWT;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import shop.mtcoding.bank.config.auth.LoginUser;
+import shop.mtcoding.bank.config.jwt.JwtProcess;
+import shop.mtcoding.bank.domain.user.RevokedToken;
+import shop.mtcoding.bank.domain.user.RevokedTokenRepository;
+
+/*
+ * 토큰 폐기 - revoked_token_tb에 저장하므로 서버를 다시 띄워도 폐기된 토큰이 살아나지 않는다.
+ * - 리플래시 토큰 : 재발급할 때 jti를 insert 한다. 이미 있으면(PK) 한번 쓴 토큰이므로 실패
+ *   요청마다 확인하는 토큰이 아니므로 메모리 폐기 목록에는 올리지 않는다. (2주 동안 쌓이지 않게)
+ * - 액세스 토큰 : 요청마다 확인하므로 메모리 폐기 목록(JwtProcess - 블룸필터)에도 올린다.
+ *   기동할 때 만료되지 않은 것을 다시 올린다. (액세스 토큰 유효시간 30분치만 메모리에 있다)
+ * - 만료된 행은 기동할 때, 그리고 폐기할 때 10분에 한번 지운다.
+ */
+@Service
+@RequiredArgsConstructor
+public class TokenService {
+    private final Logger log = LoggerFactory.getLogger(getClass());
+    private static final long PURGE_INTERVAL = 1000L * 60 * 10;  // 10분
+
+    private final RevokedTokenRepository revokedTokenRepository;
+    private final AtomicLong nextPurgeAt = new AtomicLong();
+
+    @PostConstruct
+    public void 폐기목록복구() {
+        purgeExpired(System.currentTimeMillis());
+        int count = 0;
+        for (RevokedToken revokedToken : revokedTokenRepository.findAllByRefreshFalseAndExpiresAtAfter(LocalDateTime.now())) {
+            JwtProcess.revoke(revokedToken.getJti(), toEpochMillis(revokedToken.getExpiresAt()));
+            count++;
+        }
+        log.info("폐기된 액세스 토큰 복구 : " + count + "건");
+    }
+
+    // 한번 쓴 리플래시 토큰은 바로 폐기한다. (재사용하면 JWTVerificationException -> 401)
+    public LoginUser 토큰재발급(String refreshToken) {
+        DecodedJWT decodedJWT = JwtProcess.verifyRefresh(refreshToken);
+        if (revokedTokenRepository.existsById(decodedJWT.getId()) || !insert(decodedJWT, true)) {
+            throw new JWTVerificationException("폐기된 토큰입니다");
+        }
+        return JwtProcess.toLoginUser(decodedJWT);
+    }
+
+    // 액세스 토큰과 (같이 보내면) 리플래시 토큰을 만료시간까지 폐기한다.
+    public void 로그아웃(String token, String refreshToken) {
+        DecodedJWT decodedJWT = JwtProcess.verifyAccess(token);
+        insert(decodedJWT, false);
+        JwtProcess.revoke(decodedJWT.getId(), decodedJWT.getExpiresAt().getTime());
+        if (refreshToken != null) {
+            insert(JwtProcess.verifyRefresh(refreshToken), true);
+        }
+    }
+
+    // 새로 폐기했으면 true, 이미 폐기된 토큰이면 false
+    private boolean insert(DecodedJWT decodedJWT, boolean refresh) {
+        long now = System.currentTimeMillis();
+        if (now >= nextPurgeAt.get()) {
+            purgeExpired(now);
+        }
+        LocalDateTime expiresAt = LocalDateTime.ofInstant(decodedJWT.getExpiresAt().toInstant(), ZoneId.systemDefault());
+        try {
+            revokedTokenRepository.insert(decodedJWT.getId(), refresh, expiresAt);
+            return true;
+        } catch (DataIntegrityViolationException e) {
+            return false;
+        }
+    }
+
+    private void purgeExpired(long now) {
+        nextPurgeAt.set(now + PURGE_INTERVAL);
+        revokedTokenRepository.deleteExpired(LocalDateTime.now());
+    }
+
+    private static long toEpochMillis(LocalDateTime dateTime) {
+        return dateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}
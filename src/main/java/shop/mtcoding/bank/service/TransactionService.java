@@ -1,2 +1,169 @@
-package shop.mtcoding.bank.service;public class TransactionService {
+package shop.mtcoding.bank.service;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import shop.mtcoding.bank.domain.account.Account;
+import shop.mtcoding.bank.domain.account.AccountMeta;
+import shop.mtcoding.bank.domain.account.AccountMetaCache;
+import shop.mtcoding.bank.domain.account.AccountRepository;
+import shop.mtcoding.bank.domain.account.AccountSnapshot;
+import shop.mtcoding.bank.domain.account.AccountSnapshotRepository;
+import shop.mtcoding.bank.domain.transaction.TransactionCursor;
+import shop.mtcoding.bank.domain.transaction.TransactionEnum;
+import shop.mtcoding.bank.domain.transaction.TransactionRepository;
+import shop.mtcoding.bank.domain.transaction.TransactionRepositoryImpl;
+import shop.mtcoding.bank.dto.transaction.TransactionRespDto.StatementRespDto;
+import shop.mtcoding.bank.dto.transaction.TransactionRespDto.TransactionDto;
+import shop.mtcoding.bank.dto.transaction.TransactionRespDto.TransactionListRespDto;
+import shop.mtcoding.bank.handler.ex.CustomApiException;
+import shop.mtcoding.bank.util.TransactionExportWriter;
+
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+@Service
+public class TransactionService {
+    private static final long MAX_STATEMENT_DAYS = 366;
+    public static final int MAX_OFFSET_PAGE = 20;   // 오프셋 페이징은 이 페이지까지만 (그 뒤는 커서 페이징)
+
+    private final TransactionRepository transactionRepository;
+    private final AccountRepository accountRepository;
+    private final AccountSnapshotRepository accountSnapshotRepository;
+    private final AccountMetaCache accountMetaCache;
+
+    public TransactionListRespDto 입출금목록보기(Long userId, Long accountNumber, String gubun, String cursor, Integer size) {
+        // 구분값 확인 (WITHDRAW, DEPOSIT, ALL)
+        if (!isListGubun(gubun)) {
+            throw new CustomApiException("거래구분이 올바르지 않습니다");
+        }
+
+        // 계좌 확인, 계좌 소유자 확인 (캐시 - 잔액이 필요 없으므로 계좌를 조회하지 않는다)
+        AccountMeta accountMeta = findOwnedAccountMeta(accountNumber, userId);
+
+        // 거래내역 조회 (DTO로 바로 조회)
+        int pageSize = TransactionRepositoryImpl.pageSize(size);
+        List<TransactionDto> transactionDtos = transactionRepository.findTransactionHistory(
+                accountMeta.getId(), gubun, TransactionCursor.decode(cursor), pageSize);
+
+        return new TransactionListRespDto(transactionDtos, pageSize);
+    }
+
+    // 오프셋 페이징 - 앞 페이지의 행을 모두 읽고 버리므로 (ALL은 출금쪽, 입금쪽 각각) 뒤 페이지일수록 느려진다.
+    // 구분값과 상관없이 MAX_OFFSET_PAGE까지만 허용하고, 그 뒤는 nextCursor로 이어서 조회하게 한다.
+    public TransactionListRespDto 입출금목록페이지보기(Long userId, Long accountNumber, String gubun, Integer page) {
+        if (!isListGubun(gubun)) {
+            throw new CustomApiException("거래구분이 올바르지 않습니다");
+        }
+        if (page < 0 || page > MAX_OFFSET_PAGE) {
+            throw new CustomApiException("페이지 범위를 넘었습니다. 커서로 조회해주세요");
+        }
+
+        // 계좌 확인, 계좌 소유자 확인 (캐시)
+        AccountMeta accountMeta = findOwnedAccountMeta(accountNumber, userId);
+
+        List<TransactionDto> transactionDtos = transactionRepository.findTransactionList(accountMeta.getId(), gubun, page)
+                .stream()
+                .map(TransactionDto::of)
+                .collect(Collectors.toList());
+        transactionDtos.forEach(transactionDto -> transactionDto.applyBalance(accountMeta.getId()));
+
+        return new TransactionListRespDto(transactionDtos, TransactionRepositoryImpl.DEFAULT_PAGE_SIZE);
+    }
+
+    // 기초잔액은 시작일 직전 스냅샷에서 가져오고, 거래내역은 기간 안의 행만 읽는다.
+    // 거래내역이 쌓여도 읽는 양은 기간 안의 거래 수에만 비례한다.
+    public StatementRespDto 계좌명세서보기(Long userId, Long accountNumber, LocalDate from, LocalDate to) {
+        if (from.isAfter(to)) {
+            throw new CustomApiException("조회 시작일이 종료일보다 늦을 수 없습니다");
+        }
+        if (ChronoUnit.DAYS.between(from, to) >= MAX_STATEMENT_DAYS) {
+            throw new CustomApiException("명세서는 1년 이내로만 조회할 수 있습니다");
+        }
+
+        // 계좌 확인, 계좌 소유자 확인 (캐시)
+        AccountMeta accountMeta = findOwnedAccountMeta(accountNumber, userId);
+
+        // 기간 내 거래내역
+        List<TransactionDto> transactionDtos = transactionRepository.findTransactionHistoryBetween(
+                accountMeta.getId(), from.atStartOfDay(), to.plusDays(1).atStartOfDay());
+
+        Long openingBalance = openingBalance(accountMeta.getId(), from, to, transactionDtos);
+
+        return new StatementRespDto(accountMeta.getId(), accountMeta.getNumber(), from, to, openingBalance, transactionDtos);
+    }
+
+    // 내보내기 (계좌 소유자) - from, to를 생략하면 전체 기간
+    public void 거래내역내보내기(Long userId, Long accountNumber, LocalDate from, LocalDate to,
+                         TransactionExportWriter transactionExportWriter) {
+        checkExportPeriod(from, to);
+
+        // 계좌 확인, 계좌 소유자 확인 (캐시)
+        AccountMeta accountMeta = findOwnedAccountMeta(accountNumber, userId);
+
+        export(accountMeta.getId(), from, to, transactionExportWriter);
+    }
+
+    // 내보내기 (감사용, ADMIN) - 기간 안의 모든 계좌의 거래내역
+    public void 기간거래내역내보내기(LocalDate from, LocalDate to, TransactionExportWriter transactionExportWriter) {
+        checkExportPeriod(from, to);
+
+        export(null, from, to, transactionExportWriter);
+    }
+
+    // 검증이 모두 끝난 뒤에 응답을 시작한다. 조회(커서)는 이 트랜잭션 안에서 끝까지 읽는다.
+    private void export(Long accountId, LocalDate from, LocalDate to, TransactionExportWriter transactionExportWriter) {
+        transactionExportWriter.begin();
+        transactionRepository.scrollTransactionExport(accountId,
+                from == null ? null : from.atStartOfDay(),
+                to == null ? null : to.plusDays(1).atStartOfDay(),
+                transactionExportWriter::write);
+        transactionExportWriter.end();
+    }
+
+    private void checkExportPeriod(LocalDate from, LocalDate to) {
+        if (from != null && to != null && from.isAfter(to)) {
+            throw new CustomApiException("조회 시작일이 종료일보다 늦을 수 없습니다");
+        }
+    }
+
+    private Long openingBalance(Long accountId, LocalDate from, LocalDate to, List<TransactionDto> transactionDtos) {
+        // 1. 시작일 직전 마감잔액
+        Optional<AccountSnapshot> snapshotOP = accountSnapshotRepository
+                .findFirstByAccountIdAndSnapshotDateBeforeOrderBySnapshotDateDesc(accountId, from);
+        if (snapshotOP.isPresent()) {
+            return snapshotOP.get().getBalance();
+        }
+
+        // 2. 스냅샷이 없으면 (스냅샷 도입 전 계좌 등) 첫 거래의 거래 후 잔액에서 거래금액을 되돌린다.
+        if (!transactionDtos.isEmpty()) {
+            TransactionDto first = transactionDtos.get(0);
+            return first.getBalance() - first.signedAmount(accountId);
+        }
+
+        // 3. 기간 내 거래도 없으면 종료일까지의 마지막 스냅샷 (기간 중에 개설한 계좌), 그것도 없으면 현재 잔액
+        return accountSnapshotRepository
+                .findFirstByAccountIdAndSnapshotDateBeforeOrderBySnapshotDateDesc(accountId, to.plusDays(1))
+                .map(AccountSnapshot::getBalance)
+                .orElseGet(() -> accountRepository.findById(accountId).map(Account::getBalance).orElse(0L));
+    }
+
+    private AccountMeta findOwnedAccountMeta(Long accountNumber, Long userId) {
+        AccountMeta accountMeta = accountMetaCache.getOwned(accountNumber, userId,
+                number -> accountRepository.findMetaByNumber(number).orElse(null));
+        if (accountMeta == null) {
+            throw new CustomApiException("해당 계좌를 찾을 수 없습니다");
+        }
+        return accountMeta;
+    }
+
+    private boolean isListGubun(String gubun) {
+        return TransactionEnum.WITHDRAW.name().equals(gubun)
+                || TransactionEnum.DEPOSIT.name().equals(gubun)
+                || TransactionEnum.ALL.name().equals(gubun);
+    }
 }
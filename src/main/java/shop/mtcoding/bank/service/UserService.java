@@ -7,6 +7,7 @@ import org.slf4j.LoggerFactory;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import shop.mtcoding.bank.config.auth.MissingUsernameCache;
 import shop.mtcoding.bank.domain.user.User;
 import shop.mtcoding.bank.domain.user.UserRepository;
 import shop.mtcoding.bank.dto.user.UserReqDto.JoinReqDto;
@@ -19,6 +20,7 @@ public class UserService {
     private final Logger log = LoggerFactory.getLogger(getClass());
     private final UserRepository userRepository;
     private final BCryptPasswordEncoder passwordEncoder;
+    private final MissingUsernameCache missingUsernameCache;
 
     @Transactional
     public JoinRespDto 회원가입(JoinReqDto joinReqDto) {
@@ -28,6 +30,7 @@ public class UserService {
         }
 
         User userPS = userRepository.save(joinReqDto.toEntity(passwordEncoder));
+        missingUsernameCache.evict(userPS.getUsername());   // 가입 전에 로그인을 시도했던 username
 
         return new JoinRespDto(userPS);
     }
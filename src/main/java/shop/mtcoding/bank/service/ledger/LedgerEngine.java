@@ -0,0 +1,233 @@
+package shop.mtcoding.bank.service.ledger;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.TreeSet;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.persistence.EntityManagerFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import shop.mtcoding.bank.domain.account.AccountRepository;
+import shop.mtcoding.bank.domain.account.AccountSnapshotRepository;
+import shop.mtcoding.bank.dto.account.AccountReqDto.AccountDepositReqDto;
+import shop.mtcoding.bank.dto.account.AccountRespDto.AccountDepositRespDto;
+import shop.mtcoding.bank.handler.ex.CustomApiException;
+
+/*
+ * 메모리 원장 (bank.ledger.engine.enabled=true 일때만 동작) - ATM 입금을 JPA 트랜잭션 없이 처리한다.
+ * 1. 계좌번호 % shards 로 샤드를 고른다. 샤드마다 전용 스레드 하나가 잔액(long 배열)을 바꾼다.
+ * 2. 입금은 샤드의 WAL(메모리 맵 파일)에 쓰고 force()하면 완료된다. (응답의 거래내역 id는 미리 할당)
+ * 3. LedgerFlusher가 모아서 DB에 반영한다. 거래내역 조회, 명세서에는 반영된 뒤(flush-delay-ms 이내)에 보인다.
+ * 4. 재기동하면 WAL에서 DB에 반영되지 않은 입금을 먼저 반영한 뒤 요청을 받는다.
+ * 출금, 이체, 계좌삭제는 JPA 경로 그대로이며, 시작할 때 syncForUpdate()로 해당 계좌를 pin하고 입금이 DB에 반영되기를 기다린다.
+ */
+@Component
+public class LedgerEngine {
+    private final Logger log = LoggerFactory.getLogger(getClass());
+
+    private static final long SHUTDOWN_TIMEOUT_MILLIS = 5000;
+    private static final long SYNC_TIMEOUT_MILLIS = 5000;
+
+    private final boolean enabled;
+    private final int shardCount;
+    private final Path walDir;
+    private final long walSizeBytes;
+    private final int maxBatchSize;
+    private final long flushDelayMillis;
+    private final int queueCapacity;
+    private final AccountRepository accountRepository;
+    private final AccountSnapshotRepository accountSnapshotRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final PlatformTransactionManager transactionManager;
+    private final EntityManagerFactory entityManagerFactory;
+    private final MeterRegistry meterRegistry;
+
+    private LedgerWal[] wals;
+    private LedgerShard[] shards;
+    private LedgerFlusher flusher;
+
+    public LedgerEngine(AccountRepository accountRepository, AccountSnapshotRepository accountSnapshotRepository,
+                        JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                        EntityManagerFactory entityManagerFactory, MeterRegistry meterRegistry,
+                        @Value("${bank.ledger.engine.enabled:false}") boolean enabled,
+                        @Value("${bank.ledger.engine.shards:4}") int shardCount,
+                        @Value("${bank.ledger.engine.wal-dir:ledger-wal}") String walDir,
+                        @Value("${bank.ledger.engine.wal-size-mb:16}") int walSizeMb,
+                        @Value("${bank.ledger.engine.max-batch-size:500}") int maxBatchSize,
+                        @Value("${bank.ledger.engine.flush-delay-ms:10}") long flushDelayMillis,
+                        @Value("${bank.ledger.engine.queue-capacity:10000}") int queueCapacity) {
+        this.accountRepository = accountRepository;
+        this.accountSnapshotRepository = accountSnapshotRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionManager = transactionManager;
+        this.entityManagerFactory = entityManagerFactory;
+        this.meterRegistry = meterRegistry;
+        this.enabled = enabled;
+        this.shardCount = shardCount;
+        this.walDir = Paths.get(walDir);
+        this.walSizeBytes = walSizeMb * 1024L * 1024L;
+        this.maxBatchSize = maxBatchSize;
+        this.flushDelayMillis = flushDelayMillis;
+        this.queueCapacity = queueCapacity;
+    }
+
+    @PostConstruct
+    public void start() throws IOException, InterruptedException {
+        if (!enabled) {
+            return;
+        }
+        wals = new LedgerWal[shardCount];
+        for (int i = 0; i < shardCount; i++) {
+            wals[i] = new LedgerWal(i, walDir.resolve("ledger-" + i + ".wal"), walSizeBytes);
+        }
+        flusher = new LedgerFlusher(wals, new TransactionTemplate(transactionManager), accountRepository,
+                accountSnapshotRepository, jdbcTemplate, maxBatchSize, flushDelayMillis,
+                DistributionSummary.builder("bank.ledger.engine.flush.size").register(meterRegistry));
+
+        // 복구 - 샤드를 만들기 전에 끝내야 샤드가 DB에서 맞는 잔액을 읽는다.
+        for (LedgerWal wal : wals) {
+            List<LedgerRecord> records = wal.recover();
+            if (!records.isEmpty()) {
+                log.info("원장 WAL 복구 : " + records.size() + "건");
+                flusher.replay(records);
+            }
+        }
+
+        TransactionIdAllocator transactionIdAllocator = new TransactionIdAllocator(entityManagerFactory);
+        shards = new LedgerShard[shardCount];
+        for (int i = 0; i < shardCount; i++) {
+            shards[i] = new LedgerShard(i, wals[i], flusher, transactionIdAllocator, accountRepository, maxBatchSize,
+                    queueCapacity);
+        }
+        meterRegistry.gauge("bank.ledger.engine.pending", this, LedgerEngine::getPendingCount);
+
+        flusher.start();
+        for (LedgerShard shard : shards) {
+            shard.start();
+        }
+    }
+
+    // 샤드 -> flusher 순서로 멈춘다. (샤드가 넘긴 입금까지 반영하고 WAL을 닫는다)
+    @PreDestroy
+    public void stop() throws InterruptedException, IOException {
+        if (!enabled) {
+            return;
+        }
+        for (LedgerShard shard : shards) {
+            shard.stop(SHUTDOWN_TIMEOUT_MILLIS);
+        }
+        flusher.stop(SHUTDOWN_TIMEOUT_MILLIS);
+        for (LedgerWal wal : wals) {
+            wal.close();
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    // 샤드 대기열이 가득 차면 RejectedExecutionException (CustomExceptionHandler -> 503)
+    public CompletableFuture<AccountDepositRespDto> depositAsync(AccountDepositReqDto accountDepositReqDto) {
+        if (accountDepositReqDto.getAmount() <= 0L) {
+            return CompletableFuture.failedFuture(new CustomApiException("0원 이하의 금액을 입금할 수 없습니다"));
+        }
+        return shardOf(accountDepositReqDto.getNumber()).deposit(accountDepositReqDto);
+    }
+
+    // WAL에 기록될때까지 기다린다. (future는 성공이든 실패든 반드시 완료된다)
+    public AccountDepositRespDto deposit(AccountDepositReqDto accountDepositReqDto) {
+        try {
+            return depositAsync(accountDepositReqDto).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    // JPA 경로로 잔액을 바꾸기 전에 호출한다. (트랜잭션 안에서)
+    // 1. 샤드가 해당 계좌를 pin 한다. - 트랜잭션이 끝날때까지 이 계좌의 입금은 미뤄지고, 들고 있던 잔액은 버린다.
+    // 2. pin 전에 완료된 입금이 DB에 반영될때까지 기다린다. (락을 잡고 읽는 잔액에 포함되어야 한다)
+    // 3. 트랜잭션이 끝나면(커밋이든 롤백이든) unpin - 미뤄둔 입금은 커밋된 잔액을 다시 읽어서 처리한다.
+    public void syncForUpdate(Collection<Long> numbers) {
+        if (!enabled) {
+            return;
+        }
+        TreeSet<Long> pinned = new TreeSet<>(numbers);
+        List<CompletableFuture<Long>> acks = new ArrayList<>(pinned.size());
+        for (Long number : pinned) {
+            acks.add(shardOf(number).pin(number));
+        }
+        boolean synchronizationActive = TransactionSynchronizationManager.isSynchronizationActive();
+        if (synchronizationActive) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    unpin(pinned);
+                }
+            });
+        }
+
+        try {
+            int i = 0;
+            for (Long number : pinned) {
+                long handedLsn = acks.get(i++).get(SYNC_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+                if (!flusher.awaitFlushed(shardIndex(number), handedLsn, SYNC_TIMEOUT_MILLIS)) {
+                    throw new RejectedExecutionException("입금 반영이 지연되고 있습니다");
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RejectedExecutionException("입금 반영이 지연되고 있습니다");
+        } catch (ExecutionException | TimeoutException e) {
+            throw new RejectedExecutionException("입금 반영이 지연되고 있습니다");
+        } finally {
+            if (!synchronizationActive) {
+                unpin(pinned);
+            }
+        }
+    }
+
+    private void unpin(Collection<Long> numbers) {
+        for (Long number : numbers) {
+            shardOf(number).unpin(number);
+        }
+    }
+
+    private double getPendingCount() {
+        long[] handedLsn = new long[shards.length];
+        for (int i = 0; i < shards.length; i++) {
+            handedLsn[i] = shards[i].getHandedLsn();
+        }
+        return flusher.getPendingCount(handedLsn);
+    }
+
+    private LedgerShard shardOf(Long number) {
+        return shards[shardIndex(number)];
+    }
+
+    private int shardIndex(Long number) {
+        return (int) Math.floorMod(number, (long) shardCount);
+    }
+}
@@ -0,0 +1,336 @@
+package shop.mtcoding.bank.service.ledger;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import java.io.UncheckedIOException;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.RecoverableDataAccessException;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.transaction.CannotCreateTransactionException;
+import org.springframework.transaction.support.TransactionTemplate;
+import shop.mtcoding.bank.domain.account.Account;
+import shop.mtcoding.bank.domain.account.AccountRepository;
+import shop.mtcoding.bank.domain.account.AccountSnapshotRepository;
+import shop.mtcoding.bank.domain.transaction.TransactionEnum;
+
+/*
+ * 샤드가 WAL에 쓴 입금을 모아서 transaction_tb, account_tb, account_snapshot_tb에 반영한다. (전용 스레드 하나)
+ * - 잔액은 계좌번호 순으로 락을 잡고 DB 잔액에서 다시 계산한다. (JPA 경로의 출금/이체와 섞여도 거래 후 잔액이 맞다)
+ * - 거래내역은 JDBC 배치 insert (id는 샤드가 미리 할당)
+ * - 계좌가 없어진 입금은 버리지 않고 transaction_dead_letter_tb에 남긴다. (같은 트랜잭션)
+ * - 커밋이 끝나면 샤드별 checkpoint를 WAL에 기록하고, 기다리는 쪽(awaitFlushed)을 깨운다.
+ * - DB 연결, 락 대기 같은 일시적인 오류는 같은 묶음을 다시 시도한다. (WAL에 남아있으므로 버리지 않는다)
+ * - 그 밖의 오류(제약조건 위반 등)는 다시 시도해도 실패하므로 한건씩 반영하고, 실패한 입금만 dead letter로 남긴다.
+ *   (입금 하나 때문에 flusher가 멈추면 모든 샤드의 WAL이 차고, syncForUpdate를 기다리는 출금/이체가 모두 실패한다)
+ */
+class LedgerFlusher {
+    private final Logger log = LoggerFactory.getLogger(getClass());
+
+    private static final String INSERT_SQL = "INSERT INTO transaction_tb "
+            + "(id, deposit_account_id, amount, deposit_account_balance, gubun, tel, created_at, updated_at) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String DEAD_LETTER_SQL = "INSERT INTO transaction_dead_letter_tb "
+            + "(id, number, amount, tel, reason, created_at, parked_at) VALUES (?, ?, ?, ?, ?, ?, ?)";
+    private static final String PERSISTED_IDS_SQL = "SELECT id FROM transaction_tb WHERE id IN (:ids) "
+            + "UNION SELECT id FROM transaction_dead_letter_tb WHERE id IN (:ids)";
+    private static final long POLL_TIMEOUT_MILLIS = 100;
+    private static final long RETRY_DELAY_MILLIS = 1000;
+    private static final int MAX_REASON_LENGTH = 255;
+
+    private final LedgerWal[] wals;
+    private final long[] flushedLsn;
+    private final BlockingQueue<LedgerRecord> queue = new LinkedBlockingQueue<>();
+    private final TransactionTemplate transactionTemplate;
+    private final AccountRepository accountRepository;
+    private final AccountSnapshotRepository accountSnapshotRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+    private final int maxBatchSize;
+    private final long maxDelayNanos;
+    private final DistributionSummary flushSizeSummary;
+
+    private volatile boolean running;
+    private Thread flusherThread;
+
+    LedgerFlusher(LedgerWal[] wals, TransactionTemplate transactionTemplate, AccountRepository accountRepository,
+                  AccountSnapshotRepository accountSnapshotRepository, JdbcTemplate jdbcTemplate, int maxBatchSize,
+                  long maxDelayMillis, DistributionSummary flushSizeSummary) {
+        this.wals = wals;
+        this.flushedLsn = new long[wals.length];
+        for (int i = 0; i < wals.length; i++) {
+            flushedLsn[i] = wals[i].getCheckpointLsn();
+        }
+        this.transactionTemplate = transactionTemplate;
+        this.accountRepository = accountRepository;
+        this.accountSnapshotRepository = accountSnapshotRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedParameterJdbcTemplate = new NamedParameterJdbcTemplate(jdbcTemplate);
+        this.maxBatchSize = maxBatchSize;
+        this.maxDelayNanos = TimeUnit.MILLISECONDS.toNanos(maxDelayMillis);
+        this.flushSizeSummary = flushSizeSummary;
+    }
+
+    void start() {
+        running = true;
+        flusherThread = new Thread(this::run, "ledger-flusher");
+        flusherThread.setDaemon(true);
+        flusherThread.start();
+    }
+
+    // 대기열에 남은 입금은 반영한 뒤 종료한다. (반영하지 못한 입금은 다음 기동시 WAL에서 복구)
+    void stop(long timeoutMillis) throws InterruptedException {
+        running = false;
+        if (flusherThread != null) {
+            flusherThread.join(timeoutMillis);
+        }
+    }
+
+    // 재기동시 WAL에서 읽은 입금 반영 - 이미 커밋된 거래내역, dead letter(checkpoint 기록 전에 멈춘 경우)는 건너뛴다.
+    // 시작 전이므로 일시적인 오류는 다시 시도하지 않고 던진다. (기동 실패 - WAL은 그대로 남는다)
+    void replay(List<LedgerRecord> records) throws InterruptedException {
+        for (int from = 0; from < records.size(); from += maxBatchSize) {
+            flushWithRetry(records.subList(from, Math.min(from + maxBatchSize, records.size())), true);
+        }
+    }
+
+    void enqueue(List<LedgerRecord> records) {
+        queue.addAll(records);
+    }
+
+    synchronized long getFlushedLsn(int shard) {
+        return flushedLsn[shard];
+    }
+
+    synchronized long getPendingCount(long[] handedLsn) {
+        long pending = 0;
+        for (int i = 0; i < flushedLsn.length; i++) {
+            pending += Math.max(0, handedLsn[i] - flushedLsn[i]);
+        }
+        return pending;
+    }
+
+    // lsn까지 DB에 반영될때까지 기다린다. (시간 안에 반영되면 true)
+    synchronized boolean awaitFlushed(int shard, long lsn, long timeoutMillis) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + timeoutMillis;
+        while (flushedLsn[shard] < lsn) {
+            long remaining = deadline - System.currentTimeMillis();
+            if (remaining <= 0) {
+                return false;
+            }
+            wait(remaining);
+        }
+        return true;
+    }
+
+    private void run() {
+        List<LedgerRecord> batch = new ArrayList<>(maxBatchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                LedgerRecord first = queue.poll(POLL_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                collect(batch);
+                flushWithRetry(batch, false);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } catch (RuntimeException e) {  // 종료중에 일시적인 오류
+                log.error("원장 반영 중단 - 다음 기동 때 WAL에서 복구합니다 : " + e.getMessage());
+                break;
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    // 첫 입금이 들어온 뒤 max-delay-ms가 지나거나 max-batch-size개가 모일때까지 기다린다.
+    private void collect(List<LedgerRecord> batch) throws InterruptedException {
+        long deadline = System.nanoTime() + maxDelayNanos;
+        while (batch.size() < maxBatchSize) {
+            if (queue.drainTo(batch, maxBatchSize - batch.size()) > 0) {
+                continue;
+            }
+            long remaining = deadline - System.nanoTime();
+            if (remaining <= 0) {
+                return;
+            }
+            LedgerRecord next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+            if (next == null) {
+                return;
+            }
+            batch.add(next);
+        }
+    }
+
+    // 다시 시도할 때는 항상 이미 커밋된 거래내역을 건너뛴다. (커밋 후 checkpoint 기록에서 실패했을 수 있다)
+    private void flushWithRetry(List<LedgerRecord> batch, boolean skipPersisted) throws InterruptedException {
+        while (true) {
+            try {
+                flush(batch, skipPersisted);
+                return;
+            } catch (RuntimeException e) {
+                if (!isTransient(e)) {
+                    log.error("원장 반영 실패 - 한건씩 반영합니다 : " + e.getMessage());
+                    flushOneByOne(batch);
+                    return;
+                }
+                retryLater(e);
+                skipPersisted = true;
+            }
+        }
+    }
+
+    // 반영할 수 없는 입금만 transaction_dead_letter_tb에 남기고 나머지는 반영한다.
+    private void flushOneByOne(List<LedgerRecord> batch) throws InterruptedException {
+        for (LedgerRecord record : batch) {
+            List<LedgerRecord> single = List.of(record);
+            while (true) {
+                try {
+                    flush(single, true);
+                    break;
+                } catch (RuntimeException e) {
+                    if (isTransient(e)) {
+                        retryLater(e);
+                        continue;
+                    }
+                    try {
+                        deadLetter(record, e);
+                        break;
+                    } catch (RuntimeException deadLetterException) {   // dead letter도 못 쓰면 버리지 않고 기다린다.
+                        retryLater(deadLetterException);
+                    }
+                }
+            }
+        }
+    }
+
+    private void retryLater(RuntimeException e) throws InterruptedException {
+        log.error("원장 반영 실패 - 다시 시도합니다 : " + e.getMessage());
+        if (!running) {
+            throw e;
+        }
+        Thread.sleep(RETRY_DELAY_MILLIS);
+    }
+
+    // 잠시 후 다시 시도하면 성공할 수 있는 오류 (DB 연결, 락 대기, 타임아웃, WAL checkpoint 기록)
+    private static boolean isTransient(RuntimeException e) {
+        return e instanceof TransientDataAccessException
+                || e instanceof RecoverableDataAccessException
+                || e instanceof DataAccessResourceFailureException
+                || e instanceof CannotCreateTransactionException
+                || e instanceof UncheckedIOException;
+    }
+
+    private void deadLetter(LedgerRecord record, RuntimeException e) {
+        String reason = String.valueOf(NestedExceptionUtils.getMostSpecificCause(e).getMessage());
+        log.error("원장 반영 실패 - dead letter로 남깁니다 : transactionId=" + record.transactionId + ", " + reason);
+        List<LedgerRecord> single = List.of(record);
+        transactionTemplate.executeWithoutResult(status -> {
+            if (findPersistedIds(single).isEmpty()) {
+                jdbcTemplate.update(DEAD_LETTER_SQL, deadLetterRow(record,
+                        reason.length() > MAX_REASON_LENGTH ? reason.substring(0, MAX_REASON_LENGTH) : reason));
+            }
+        });
+        checkpoint(single);
+    }
+
+    private void flush(List<LedgerRecord> batch, boolean skipPersisted) {
+        flushSizeSummary.record(batch.size());
+        transactionTemplate.executeWithoutResult(status -> write(batch, skipPersisted));
+        checkpoint(batch);
+    }
+
+    private void checkpoint(List<LedgerRecord> batch) {
+        long[] lastLsn = new long[wals.length];
+        for (LedgerRecord record : batch) {
+            lastLsn[record.shard] = record.lsn;
+        }
+        for (int shard = 0; shard < wals.length; shard++) {
+            if (lastLsn[shard] > 0) {
+                wals[shard].checkpoint(lastLsn[shard]);
+            }
+        }
+        synchronized (this) {
+            for (int shard = 0; shard < wals.length; shard++) {
+                flushedLsn[shard] = Math.max(flushedLsn[shard], lastLsn[shard]);
+            }
+            notifyAll();
+        }
+    }
+
+    private void write(List<LedgerRecord> batch, boolean skipPersisted) {
+        Set<Long> persistedIds = skipPersisted ? findPersistedIds(batch) : Set.of();
+
+        TreeSet<Long> numbers = new TreeSet<>();
+        for (LedgerRecord record : batch) {
+            numbers.add(record.number);
+        }
+        Map<Long, Account> accountMap = new HashMap<>();
+        for (Account accountPS : accountRepository.findAllByNumberInForUpdate(numbers)) {
+            accountMap.put(accountPS.getNumber(), accountPS);
+        }
+
+        List<Object[]> rows = new ArrayList<>(batch.size());
+        List<Object[]> deadLetters = new ArrayList<>();
+        Map<Long, Map<LocalDate, Long>> balances = new TreeMap<>();
+        for (LedgerRecord record : batch) {
+            if (persistedIds.contains(record.transactionId)) {
+                continue;
+            }
+            Account accountPS = accountMap.get(record.number);
+            if (accountPS == null) {    // 입금을 받은 뒤에 삭제된 계좌
+                log.error("원장 반영 실패 - 계좌를 찾을 수 없습니다 : number=" + record.number + ", transactionId=" + record.transactionId);
+                deadLetters.add(deadLetterRow(record, "계좌를 찾을 수 없습니다"));
+                continue;
+            }
+            accountPS.deposit(record.amount);
+
+            LocalDateTime createdAt = record.getCreatedAt();
+            Timestamp timestamp = Timestamp.valueOf(createdAt);
+            rows.add(new Object[]{record.transactionId, accountPS.getId(), record.amount, accountPS.getBalance(),
+                    TransactionEnum.DEPOSIT.name(), record.getTel(), timestamp, timestamp});
+            balances.computeIfAbsent(accountPS.getId(), id -> new TreeMap<>())
+                    .put(createdAt.toLocalDate(), accountPS.getBalance());
+        }
+
+        jdbcTemplate.batchUpdate(INSERT_SQL, rows);
+        if (!deadLetters.isEmpty()) {
+            jdbcTemplate.batchUpdate(DEAD_LETTER_SQL, deadLetters);
+        }
+        balances.forEach((accountId, balanceByDate) -> balanceByDate.forEach((date, balance) ->
+                accountSnapshotRepository.upsert(accountId, date, balance)));
+    }
+
+    private Object[] deadLetterRow(LedgerRecord record, String reason) {
+        return new Object[]{record.transactionId, record.number, record.amount, record.getTel(), reason,
+                Timestamp.valueOf(record.getCreatedAt()), Timestamp.valueOf(LocalDateTime.now())};
+    }
+
+    private Set<Long> findPersistedIds(List<LedgerRecord> batch) {
+        List<Long> ids = new ArrayList<>(batch.size());
+        for (LedgerRecord record : batch) {
+            ids.add(record.transactionId);
+        }
+        return new HashSet<>(namedParameterJdbcTemplate.queryForList(PERSISTED_IDS_SQL, Map.of("ids", ids), Long.class));
+    }
+}
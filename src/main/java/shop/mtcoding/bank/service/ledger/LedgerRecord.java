@@ -0,0 +1,75 @@
+package shop.mtcoding.bank.service.ledger;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import shop.mtcoding.bank.domain.account.Account;
+import shop.mtcoding.bank.domain.transaction.Transaction;
+import shop.mtcoding.bank.domain.transaction.TransactionEnum;
+import shop.mtcoding.bank.dto.account.AccountRespDto.AccountDepositRespDto;
+import shop.mtcoding.bank.util.CustomDateUtil;
+
+/*
+ * WAL에 남기는 입금 한건 (고정 길이 - LedgerWal.RECORD_SIZE)
+ * balance는 샤드가 계산한 거래 후 잔액이다. (응답용 - DB에 저장할 때는 LedgerFlusher가 락을 잡고 다시 계산한다)
+ */
+class LedgerRecord {
+    final int shard;
+    final long lsn;             // 샤드별 일련번호 (1부터)
+    final long transactionId;   // 미리 할당받은 거래내역 id
+    final long accountId;
+    final long number;
+    final long amount;
+    final long balance;
+    final long createdAtEpochNanos;
+    final long tel;             // 숫자 11자리 (앞자리 0은 toTel()에서 복원)
+
+    LedgerRecord(int shard, long lsn, long transactionId, long accountId, long number, long amount, long balance,
+                 long createdAtEpochNanos, long tel) {
+        this.shard = shard;
+        this.lsn = lsn;
+        this.transactionId = transactionId;
+        this.accountId = accountId;
+        this.number = number;
+        this.amount = amount;
+        this.balance = balance;
+        this.createdAtEpochNanos = createdAtEpochNanos;
+        this.tel = tel;
+    }
+
+    static long toEpochNanos(LocalDateTime createdAt) {
+        Instant instant = createdAt.atZone(CustomDateUtil.ZONE).toInstant();
+        return instant.getEpochSecond() * 1_000_000_000L + instant.getNano();
+    }
+
+    static long parseTel(String tel) {
+        return Long.parseLong(tel);
+    }
+
+    LocalDateTime getCreatedAt() {
+        Instant instant = Instant.ofEpochSecond(Math.floorDiv(createdAtEpochNanos, 1_000_000_000L),
+                Math.floorMod(createdAtEpochNanos, 1_000_000_000L));
+        return LocalDateTime.ofInstant(instant, CustomDateUtil.ZONE);
+    }
+
+    String getTel() {
+        return String.format("%011d", tel);
+    }
+
+    // JPA 입금 경로(AccountService.계좌입금)와 같은 응답
+    AccountDepositRespDto toRespDto() {
+        Account account = Account.builder()
+                .id(accountId)
+                .number(number)
+                .build();
+        Transaction transaction = Transaction.builder()
+                .id(transactionId)
+                .depositAccount(account)
+                .depositAccountBalance(balance)
+                .amount(amount)
+                .gubun(TransactionEnum.DEPOSIT)
+                .tel(getTel())
+                .createdAt(getCreatedAt())
+                .build();
+        return new AccountDepositRespDto(account, transaction);
+    }
+}
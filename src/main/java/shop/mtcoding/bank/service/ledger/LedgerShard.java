@@ -0,0 +1,324 @@
+package shop.mtcoding.bank.service.ledger;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import shop.mtcoding.bank.domain.account.Account;
+import shop.mtcoding.bank.domain.account.AccountRepository;
+import shop.mtcoding.bank.dto.account.AccountReqDto.AccountDepositReqDto;
+import shop.mtcoding.bank.dto.account.AccountRespDto.AccountDepositRespDto;
+import shop.mtcoding.bank.handler.ex.CustomApiException;
+
+/*
+ * 계좌번호로 나눈 샤드 하나 - 이 샤드의 계좌 잔액은 전용 스레드 하나만 바꾼다. (락 없음)
+ * - 잔액은 long 배열에 들고 있고, 처음 입금할 때 DB에서 읽어온다.
+ * - 모아서 처리한 입금을 WAL에 쓰고 force()한 뒤에 요청을 완료하고, LedgerFlusher에 넘긴다.
+ * - JPA 경로(출금, 이체 등)가 잔액을 바꾸는 동안에는 그 계좌를 pin 한다.
+ *   pin된 계좌의 입금은 미뤄뒀다가 unpin(JPA 트랜잭션 종료) 후에 DB에서 잔액을 다시 읽어서 처리한다.
+ *   (샤드가 들고 있는 잔액으로 처리하면 응답과 WAL의 거래 후 잔액에 JPA 경로의 변경이 빠진다)
+ * - 다시 읽을 때는 넘긴 입금이 모두 DB에 반영된 뒤에 읽어야 잔액이 맞다.
+ */
+class LedgerShard {
+    private final Logger log = LoggerFactory.getLogger(getClass());
+
+    private static final long POLL_TIMEOUT_MILLIS = 100;
+    private static final long WAL_WAIT_MILLIS = 1000;
+    private static final int INITIAL_SLOTS = 256;
+
+    private static final DepositRequest WAKE_UP = new DepositRequest(null);  // pin 요청이 오면 대기중인 샤드를 깨운다.
+
+    private final int index;
+    private final LedgerWal wal;
+    private final LedgerFlusher flusher;
+    private final TransactionIdAllocator transactionIdAllocator;
+    private final AccountRepository accountRepository;
+    private final int maxBatchSize;
+    private final BlockingQueue<DepositRequest> queue;
+    private final Queue<PinRequest> pinRequests = new ConcurrentLinkedQueue<>();
+
+    // pin된 계좌번호 -> pin 횟수, 그동안 들어온 입금 (샤드 스레드만 쓴다)
+    private final Map<Long, Integer> pinCounts = new HashMap<>();
+    private final Map<Long, List<DepositRequest>> parked = new HashMap<>();
+    private final List<DepositRequest> released = new ArrayList<>();
+
+    // 계좌번호 -> 슬롯 (한번 배정된 슬롯은 evict 되어도 그대로 쓴다. accountIds가 0이면 읽어오지 않은 계좌)
+    private final Map<Long, Integer> slots = new HashMap<>();
+    private long[] accountIds = new long[INITIAL_SLOTS];
+    private long[] balances = new long[INITIAL_SLOTS];
+
+    private final List<LedgerRecord> records = new ArrayList<>();
+    private final List<CompletableFuture<AccountDepositRespDto>> futures = new ArrayList<>();
+    private long nextLsn;
+    private volatile long handedLsn;    // flusher에 넘긴 마지막 lsn (요청이 완료된 입금)
+
+    private volatile boolean running;
+    private Thread shardThread;
+
+    LedgerShard(int index, LedgerWal wal, LedgerFlusher flusher, TransactionIdAllocator transactionIdAllocator,
+                AccountRepository accountRepository, int maxBatchSize, int queueCapacity) {
+        this.index = index;
+        this.wal = wal;
+        this.flusher = flusher;
+        this.transactionIdAllocator = transactionIdAllocator;
+        this.accountRepository = accountRepository;
+        this.maxBatchSize = maxBatchSize;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.handedLsn = wal.getCheckpointLsn();
+        this.nextLsn = handedLsn + 1;
+    }
+
+    void start() {
+        running = true;
+        shardThread = new Thread(this::run, "ledger-shard-" + index);
+        shardThread.setDaemon(true);
+        shardThread.start();
+    }
+
+    // 새 요청은 받지 않고, 대기열에 남은 요청은 처리한 뒤 종료한다.
+    void stop(long timeoutMillis) throws InterruptedException {
+        running = false;
+        if (shardThread != null) {
+            shardThread.join(timeoutMillis);
+        }
+        RejectedExecutionException e = new RejectedExecutionException("서버가 종료중입니다");
+        DepositRequest request;
+        while ((request = queue.poll()) != null) {
+            request.future.completeExceptionally(e);
+        }
+        parked.values().forEach(requests -> requests.forEach(parkedRequest -> parkedRequest.future.completeExceptionally(e)));
+        released.forEach(releasedRequest -> releasedRequest.future.completeExceptionally(e));
+        PinRequest pinRequest;
+        while ((pinRequest = pinRequests.poll()) != null) {
+            pinRequest.acked.completeExceptionally(e);
+        }
+    }
+
+    CompletableFuture<AccountDepositRespDto> deposit(AccountDepositReqDto accountDepositReqDto) {
+        DepositRequest request = new DepositRequest(accountDepositReqDto);
+        if (!running || !queue.offer(request)) {
+            throw new RejectedExecutionException("입금 대기열이 가득 찼습니다");
+        }
+        return request.future;
+    }
+
+    // 이 계좌의 입금을 멈추고 들고 있는 잔액을 버린다.
+    // 완료되면 그때까지 flusher에 넘긴 마지막 lsn을 돌려준다. (이 lsn까지 DB에 반영된 뒤에 락을 잡고 읽어야 한다)
+    CompletableFuture<Long> pin(Long number) {
+        PinRequest pinRequest = new PinRequest(number, true);
+        pinRequests.add(pinRequest);
+        queue.offer(WAKE_UP);   // 대기열이 가득 찼으면 어차피 곧 처리한다.
+        return pinRequest.acked;
+    }
+
+    // JPA 트랜잭션이 끝난 뒤 호출한다. 미뤄둔 입금은 DB에서 잔액을 다시 읽어서 처리한다.
+    void unpin(Long number) {
+        pinRequests.add(new PinRequest(number, false));
+        queue.offer(WAKE_UP);
+    }
+
+    long getHandedLsn() {
+        return handedLsn;
+    }
+
+    private void run() {
+        List<DepositRequest> batch = new ArrayList<>(maxBatchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                handlePins();
+                if (released.isEmpty()) {
+                    DepositRequest first = queue.poll(POLL_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+                    if (first == null) {
+                        continue;
+                    }
+                    batch.add(first);
+                } else {
+                    batch.addAll(released);
+                    released.clear();
+                }
+                queue.drainTo(batch, Math.max(0, maxBatchSize - batch.size()));
+                for (DepositRequest request : batch) {
+                    apply(request);
+                }
+                commit();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } catch (Exception e) {
+                log.error("원장 샤드 처리 실패", e);
+                abort();
+                batch.forEach(request -> request.future.completeExceptionally(e));  // 이미 완료된 future는 바뀌지 않는다.
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    // pin 요청은 묶음 사이에서만 처리한다. (완료를 알릴 때 처리중인 입금이 없어야 handedLsn이 맞다)
+    private void handlePins() {
+        PinRequest pinRequest;
+        while ((pinRequest = pinRequests.poll()) != null) {
+            Long number = pinRequest.number;
+            if (pinRequest.pin) {
+                pinCounts.merge(number, 1, Integer::sum);
+                unload(number);
+                pinRequest.acked.complete(handedLsn);
+            } else if (pinCounts.computeIfPresent(number, (key, count) -> count > 1 ? count - 1 : null) == null) {
+                List<DepositRequest> requests = parked.remove(number);
+                if (requests != null) {
+                    released.addAll(requests);
+                }
+            }
+        }
+    }
+
+    private void apply(DepositRequest request) throws InterruptedException {
+        if (request == WAKE_UP) {
+            return;
+        }
+        AccountDepositReqDto accountDepositReqDto = request.accountDepositReqDto;
+        if (pinCounts.containsKey(accountDepositReqDto.getNumber())) {
+            parked.computeIfAbsent(accountDepositReqDto.getNumber(), number -> new ArrayList<>()).add(request);
+            return;
+        }
+        int slot;
+        long transactionId;
+        try {
+            slot = load(accountDepositReqDto.getNumber());
+            transactionId = transactionIdAllocator.nextId();
+        } catch (RuntimeException e) {
+            request.future.completeExceptionally(e);
+            return;
+        }
+        long lsn = nextLsn;
+        reserve(lsn);
+
+        long balance = balances[slot] + accountDepositReqDto.getAmount();
+        LedgerRecord record = new LedgerRecord(index, lsn, transactionId, accountIds[slot],
+                accountDepositReqDto.getNumber(), accountDepositReqDto.getAmount(), balance,
+                LedgerRecord.toEpochNanos(LocalDateTime.now()), LedgerRecord.parseTel(accountDepositReqDto.getTel()));
+        wal.append(record);
+        balances[slot] = balance;
+        nextLsn++;
+        records.add(record);
+        futures.add(request.future);
+    }
+
+    // WAL에 쓰고 force() -> 요청 완료 -> flusher에 넘긴다.
+    private void commit() {
+        if (records.isEmpty()) {
+            return;
+        }
+        List<AccountDepositRespDto> responses = new ArrayList<>(records.size());
+        for (LedgerRecord record : records) {
+            responses.add(record.toRespDto());
+        }
+        wal.force();
+        flusher.enqueue(records);
+        handedLsn = records.get(records.size() - 1).lsn;
+        for (int i = 0; i < responses.size(); i++) {
+            futures.get(i).complete(responses.get(i));
+        }
+        records.clear();
+        futures.clear();
+    }
+
+    // 넘기지 못한 레코드(handedLsn 이후)를 WAL에서 지우고 lsn을 되돌린다. (lsn에 빈 곳이 생기면 복구가 거기서 멈춘다)
+    // 잔액에 더한 금액도 버려야 하므로 해당 계좌는 다음 입금 때 DB에서 다시 읽는다.
+    private void abort() {
+        for (LedgerRecord record : records) {
+            unload(record.number);
+        }
+        records.clear();
+        futures.clear();
+        if (nextLsn > handedLsn + 1) {
+            try {
+                wal.truncate(handedLsn + 1, nextLsn);
+            } catch (RuntimeException e) {
+                log.error("원장 WAL 정리 실패 : shard=" + index, e);
+            }
+            nextLsn = handedLsn + 1;
+        }
+    }
+
+    // 원형 WAL이 가득 찼으면 가장 오래된 레코드가 DB에 반영될때까지 기다린다.
+    private void reserve(long lsn) throws InterruptedException {
+        long mustBeFlushed = lsn - wal.getCapacity();
+        if (mustBeFlushed <= flusher.getFlushedLsn(index)) {
+            return;
+        }
+        commit();
+        while (!flusher.awaitFlushed(index, mustBeFlushed, WAL_WAIT_MILLIS)) {
+            log.warn("원장 WAL이 가득 찼습니다 - DB 반영을 기다립니다 : shard=" + index);
+        }
+    }
+
+    private int load(Long number) throws InterruptedException {
+        Integer slot = slots.get(number);
+        if (slot != null && accountIds[slot] != 0) {
+            return slot;
+        }
+
+        // 이 계좌의 이전 입금이 DB에 반영된 뒤에 읽는다.
+        commit();
+        while (!flusher.awaitFlushed(index, handedLsn, WAL_WAIT_MILLIS)) {
+            log.warn("원장 DB 반영을 기다립니다 : shard=" + index);
+        }
+        Optional<Account> accountOP = accountRepository.findByNumber(number);
+        if (accountOP.isEmpty()) {
+            throw new CustomApiException("계좌를 찾을 수 없습니다");
+        }
+
+        if (slot == null) {
+            slot = slots.size();
+            if (slot == accountIds.length) {
+                accountIds = Arrays.copyOf(accountIds, slot * 2);
+                balances = Arrays.copyOf(balances, slot * 2);
+            }
+            slots.put(number, slot);
+        }
+        accountIds[slot] = accountOP.get().getId();
+        balances[slot] = accountOP.get().getBalance();
+        return slot;
+    }
+
+    // 출금, 이체 등 JPA 경로에서 잔액이 바뀌는 계좌 -> unpin 후 다음 입금 때 DB에서 다시 읽는다.
+    private void unload(Long number) {
+        Integer slot = slots.get(number);
+        if (slot != null) {
+            accountIds[slot] = 0;
+        }
+    }
+
+    private static class PinRequest {
+        private final Long number;
+        private final boolean pin;
+        private final CompletableFuture<Long> acked = new CompletableFuture<>();
+
+        private PinRequest(Long number, boolean pin) {
+            this.number = number;
+            this.pin = pin;
+        }
+    }
+
+    private static class DepositRequest {
+        private final AccountDepositReqDto accountDepositReqDto;
+        private final CompletableFuture<AccountDepositRespDto> future = new CompletableFuture<>();
+
+        private DepositRequest(AccountDepositReqDto accountDepositReqDto) {
+            this.accountDepositReqDto = accountDepositReqDto;
+        }
+    }
+}
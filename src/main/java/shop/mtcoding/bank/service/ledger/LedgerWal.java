@@ -0,0 +1,151 @@
+package shop.mtcoding.bank.service.ledger;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/*
+ * 샤드 하나의 write-ahead log (메모리 맵 파일, 원형 버퍼)
+ * [헤더 64바이트 : MAGIC, checkpointLsn][레코드 72바이트 x capacity]
+ * - 레코드 위치는 lsn으로 정해진다. ((lsn - 1) % capacity)
+ * - checkpointLsn : DB에 반영이 끝난 마지막 lsn (LedgerFlusher가 커밋 후 기록)
+ * - DB에 반영되지 않은 레코드는 덮어쓰지 않는다. (샤드가 flusher를 기다린다)
+ * - 쓰기는 샤드 스레드 하나, checkpoint는 flusher 스레드 하나만 한다. (절대 위치로 쓰므로 서로 겹치지 않는다)
+ */
+class LedgerWal implements AutoCloseable {
+    static final int HEADER_SIZE = 64;
+    static final int RECORD_SIZE = 72;
+    private static final long MAGIC = 0x42414E4B57414C31L;  // "BANKWAL1"
+    private static final int CHECKPOINT_OFFSET = 8;
+
+    private final int shard;
+    private final FileChannel channel;
+    private final MappedByteBuffer buffer;
+    private final long capacity;
+
+    LedgerWal(int shard, Path path, long fileSize) throws IOException {
+        this.shard = shard;
+        Files.createDirectories(path.toAbsolutePath().getParent());
+        this.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        long size = Math.max(fileSize, channel.size());  // 이미 있는 파일은 줄이지 않는다.
+        this.buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+        this.capacity = (size - HEADER_SIZE) / RECORD_SIZE;
+        if (buffer.getLong(0) != MAGIC) {
+            buffer.putLong(0, MAGIC);
+            buffer.putLong(CHECKPOINT_OFFSET, 0L);
+            buffer.force();
+        }
+    }
+
+    long getCapacity() {
+        return capacity;
+    }
+
+    long getCheckpointLsn() {
+        return buffer.getLong(CHECKPOINT_OFFSET);
+    }
+
+    void append(LedgerRecord record) {
+        int offset = offset(record.lsn);
+        buffer.putLong(offset, record.lsn);
+        buffer.putLong(offset + 8, record.transactionId);
+        buffer.putLong(offset + 16, record.accountId);
+        buffer.putLong(offset + 24, record.number);
+        buffer.putLong(offset + 32, record.amount);
+        buffer.putLong(offset + 40, record.balance);
+        buffer.putLong(offset + 48, record.createdAtEpochNanos);
+        buffer.putLong(offset + 56, record.tel);
+        buffer.putLong(offset + 64, checksum(record));
+    }
+
+    // 디스크에 내려쓴다. (샤드가 모아서 쓴 뒤 한번 호출 - 이후에 요청을 완료한다)
+    void force() {
+        buffer.force();
+    }
+
+    // force()하지 못한 레코드 [fromLsn, toLsn)를 지운다. (샤드가 묶음 처리에 실패한 경우 - 복구 때 다시 읽히지 않도록)
+    void truncate(long fromLsn, long toLsn) {
+        for (long lsn = fromLsn; lsn < toLsn; lsn++) {
+            buffer.putLong(offset(lsn), 0L);
+        }
+        buffer.force();
+    }
+
+    void checkpoint(long lsn) {
+        buffer.putLong(CHECKPOINT_OFFSET, lsn);
+        buffer.force();
+    }
+
+    // checkpoint 이후의 레코드를 lsn 순서대로 읽는다. (중간에 깨진 레코드가 있으면 그 앞까지만)
+    // 깨진 레코드와 그 뒤의 레코드는 완료되지 않은 입금이므로 지운다. (다음 기동 때 다시 읽히지 않도록)
+    List<LedgerRecord> recover() {
+        long checkpointLsn = getCheckpointLsn();
+        List<LedgerRecord> records = new ArrayList<>();
+        for (long slot = 0; slot < capacity; slot++) {
+            int offset = HEADER_SIZE + (int) (slot * RECORD_SIZE);
+            if (buffer.getLong(offset) <= checkpointLsn) {
+                continue;
+            }
+            LedgerRecord record = read(offset);
+            if (record == null) {
+                buffer.putLong(offset, 0L);
+            } else {
+                records.add(record);
+            }
+        }
+        records.sort(Comparator.comparingLong(record -> record.lsn));
+
+        List<LedgerRecord> recovered = new ArrayList<>(records.size());
+        long expectedLsn = checkpointLsn + 1;
+        for (LedgerRecord record : records) {
+            if (record.lsn == expectedLsn) {
+                recovered.add(record);
+                expectedLsn++;
+            } else {
+                buffer.putLong(offset(record.lsn), 0L);
+            }
+        }
+        buffer.force();
+        return recovered;
+    }
+
+    @Override
+    public void close() throws IOException {
+        buffer.force();
+        channel.close();
+    }
+
+    private int offset(long lsn) {
+        return HEADER_SIZE + (int) (((lsn - 1) % capacity) * RECORD_SIZE);
+    }
+
+    private LedgerRecord read(int offset) {
+        long lsn = buffer.getLong(offset);
+        LedgerRecord record = new LedgerRecord(shard, lsn, buffer.getLong(offset + 8), buffer.getLong(offset + 16),
+                buffer.getLong(offset + 24), buffer.getLong(offset + 32), buffer.getLong(offset + 40),
+                buffer.getLong(offset + 48), buffer.getLong(offset + 56));
+        return buffer.getLong(offset + 64) == checksum(record) ? record : null;
+    }
+
+    // 쓰다가 멈춘(일부만 쓰인) 레코드를 걸러낸다.
+    private static long checksum(LedgerRecord record) {
+        long hash = mix(MAGIC, record.lsn);
+        hash = mix(hash, record.transactionId);
+        hash = mix(hash, record.accountId);
+        hash = mix(hash, record.number);
+        hash = mix(hash, record.amount);
+        hash = mix(hash, record.balance);
+        hash = mix(hash, record.createdAtEpochNanos);
+        return mix(hash, record.tel);
+    }
+
+    private static long mix(long hash, long field) {
+        return (hash ^ field) * 0x100000001b3L;
+    }
+}
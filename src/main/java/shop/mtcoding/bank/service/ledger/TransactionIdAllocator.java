@@ -0,0 +1,39 @@
+package shop.mtcoding.bank.service.ledger;
+
+import javax.persistence.EntityManagerFactory;
+import org.hibernate.Session;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.id.IdentifierGenerator;
+import shop.mtcoding.bank.domain.transaction.Transaction;
+
+/*
+ * 거래내역 id를 DB에 저장하기 전에 미리 할당한다. (응답에 id가 필요하다)
+ * Transaction 엔티티와 같은 하이버네이트 id 생성기(transaction_seq, pooled 50)를 공유하므로 JPA로 저장하는 거래내역과 id가 겹치지 않는다.
+ * 시퀀스는 50개마다 한번 조회되고, 그 사이에는 메모리에서 할당한다.
+ */
+class TransactionIdAllocator {
+    private static final int BLOCK_SIZE = 50;
+
+    private final SessionFactoryImplementor sessionFactory;
+    private final IdentifierGenerator generator;
+    private final long[] block = new long[BLOCK_SIZE];
+    private int index = BLOCK_SIZE;
+
+    TransactionIdAllocator(EntityManagerFactory entityManagerFactory) {
+        this.sessionFactory = entityManagerFactory.unwrap(SessionFactoryImplementor.class);
+        this.generator = sessionFactory.getIdentifierGenerator(Transaction.class.getName());
+    }
+
+    synchronized long nextId() {
+        if (index == BLOCK_SIZE) {
+            try (Session session = sessionFactory.openSession()) {
+                for (int i = 0; i < BLOCK_SIZE; i++) {
+                    block[i] = ((Number) generator.generate((SharedSessionContractImplementor) session, null)).longValue();
+                }
+            }
+            index = 0;
+        }
+        return block[index++];
+    }
+}
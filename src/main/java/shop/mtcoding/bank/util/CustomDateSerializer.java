@@ -0,0 +1,55 @@
+package shop.mtcoding.bank.util;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+/*
+ * 응답 DTO의 날짜 직렬화
+ * - 기본 : "yyyy-MM-dd HH:mm:ss" 문자열 (CustomDateUtil.toStringFormat)
+ * - 요청 헤더 X-Date-Format: epoch : epoch millis 숫자 (기계 클라이언트는 다시 파싱할 필요가 없다)
+ * DTO는 LocalDateTime을 그대로 들고 있고 문자열 변환은 응답을 쓸때 한번만 한다.
+ * 요청 헤더는 응답 하나를 직렬화할때 한번만 읽고 SerializerProvider 속성(직렬화 호출마다 새로 만들어진다)에 저장한다.
+ * (입출금목록, 명세서처럼 날짜가 많은 응답에서 값마다 RequestContextHolder를 조회하지 않는다)
+ * 사용법 : @JsonSerialize(using = CustomDateSerializer.class)
+ */
+public class CustomDateSerializer extends StdSerializer<LocalDateTime> {
+    private static final String EPOCH_ATTRIBUTE = CustomDateSerializer.class.getName() + ".epoch";
+
+    public CustomDateSerializer() {
+        super(LocalDateTime.class);
+    }
+
+    @Override
+    public void serialize(LocalDateTime value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+        if (isEpochRequested(provider)) {
+            gen.writeNumber(CustomDateUtil.toEpochMilli(value));
+            return;
+        }
+        gen.writeString(CustomDateUtil.toStringFormat(value));
+    }
+
+    private boolean isEpochRequested(SerializerProvider provider) {
+        Boolean epoch = (Boolean) provider.getAttribute(EPOCH_ATTRIBUTE);
+        if (epoch == null) {
+            epoch = readFormatHeader();
+            provider.setAttribute(EPOCH_ATTRIBUTE, epoch);
+        }
+        return epoch;
+    }
+
+    // 요청 밖(배치, 테스트 등)에서 직렬화하면 기본 형식
+    private boolean readFormatHeader() {
+        RequestAttributes requestAttributes = RequestContextHolder.getRequestAttributes();
+        if (!(requestAttributes instanceof ServletRequestAttributes)) {
+            return false;
+        }
+        String format = ((ServletRequestAttributes) requestAttributes).getRequest().getHeader(CustomDateUtil.FORMAT_HEADER);
+        return CustomDateUtil.FORMAT_EPOCH.equalsIgnoreCase(format);
+    }
+}
@@ -1,11 +1,53 @@
 package shop.mtcoding.bank.util;
 
 import java.time.LocalDateTime;
+import java.time.ZoneId;
 import java.time.format.DateTimeFormatter;
 
 public class CustomDateUtil {
+    public static final String PATTERN = "yyyy-MM-dd HH:mm:ss";
+    // DateTimeFormatter는 불변(thread-safe)이므로 패턴을 한번만 해석해서 공유한다.
+    public static final DateTimeFormatter FORMATTER = DateTimeFormatter.ofPattern(PATTERN);
+    public static final ZoneId ZONE = ZoneId.systemDefault();
 
+    // 요청 헤더 X-Date-Format: epoch 이면 응답의 날짜를 epoch millis(숫자)로 보낸다. (CustomDateSerializer)
+    public static final String FORMAT_HEADER = "X-Date-Format";
+    public static final String FORMAT_EPOCH = "epoch";
+
+    private static final int LENGTH = PATTERN.length();
+
+    // 고정 패턴이므로 DateTimeFormatter를 거치지 않고 char[] 하나에 바로 채운다. (목록 응답은 행마다 호출된다)
     public static String toStringFormat(LocalDateTime localDateTime) {
-        return localDateTime.format(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss"));
+        if (localDateTime == null) {
+            return null;
+        }
+        int year = localDateTime.getYear();
+        if (year < 0 || year > 9999) {
+            return localDateTime.format(FORMATTER);
+        }
+        char[] buf = new char[LENGTH];
+        writeDigits(buf, 0, year, 4);
+        buf[4] = '-';
+        writeDigits(buf, 5, localDateTime.getMonthValue(), 2);
+        buf[7] = '-';
+        writeDigits(buf, 8, localDateTime.getDayOfMonth(), 2);
+        buf[10] = ' ';
+        writeDigits(buf, 11, localDateTime.getHour(), 2);
+        buf[13] = ':';
+        writeDigits(buf, 14, localDateTime.getMinute(), 2);
+        buf[16] = ':';
+        writeDigits(buf, 17, localDateTime.getSecond(), 2);
+        return new String(buf);
+    }
+
+    public static long toEpochMilli(LocalDateTime localDateTime) {
+        return localDateTime.atZone(ZONE).toInstant().toEpochMilli();
+    }
+
+    private static void writeDigits(char[] buf, int offset, int value, int width) {
+        for (int i = offset + width - 1; i >= offset; i--) {
+            buf[i] = (char) ('0' + value % 10);
+            value /= 10;
+        }
     }
 }
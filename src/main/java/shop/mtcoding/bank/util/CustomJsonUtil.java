@@ -0,0 +1,26 @@
+package shop.mtcoding.bank.util;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+
+/*
+ * 필터처럼 스프링 MVC(MessageConverter)를 거치지 않는 곳에서 쓰는 공용 ObjectMapper
+ * ObjectMapper는 만들때 비용이 크고(직렬화기 캐시를 새로 만든다) 설정이 끝난 뒤에는 thread-safe 하므로 하나만 만들어서 공유한다.
+ * 스트림은 서블릿 컨테이너가 닫아야 하기 때문에 Jackson이 닫지 않도록 한다.
+ */
+public class CustomJsonUtil {
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper()
+            .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+            .disable(JsonParser.Feature.AUTO_CLOSE_SOURCE);
+
+    public static ObjectReader readerFor(Class<?> type) {
+        return OBJECT_MAPPER.readerFor(type);
+    }
+
+    public static ObjectWriter writerFor(Class<?> type) {
+        return OBJECT_MAPPER.writerFor(type);
+    }
+}
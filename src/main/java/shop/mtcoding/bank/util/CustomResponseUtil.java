@@ -1,36 +1,45 @@
 package shop.mtcoding.bank.util;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import java.time.LocalDateTime;
 import javax.servlet.http.HttpServletResponse;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.http.HttpStatus;
+import shop.mtcoding.bank.domain.user.User;
 import shop.mtcoding.bank.dto.ResponseDto;
+import shop.mtcoding.bank.dto.user.UserRespDto.LoginRespDto;
 
 public class CustomResponseUtil {
     private static final Logger log = LoggerFactory.getLogger(CustomResponseUtil.class);
 
-    public static void success(HttpServletResponse response, Object dto) {
+    private static final ObjectWriter RESPONSE_WRITER = CustomJsonUtil.writerFor(ResponseDto.class);
+
+    static {
+        // 첫 로그인(또는 첫 401/403) 요청이 직렬화기를 만드는 비용을 떠안지 않도록 미리 한번 직렬화해둔다.
         try {
-            ObjectMapper om = new ObjectMapper();
-            ResponseDto<?> responseDto = new ResponseDto<>(1, "로그인 성공", dto);
-            String responseBody = om.writeValueAsString(responseDto);
-            response.setContentType("application/json; charset=utf-8");
-            response.setStatus(200);
-            response.getWriter().println(responseBody);
+            User user = User.builder().id(0L).username("warmup").createdAt(LocalDateTime.now()).build();
+            RESPONSE_WRITER.writeValueAsBytes(new ResponseDto<>(1, "로그인 성공", new LoginRespDto(user)));
+            RESPONSE_WRITER.writeValueAsBytes(new ResponseDto<>(-1, "로그인 실패", null));
         } catch (Exception e) {
-            log.error("서버 파싱 에러");
+            log.warn("응답 직렬화기 초기화 실패");
         }
     }
 
+    public static void success(HttpServletResponse response, Object dto) {
+        write(response, HttpStatus.OK, new ResponseDto<>(1, "로그인 성공", dto));
+    }
+
     public static void fail(HttpServletResponse response, String msg, HttpStatus httpStatus) {
+        write(response, httpStatus, new ResponseDto<>(-1, msg, null));
+    }
+
+    // 중간에 String을 만들지 않고 응답 스트림에 바로 쓴다.
+    private static void write(HttpServletResponse response, HttpStatus httpStatus, ResponseDto<?> responseDto) {
         try {
-            ObjectMapper om = new ObjectMapper();
-            ResponseDto<?> responseDto = new ResponseDto<>(-1, msg, null);
-            String responseBody = om.writeValueAsString(responseDto);
             response.setContentType("application/json; charset=utf-8");
             response.setStatus(httpStatus.value());
-            response.getWriter().println(responseBody);
+            RESPONSE_WRITER.writeValue(response.getOutputStream(), responseDto);
         } catch (Exception e) {
             log.error("서버 파싱 에러");
         }
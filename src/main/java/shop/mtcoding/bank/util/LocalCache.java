@@ -0,0 +1,206 @@
+package shop.mtcoding.bank.util;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/*
+ * 크기(maxSize)와 유효시간(ttl)이 제한된 로컬 캐시 (LRU)
+ * - 키를 세그먼트로 나누고, 세그먼트마다 접근 순서 LinkedHashMap을 락 하나로 보호한다.
+ * - 가득 찬 세그먼트에 새 키를 넣으면 가장 오래 쓰지 않은 항목 하나를 지운다. (전체를 훑지 않는다)
+ * - 만료된 항목은 읽을 때 지운다.
+ * - evictLive=false : 유효한 항목은 지우지 않는다. (저장 순서로 두고 맨 앞의 만료된 항목만 지운다)
+ *   지울 항목이 없으면 새 키를 저장하지 않고 FullException (멱등키처럼 밀려나면 안되는 값)
+ * - 적중(hit)/실패(miss) 횟수를 센다.
+ */
+public class LocalCache<K, V> {
+    private static final int SEGMENTS = 16;
+    private static final int MIN_SEGMENT_SIZE = 512;    // 작은 캐시는 세그먼트 하나 (정확한 LRU)
+
+    private final Segment<K, V>[] segments;
+    private final long ttlMillis;
+    private final boolean evictLive;
+
+    private final LongAdder hitCount = new LongAdder();
+    private final LongAdder missCount = new LongAdder();
+
+    public LocalCache(int maxSize, long ttlMillis) {
+        this(maxSize, ttlMillis, true);
+    }
+
+    @SuppressWarnings("unchecked")
+    public LocalCache(int maxSize, long ttlMillis, boolean evictLive) {
+        int segmentCount = maxSize >= SEGMENTS * MIN_SEGMENT_SIZE ? SEGMENTS : 1;
+        this.segments = new Segment[segmentCount];
+        for (int i = 0; i < segmentCount; i++) {
+            segments[i] = new Segment<>(maxSize / segmentCount, evictLive);
+        }
+        this.ttlMillis = ttlMillis;
+        this.evictLive = evictLive;
+    }
+
+    public V get(K key) {
+        Segment<K, V> segment = segmentFor(key);
+        Entry<V> entry;
+        synchronized (segment) {
+            entry = segment.map.get(key);
+            if (entry != null && entry.isExpired(System.currentTimeMillis())) {
+                segment.map.remove(key);
+                entry = null;
+            }
+        }
+        if (entry == null) {
+            missCount.increment();
+            return null;
+        }
+        hitCount.increment();
+        return entry.value;
+    }
+
+    // 캐시에 없으면 loader로 읽어와서 저장한다. (loader가 null을 리턴하면 저장하지 않는다)
+    // 여러 스레드가 동시에 읽어와도 먼저 저장된 값 하나를 모두 같이 쓴다. (loader는 락 밖에서 실행 - DB 조회일 수 있다)
+    public V get(K key, Function<K, V> loader) {
+        V value = get(key);
+        if (value != null) {
+            return value;
+        }
+        value = loader.apply(key);
+        if (value == null) {
+            return null;
+        }
+        long now = System.currentTimeMillis();
+        V existing = insert(key, new Entry<>(value, now + ttlMillis), false, now);
+        return existing != null ? existing : value;
+    }
+
+    public void put(K key, V value) {
+        put(key, value, Long.MAX_VALUE);
+    }
+
+    // expiresAtMillis : 값 자체의 만료시간 (ttl보다 늦으면 ttl을 따른다)
+    public void put(K key, V value, long expiresAtMillis) {
+        long now = System.currentTimeMillis();
+        insert(key, new Entry<>(value, Math.min(expiresAtMillis, now + ttlMillis)), true, now);
+    }
+
+    // 없거나 만료되었으면 저장하고 null을 리턴, 유효한 값이 있으면 저장하지 않고 그 값을 리턴한다. (원자적)
+    public V putIfAbsent(K key, V value) {
+        long now = System.currentTimeMillis();
+        V existing = insert(key, new Entry<>(value, now + ttlMillis), false, now);
+        if (existing == null) {
+            missCount.increment();
+            return null;
+        }
+        hitCount.increment();
+        return existing;
+    }
+
+    public void evict(K key) {
+        Segment<K, V> segment = segmentFor(key);
+        synchronized (segment) {
+            segment.map.remove(key);
+        }
+    }
+
+    public void clear() {
+        for (Segment<K, V> segment : segments) {
+            synchronized (segment) {
+                segment.map.clear();
+            }
+        }
+    }
+
+    public int size() {
+        int size = 0;
+        for (Segment<K, V> segment : segments) {
+            synchronized (segment) {
+                size += segment.map.size();
+            }
+        }
+        return size;
+    }
+
+    public long getHitCount() {
+        return hitCount.sum();
+    }
+
+    public long getMissCount() {
+        return missCount.sum();
+    }
+
+    public double getHitRatio() {
+        long hit = getHitCount();
+        long total = hit + getMissCount();
+        return total == 0 ? 0.0 : (double) hit / total;
+    }
+
+    // replace가 false이면 유효한 값이 있을 때 저장하지 않고 그 값을 리턴한다. 저장했으면 null
+    private V insert(K key, Entry<V> newEntry, boolean replace, long now) {
+        Segment<K, V> segment = segmentFor(key);
+        synchronized (segment) {
+            Entry<V> entry = segment.map.get(key);
+            if (entry != null && !replace && !entry.isExpired(now)) {
+                return entry.value;
+            }
+            if (entry == null) {
+                makeRoom(segment, now);
+            } else if (!evictLive) {
+                segment.map.remove(key);    // 새 항목은 맨 뒤로 (저장 순서 = 만료 순서)
+            }
+            segment.map.put(key, newEntry);
+            return null;
+        }
+    }
+
+    // 맨 앞(가장 오래 쓰지 않은 / 가장 먼저 저장된) 항목부터 지운다. (새 키 하나에 항목 하나 - 전체를 훑지 않는다)
+    private void makeRoom(Segment<K, V> segment, long now) {
+        Iterator<Entry<V>> iterator = segment.map.values().iterator();
+        while (segment.map.size() >= segment.maxSize && iterator.hasNext()) {
+            Entry<V> eldest = iterator.next();
+            if (!evictLive && !eldest.isExpired(now)) {
+                throw new FullException();
+            }
+            iterator.remove();
+        }
+    }
+
+    private Segment<K, V> segmentFor(K key) {
+        if (segments.length == 1) {
+            return segments[0];
+        }
+        int hash = key.hashCode();
+        return segments[(hash ^ (hash >>> 16)) & (segments.length - 1)];
+    }
+
+    private static class Segment<K, V> {
+        private final LinkedHashMap<K, Entry<V>> map;   // evictLive이면 접근 순서, 아니면 저장 순서
+        private final int maxSize;
+
+        private Segment(int maxSize, boolean accessOrder) {
+            this.map = new LinkedHashMap<>(16, 0.75f, accessOrder);
+            this.maxSize = maxSize;
+        }
+    }
+
+    // evictLive=false 인 캐시가 유효한 항목으로 가득 참
+    public static class FullException extends RuntimeException {
+        private FullException() {
+            super("캐시가 가득 찼습니다");
+        }
+    }
+
+    private static class Entry<V> {
+        private final V value;
+        private final long expiresAtMillis;
+
+        private Entry(V value, long expiresAtMillis) {
+            this.value = value;
+            this.expiresAtMillis = expiresAtMillis;
+        }
+
+        private boolean isExpired(long now) {
+            return now >= expiresAtMillis;
+        }
+    }
+}
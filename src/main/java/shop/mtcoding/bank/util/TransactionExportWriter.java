@@ -0,0 +1,194 @@
+package shop.mtcoding.bank.util;
+
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import javax.servlet.http.HttpServletResponse;
+import shop.mtcoding.bank.dto.transaction.TransactionRespDto.TransactionExportDto;
+import shop.mtcoding.bank.handler.ex.CustomApiException;
+
+/*
+ * 거래내역 내보내기 - 한 행씩 응답 스트림에 바로 쓴다. (버퍼 크기 외에는 메모리를 쓰지 않는다)
+ * 1. begin() : 응답 헤더를 정하고 스트림을 연다. 검증이 끝난 뒤에 호출해야 실패 응답을 JSON으로 보낼 수 있다.
+ * 2. write() : 한 행
+ * 3. end()   : 남은 버퍼를 보낸다. (스트림은 서블릿 컨테이너가 닫는다)
+ */
+public abstract class TransactionExportWriter {
+    private static final int BUFFER_SIZE = 8192;
+
+    private final HttpServletResponse response;
+    private final String filename;
+    protected Writer writer;
+
+    protected TransactionExportWriter(HttpServletResponse response, String filename) {
+        this.response = response;
+        this.filename = filename;
+    }
+
+    // format : csv, ndjson
+    public static TransactionExportWriter of(String format, HttpServletResponse response, String filename) {
+        if ("csv".equalsIgnoreCase(format)) {
+            return new CsvWriter(response, filename);
+        }
+        if ("ndjson".equalsIgnoreCase(format)) {
+            return new NdjsonWriter(response, filename);
+        }
+        throw new CustomApiException("내보내기 형식은 csv, ndjson만 가능합니다");
+    }
+
+    public void begin() {
+        try {
+            response.setContentType(contentType());
+            response.setHeader("Content-Disposition", "attachment; filename=\"" + filename + "." + extension() + "\"");
+            writer = new BufferedWriter(new OutputStreamWriter(response.getOutputStream(), StandardCharsets.UTF_8), BUFFER_SIZE);
+            writeHeader();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // Consumer로 넘기기 위해 IOException을 감싼다.
+    public void write(TransactionExportDto transactionExportDto) {
+        try {
+            writeRow(transactionExportDto);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public void end() {
+        try {
+            writer.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    protected abstract String contentType();
+
+    protected abstract String extension();
+
+    protected abstract void writeHeader() throws IOException;
+
+    protected abstract void writeRow(TransactionExportDto transactionExportDto) throws IOException;
+
+    static class CsvWriter extends TransactionExportWriter {
+        private static final String HEADER = "id,gubun,amount,withdrawNumber,depositNumber,withdrawAccountBalance,"
+                + "depositAccountBalance,sender,receiver,tel,createdAt\n";
+
+        CsvWriter(HttpServletResponse response, String filename) {
+            super(response, filename);
+        }
+
+        @Override
+        protected String contentType() {
+            return "text/csv; charset=utf-8";
+        }
+
+        @Override
+        protected String extension() {
+            return "csv";
+        }
+
+        @Override
+        protected void writeHeader() throws IOException {
+            writer.write(HEADER);
+        }
+
+        @Override
+        protected void writeRow(TransactionExportDto dto) throws IOException {
+            writeValue(dto.getId());
+            writer.write(',');
+            writeValue(dto.getGubun());
+            writer.write(',');
+            writeValue(dto.getAmount());
+            writer.write(',');
+            writeValue(dto.getWithdrawNumber());
+            writer.write(',');
+            writeValue(dto.getDepositNumber());
+            writer.write(',');
+            writeValue(dto.getWithdrawAccountBalance());
+            writer.write(',');
+            writeValue(dto.getDepositAccountBalance());
+            writer.write(',');
+            writeValue(dto.getSender());
+            writer.write(',');
+            writeValue(dto.getReceiver());
+            writer.write(',');
+            writeValue(dto.getTel());
+            writer.write(',');
+            writeValue(dto.getCreatedAt());
+            writer.write('\n');
+        }
+
+        private void writeValue(Long value) throws IOException {
+            if (value != null) {
+                writer.write(Long.toString(value));
+            }
+        }
+
+        // 쉼표, 큰따옴표, 줄바꿈이 있으면 큰따옴표로 감싸고 안의 큰따옴표는 두번 쓴다. (RFC 4180)
+        private void writeValue(String value) throws IOException {
+            if (value == null) {
+                return;
+            }
+            if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+                writer.write(value);
+                return;
+            }
+            writer.write('"');
+            writer.write(value.replace("\"", "\"\""));
+            writer.write('"');
+        }
+    }
+
+    static class NdjsonWriter extends TransactionExportWriter {
+        // 한 행마다 flush하지 않는다. (BufferedWriter가 모아서 보낸다)
+        private static final ObjectWriter ROW_WRITER = CustomJsonUtil.writerFor(TransactionExportDto.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE)
+                .withRootValueSeparator("\n");
+
+        private SequenceWriter sequenceWriter;
+
+        NdjsonWriter(HttpServletResponse response, String filename) {
+            super(response, filename);
+        }
+
+        @Override
+        protected String contentType() {
+            return "application/x-ndjson; charset=utf-8";
+        }
+
+        @Override
+        protected String extension() {
+            return "ndjson";
+        }
+
+        @Override
+        protected void writeHeader() throws IOException {
+            sequenceWriter = ROW_WRITER.writeValues(writer);
+        }
+
+        @Override
+        protected void writeRow(TransactionExportDto dto) throws IOException {
+            sequenceWriter.write(dto);
+        }
+
+        @Override
+        public void end() {
+            try {
+                sequenceWriter.flush();
+                writer.write('\n');
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            super.end();
+        }
+    }
+}
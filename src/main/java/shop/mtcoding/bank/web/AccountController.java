@@ -2,12 +2,10 @@ package shop.mtcoding.bank.web;
 
 import static shop.mtcoding.bank.dto.account.AccountReqDto.*;
 
-import javax.validation.Valid;
 import lombok.RequiredArgsConstructor;
-import org.springframework.http.HttpStatus;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
-import org.springframework.validation.BindingResult;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -16,61 +14,58 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 import shop.mtcoding.bank.config.auth.LoginUser;
-import shop.mtcoding.bank.dto.ResponseDto;
-import shop.mtcoding.bank.dto.account.AccountReqDto;
 import shop.mtcoding.bank.dto.account.AccountReqDto.AccountSaveReqDto;
-import shop.mtcoding.bank.dto.account.AccountRespDto.AccountDepositRespDto;
-import shop.mtcoding.bank.dto.account.AccountRespDto.AccountListRespDto;
-import shop.mtcoding.bank.dto.account.AccountRespDto.AccountSaveRespDto;
-import shop.mtcoding.bank.dto.account.AccountRespDto.AccountTransferRespDto;
-import shop.mtcoding.bank.dto.account.AccountRespDto.AccountWithdrawRespDto;
-import shop.mtcoding.bank.service.AccountService;
+import shop.mtcoding.bank.dto.account.AccountReqDto.AccountTransferBatchReqDto;
+import shop.mtcoding.bank.handler.aop.Idempotent;
 
+// bank.async.enabled=true 이면 AsyncAccountController가 대신 등록된다. (서비스 호출, 응답은 AccountHandler)
+@ConditionalOnProperty(name = "bank.async.enabled", havingValue = "false", matchIfMissing = true)
 @RequiredArgsConstructor
 @RequestMapping("/api")
 @RestController
 public class AccountController {
-    private final AccountService accountService;
+    private final AccountHandler accountHandler;
 
     @PostMapping("/s/account")
-    public ResponseEntity<?> saveAccount(@RequestBody @Valid AccountSaveReqDto accountSaveReqDto, BindingResult bindingResult,
+    public ResponseEntity<?> saveAccount(@RequestBody AccountSaveReqDto accountSaveReqDto,
                                          @AuthenticationPrincipal LoginUser loginUser) {    // id, role만 존재
-        AccountSaveRespDto accountSaveRespDto = accountService.계좌등록(accountSaveReqDto, loginUser.getUser().getId());
-        return new ResponseEntity<>(new ResponseDto<>(1, "계좌등록 성공", accountSaveRespDto), HttpStatus.CREATED);
+        return accountHandler.saveAccount(accountSaveReqDto, loginUser.getId());
     }
 
     @GetMapping("/s/account/login-user")
     public ResponseEntity<?> findUserAccount(@AuthenticationPrincipal LoginUser loginUser) {
-        AccountListRespDto accountListRespDto = accountService.계좌목록보기_유저별(loginUser.getUser().getId());
-        return new ResponseEntity<>(new ResponseDto<>(1, "계좌목록보기_유저별 성공", accountListRespDto), HttpStatus.OK);
+        return accountHandler.findUserAccount(loginUser.getId());
     }
 
     @DeleteMapping("/s/account/{number}")
     public ResponseEntity<?> deleteAccount(@PathVariable("number") Long number, @AuthenticationPrincipal LoginUser loginUser) {
-        accountService.계좌삭제(number, loginUser.getUser().getId());
-        return new ResponseEntity<>(new ResponseDto<>(1, "계좌삭제 성공", null), HttpStatus.OK);
+        return accountHandler.deleteAccount(number, loginUser.getId());
     }
 
+    @Idempotent
     @PostMapping("/account/deposit")
-    public ResponseEntity<?> depositAccount(@RequestBody @Valid AccountDepositReqDto accountDepositReqDto, BindingResult bindingResult) {
-        AccountDepositRespDto accountDepositRespDto = accountService.계좌입금(accountDepositReqDto);
-        return new ResponseEntity<>(new ResponseDto<>(1, "계좌입금 성공", accountDepositRespDto), HttpStatus.CREATED);
+    public ResponseEntity<?> depositAccount(@RequestBody AccountDepositReqDto accountDepositReqDto) {
+        return accountHandler.depositAccount(accountDepositReqDto);
     }
 
-    // @Valid뒤에 BindingResult가 바로 들어와야 한다.
+    @Idempotent
     @PostMapping("/s/account/withdraw")
-    public ResponseEntity<?> withdrawAccount(@RequestBody @Valid AccountWithdrawReqDto accountWithdrawReqDto,
-                                             BindingResult bindingResult,
+    public ResponseEntity<?> withdrawAccount(@RequestBody AccountWithdrawReqDto accountWithdrawReqDto,
                                              @AuthenticationPrincipal LoginUser loginUser) {
-        AccountWithdrawRespDto accountWithdrawRespDto = accountService.계좌출금(accountWithdrawReqDto, loginUser.getUser().getId());
-        return new ResponseEntity<>(new ResponseDto<>(1, "계좌출금 성공", accountWithdrawRespDto), HttpStatus.CREATED);
+        return accountHandler.withdrawAccount(accountWithdrawReqDto, loginUser.getId());
     }
 
+    @Idempotent
     @PostMapping("/s/account/transfer")
-    public ResponseEntity<?> transferAccount(@RequestBody @Valid AccountTransferReqDto accountTransferReqDto,
-                                             BindingResult bindingResult,
+    public ResponseEntity<?> transferAccount(@RequestBody AccountTransferReqDto accountTransferReqDto,
                                              @AuthenticationPrincipal LoginUser loginUser) {
-        AccountTransferRespDto accountTransferRespDto = accountService.계좌이체(accountTransferReqDto, loginUser.getUser().getId());
-        return new ResponseEntity<>(new ResponseDto<>(1, "계좌출금 성공", accountTransferRespDto), HttpStatus.CREATED);
+        return accountHandler.transferAccount(accountTransferReqDto, loginUser.getId());
+    }
+
+    @Idempotent
+    @PostMapping("/s/account/transfer/batch")
+    public ResponseEntity<?> transferAccountBatch(@RequestBody AccountTransferBatchReqDto accountTransferBatchReqDto,
+                                                  @AuthenticationPrincipal LoginUser loginUser) {
+        return accountHandler.transferAccountBatch(accountTransferBatchReqDto, loginUser.getId());
     }
 }
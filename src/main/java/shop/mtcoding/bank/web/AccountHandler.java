@@ -0,0 +1,95 @@
+package shop.mtcoding.bank.web;
+
+import static shop.mtcoding.bank.dto.account.AccountReqDto.*;
+
+import java.util.concurrent.CompletableFuture;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import shop.mtcoding.bank.dto.ResponseDto;
+import shop.mtcoding.bank.dto.account.AccountReqDto.AccountSaveReqDto;
+import shop.mtcoding.bank.dto.account.AccountReqDto.AccountTransferBatchReqDto;
+import shop.mtcoding.bank.dto.account.AccountRespDto.AccountDepositRespDto;
+import shop.mtcoding.bank.dto.account.AccountRespDto.AccountListRespDto;
+import shop.mtcoding.bank.dto.account.AccountRespDto.AccountSaveRespDto;
+import shop.mtcoding.bank.dto.account.AccountRespDto.AccountTransferBatchRespDto;
+import shop.mtcoding.bank.dto.account.AccountRespDto.AccountTransferRespDto;
+import shop.mtcoding.bank.dto.account.AccountRespDto.AccountWithdrawRespDto;
+import shop.mtcoding.bank.service.AccountService;
+import shop.mtcoding.bank.service.LedgerWriter;
+import shop.mtcoding.bank.service.ledger.LedgerEngine;
+
+/*
+ * 계좌 API의 서비스 호출과 응답 - AccountController(동기 모드), AsyncAccountController(비동기 모드)가 같이 쓴다.
+ * 컨트롤러는 주소 매핑과 실행 위치(요청 스레드 / AccountExecutor)만 정한다.
+ */
+@RequiredArgsConstructor
+@Component
+public class AccountHandler {
+    private final AccountService accountService;
+    private final LedgerWriter ledgerWriter;
+    private final LedgerEngine ledgerEngine;
+
+    public ResponseEntity<?> saveAccount(AccountSaveReqDto accountSaveReqDto, Long userId) {
+        AccountSaveRespDto accountSaveRespDto = accountService.계좌등록(accountSaveReqDto, userId);
+        return new ResponseEntity<>(new ResponseDto<>(1, "계좌등록 성공", accountSaveRespDto), HttpStatus.CREATED);
+    }
+
+    public ResponseEntity<?> findUserAccount(Long userId) {
+        AccountListRespDto accountListRespDto = accountService.계좌목록보기_유저별(userId);
+        return new ResponseEntity<>(new ResponseDto<>(1, "계좌목록보기_유저별 성공", accountListRespDto), HttpStatus.OK);
+    }
+
+    public ResponseEntity<?> deleteAccount(Long number, Long userId) {
+        accountService.계좌삭제(number, userId);
+        return new ResponseEntity<>(new ResponseDto<>(1, "계좌삭제 성공", null), HttpStatus.OK);
+    }
+
+    // 메모리 원장을 켜면 WAL에 기록될때까지, 그룹 커밋을 켜면 다른 요청의 입금과 묶어서 커밋될때까지 기다린다.
+    public ResponseEntity<?> depositAccount(AccountDepositReqDto accountDepositReqDto) {
+        AccountDepositRespDto accountDepositRespDto;
+        if (ledgerEngine.isEnabled()) {
+            accountDepositRespDto = ledgerEngine.deposit(accountDepositReqDto);
+        } else if (ledgerWriter.isEnabled()) {
+            accountDepositRespDto = ledgerWriter.deposit(accountDepositReqDto);
+        } else {
+            accountDepositRespDto = accountService.계좌입금(accountDepositReqDto);
+        }
+        return depositResponse(accountDepositRespDto);
+    }
+
+    // 비동기 모드 - 메모리 원장, 그룹 커밋은 AccountExecutor 스레드도 쓰지 않고 LedgerEngine, LedgerWriter의 future를 그대로 쓴다.
+    // 둘 다 꺼져 있으면 null (AsyncAccountController가 depositAccount()를 AccountExecutor에서 실행한다)
+    public CompletableFuture<ResponseEntity<?>> depositAccountAsync(AccountDepositReqDto accountDepositReqDto) {
+        CompletableFuture<AccountDepositRespDto> future;
+        if (ledgerEngine.isEnabled()) {
+            future = ledgerEngine.depositAsync(accountDepositReqDto);
+        } else if (ledgerWriter.isEnabled()) {
+            future = ledgerWriter.depositAsync(accountDepositReqDto);
+        } else {
+            return null;
+        }
+        return future.thenApply(this::depositResponse);
+    }
+
+    public ResponseEntity<?> withdrawAccount(AccountWithdrawReqDto accountWithdrawReqDto, Long userId) {
+        AccountWithdrawRespDto accountWithdrawRespDto = accountService.계좌출금(accountWithdrawReqDto, userId);
+        return new ResponseEntity<>(new ResponseDto<>(1, "계좌출금 성공", accountWithdrawRespDto), HttpStatus.CREATED);
+    }
+
+    public ResponseEntity<?> transferAccount(AccountTransferReqDto accountTransferReqDto, Long userId) {
+        AccountTransferRespDto accountTransferRespDto = accountService.계좌이체(accountTransferReqDto, userId);
+        return new ResponseEntity<>(new ResponseDto<>(1, "계좌출금 성공", accountTransferRespDto), HttpStatus.CREATED);
+    }
+
+    // 건별로 성공/실패가 다를 수 있으므로 응답 코드는 항상 201, 결과는 results에서 확인한다.
+    public ResponseEntity<?> transferAccountBatch(AccountTransferBatchReqDto accountTransferBatchReqDto, Long userId) {
+        AccountTransferBatchRespDto accountTransferBatchRespDto = accountService.계좌일괄이체(accountTransferBatchReqDto, userId);
+        return new ResponseEntity<>(new ResponseDto<>(1, "계좌일괄이체 성공", accountTransferBatchRespDto), HttpStatus.CREATED);
+    }
+
+    private ResponseEntity<?> depositResponse(AccountDepositRespDto accountDepositRespDto) {
+        return new ResponseEntity<>(new ResponseDto<>(1, "계좌입금 성공", accountDepositRespDto), HttpStatus.CREATED);
+    }
+}
@@ -0,0 +1,35 @@
+package shop.mtcoding.bank.web;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import shop.mtcoding.bank.config.auth.MissingUsernameCache;
+import shop.mtcoding.bank.config.jwt.JwtProcess;
+import shop.mtcoding.bank.domain.account.AccountMetaCache;
+import shop.mtcoding.bank.dto.ResponseDto;
+import shop.mtcoding.bank.dto.admin.AdminRespDto.CacheStatsRespDto;
+import shop.mtcoding.bank.handler.aop.IdempotencyAdvice;
+
+@RequiredArgsConstructor
+@RequestMapping("/api")
+@RestController
+public class AdminController {
+    private final AccountMetaCache accountMetaCache;
+    private final MissingUsernameCache missingUsernameCache;
+    private final IdempotencyAdvice idempotencyAdvice;
+
+    // 로컬 캐시 적중률 (ADMIN 권한 필요)
+    @GetMapping("/admin/cache")
+    public ResponseEntity<?> findCacheStats() {
+        CacheStatsRespDto cacheStatsRespDto = new CacheStatsRespDto()
+                .add("accountMeta", accountMetaCache.getMetaCache())
+                .add("userFullname", accountMetaCache.getFullnameCache())
+                .add("verifiedToken", JwtProcess.getVerifiedTokenCache())
+                .add("missingUsername", missingUsernameCache.getCache())
+                .add("idempotency", idempotencyAdvice.getCache());
+        return new ResponseEntity<>(new ResponseDto<>(1, "캐시 통계 조회 성공", cacheStatsRespDto), HttpStatus.OK);
+    }
+}
@@ -0,0 +1,91 @@
+package shop.mtcoding.bank.web;
+
+import static shop.mtcoding.bank.dto.account.AccountReqDto.*;
+
+import java.util.concurrent.CompletableFuture;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import shop.mtcoding.bank.config.async.AccountExecutor;
+import shop.mtcoding.bank.config.auth.LoginUser;
+import shop.mtcoding.bank.dto.account.AccountReqDto.AccountSaveReqDto;
+import shop.mtcoding.bank.dto.account.AccountReqDto.AccountTransferBatchReqDto;
+import shop.mtcoding.bank.handler.aop.Idempotent;
+
+/*
+ * bank.async.enabled=true 일때 AccountController 대신 등록된다. (주소, 요청, 응답은 같다 - AccountHandler)
+ * 서비스 호출을 AccountExecutor에 넘기고 CompletableFuture를 리턴하면 톰캣 스레드는 바로 반환된다.
+ * - 유효성검사(ValidationBodyAdvice), 로그인 유저 확인은 톰캣 스레드에서 먼저 끝난다.
+ * - 서비스에서 던진 예외는 CompletionException을 벗겨서 CustomExceptionHandler가 처리한다.
+ * - loginUser는 요청 스레드에서 꺼내둔다. (스레드풀에는 시큐리티 컨텍스트가 없다)
+ */
+@ConditionalOnProperty(name = "bank.async.enabled", havingValue = "true")
+@RequiredArgsConstructor
+@RequestMapping("/api")
+@RestController
+public class AsyncAccountController {
+    private final AccountHandler accountHandler;
+    private final AccountExecutor accountExecutor;
+
+    @PostMapping("/s/account")
+    public CompletableFuture<ResponseEntity<?>> saveAccount(@RequestBody AccountSaveReqDto accountSaveReqDto,
+                                                            @AuthenticationPrincipal LoginUser loginUser) {
+        Long userId = loginUser.getId();
+        return accountExecutor.supply(() -> accountHandler.saveAccount(accountSaveReqDto, userId));
+    }
+
+    @GetMapping("/s/account/login-user")
+    public CompletableFuture<ResponseEntity<?>> findUserAccount(@AuthenticationPrincipal LoginUser loginUser) {
+        Long userId = loginUser.getId();
+        return accountExecutor.supply(() -> accountHandler.findUserAccount(userId));
+    }
+
+    @DeleteMapping("/s/account/{number}")
+    public CompletableFuture<ResponseEntity<?>> deleteAccount(@PathVariable("number") Long number,
+                                                              @AuthenticationPrincipal LoginUser loginUser) {
+        Long userId = loginUser.getId();
+        return accountExecutor.supply(() -> accountHandler.deleteAccount(number, userId));
+    }
+
+    @Idempotent
+    @PostMapping("/account/deposit")
+    public CompletableFuture<ResponseEntity<?>> depositAccount(@RequestBody AccountDepositReqDto accountDepositReqDto) {
+        CompletableFuture<ResponseEntity<?>> future = accountHandler.depositAccountAsync(accountDepositReqDto);
+        if (future != null) {
+            return future;
+        }
+        return accountExecutor.supply(() -> accountHandler.depositAccount(accountDepositReqDto));
+    }
+
+    @Idempotent
+    @PostMapping("/s/account/withdraw")
+    public CompletableFuture<ResponseEntity<?>> withdrawAccount(@RequestBody AccountWithdrawReqDto accountWithdrawReqDto,
+                                                                @AuthenticationPrincipal LoginUser loginUser) {
+        Long userId = loginUser.getId();
+        return accountExecutor.supply(() -> accountHandler.withdrawAccount(accountWithdrawReqDto, userId));
+    }
+
+    @Idempotent
+    @PostMapping("/s/account/transfer")
+    public CompletableFuture<ResponseEntity<?>> transferAccount(@RequestBody AccountTransferReqDto accountTransferReqDto,
+                                                                @AuthenticationPrincipal LoginUser loginUser) {
+        Long userId = loginUser.getId();
+        return accountExecutor.supply(() -> accountHandler.transferAccount(accountTransferReqDto, userId));
+    }
+
+    @Idempotent
+    @PostMapping("/s/account/transfer/batch")
+    public CompletableFuture<ResponseEntity<?>> transferAccountBatch(@RequestBody AccountTransferBatchReqDto accountTransferBatchReqDto,
+                                                                     @AuthenticationPrincipal LoginUser loginUser) {
+        Long userId = loginUser.getId();
+        return accountExecutor.supply(() -> accountHandler.transferAccountBatch(accountTransferBatchReqDto, userId));
+    }
+}
@@ -0,0 +1,75 @@
+package shop.mtcoding.bank.web;
+
+import java.time.LocalDate;
+import javax.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.format.annotation.DateTimeFormat.ISO;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import shop.mtcoding.bank.config.auth.LoginUser;
+import shop.mtcoding.bank.dto.ResponseDto;
+import shop.mtcoding.bank.dto.transaction.TransactionRespDto.StatementRespDto;
+import shop.mtcoding.bank.dto.transaction.TransactionRespDto.TransactionListRespDto;
+import shop.mtcoding.bank.service.TransactionService;
+import shop.mtcoding.bank.util.TransactionExportWriter;
+
+@RequiredArgsConstructor
+@RequestMapping("/api")
+@RestController
+public class TransactionController {
+    private final TransactionService transactionService;
+
+    // cursor : 이전 응답의 nextCursor (첫 페이지는 생략)
+    // page : 오프셋 페이징 (0부터, 페이지 크기 5) - 보내면 cursor, size는 무시한다.
+    @GetMapping("/s/account/{number}/transaction")
+    public ResponseEntity<?> findTransactionList(@PathVariable("number") Long number,
+                                                 @RequestParam(value = "gubun", defaultValue = "ALL") String gubun,
+                                                 @RequestParam(value = "cursor", required = false) String cursor,
+                                                 @RequestParam(value = "size", required = false) Integer size,
+                                                 @RequestParam(value = "page", required = false) Integer page,
+                                                 @AuthenticationPrincipal LoginUser loginUser) {
+        TransactionListRespDto transactionListRespDto = page != null
+                ? transactionService.입출금목록페이지보기(loginUser.getId(), number, gubun, page)
+                : transactionService.입출금목록보기(loginUser.getId(), number, gubun, cursor, size);
+        return new ResponseEntity<>(new ResponseDto<>(1, "입출금목록보기 성공", transactionListRespDto), HttpStatus.OK);
+    }
+
+    // from, to : yyyy-MM-dd (종료일 포함)
+    @GetMapping("/s/account/{number}/statement")
+    public ResponseEntity<?> findStatement(@PathVariable("number") Long number,
+                                           @RequestParam("from") @DateTimeFormat(iso = ISO.DATE) LocalDate from,
+                                           @RequestParam("to") @DateTimeFormat(iso = ISO.DATE) LocalDate to,
+                                           @AuthenticationPrincipal LoginUser loginUser) {
+        StatementRespDto statementRespDto = transactionService.계좌명세서보기(loginUser.getId(), number, from, to);
+        return new ResponseEntity<>(new ResponseDto<>(1, "계좌명세서보기 성공", statementRespDto), HttpStatus.OK);
+    }
+
+    // 전체 거래내역 내보내기 (응답 스트림에 바로 쓴다) - format : csv, ndjson / from, to : 생략하면 전체 기간
+    @GetMapping("/s/account/{number}/transaction/export")
+    public void exportTransactionList(@PathVariable("number") Long number,
+                                      @RequestParam(value = "format", defaultValue = "csv") String format,
+                                      @RequestParam(value = "from", required = false) @DateTimeFormat(iso = ISO.DATE) LocalDate from,
+                                      @RequestParam(value = "to", required = false) @DateTimeFormat(iso = ISO.DATE) LocalDate to,
+                                      @AuthenticationPrincipal LoginUser loginUser,
+                                      HttpServletResponse response) {
+        TransactionExportWriter transactionExportWriter = TransactionExportWriter.of(format, response, "transaction_" + number);
+        transactionService.거래내역내보내기(loginUser.getId(), number, from, to, transactionExportWriter);
+    }
+
+    // 감사용 - 기간 안의 모든 계좌 (ADMIN 권한 필요)
+    @GetMapping("/admin/transaction/export")
+    public void exportAllTransactionList(@RequestParam(value = "format", defaultValue = "csv") String format,
+                                         @RequestParam("from") @DateTimeFormat(iso = ISO.DATE) LocalDate from,
+                                         @RequestParam("to") @DateTimeFormat(iso = ISO.DATE) LocalDate to,
+                                         HttpServletResponse response) {
+        TransactionExportWriter transactionExportWriter = TransactionExportWriter.of(format, response, "transaction_" + from + "_" + to);
+        transactionService.기간거래내역내보내기(from, to, transactionExportWriter);
+    }
+}
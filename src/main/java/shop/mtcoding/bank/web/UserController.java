@@ -1,17 +1,21 @@
 package shop.mtcoding.bank.web;
 
-import javax.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
-import org.springframework.validation.BindingResult;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import shop.mtcoding.bank.config.auth.LoginUser;
+import shop.mtcoding.bank.config.jwt.JwtProcess;
+import shop.mtcoding.bank.config.jwt.JwtVO;
 import shop.mtcoding.bank.dto.ResponseDto;
 import shop.mtcoding.bank.dto.user.UserReqDto.JoinReqDto;
 import shop.mtcoding.bank.dto.user.UserRespDto.JoinRespDto;
+import shop.mtcoding.bank.service.TokenService;
 import shop.mtcoding.bank.service.UserService;
 
 @RequiredArgsConstructor
@@ -19,10 +23,30 @@ import shop.mtcoding.bank.service.UserService;
 @RestController
 public class UserController {
     private final UserService userService;
+    private final TokenService tokenService;
 
     @PostMapping("/join")
-    public ResponseEntity<?> join(@RequestBody @Valid JoinReqDto joinReqDto, BindingResult bindingResult) {
+    public ResponseEntity<?> join(@RequestBody JoinReqDto joinReqDto) {
         JoinRespDto joinRespDto = userService.회원가입(joinReqDto);
         return new ResponseEntity<>(new ResponseDto<>(1, "회원가입 성공", joinRespDto), HttpStatus.CREATED);
     }
+
+    // 액세스 토큰 재발급 - 리플래시 토큰도 새로 발급하고 이전 리플래시 토큰은 폐기한다.
+    @PostMapping("/token/refresh")
+    public ResponseEntity<?> refresh(@RequestHeader(JwtVO.REFRESH_HEADER) String refreshToken) {
+        LoginUser loginUser = tokenService.토큰재발급(refreshToken);
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.add(JwtVO.HEADER, JwtProcess.create(loginUser));
+        headers.add(JwtVO.REFRESH_HEADER, JwtProcess.createRefresh(loginUser));
+        return new ResponseEntity<>(new ResponseDto<>(1, "토큰 재발급 성공", null), headers, HttpStatus.OK);
+    }
+
+    // 로그아웃 - 액세스 토큰과 (같이 보내면) 리플래시 토큰을 만료시간까지 폐기한다.
+    @PostMapping("/s/logout")
+    public ResponseEntity<?> logout(@RequestHeader(JwtVO.HEADER) String token,
+                                   @RequestHeader(value = JwtVO.REFRESH_HEADER, required = false) String refreshToken) {
+        tokenService.로그아웃(token.replace(JwtVO.TOKEN_PREFIX, ""), refreshToken);
+        return new ResponseEntity<>(new ResponseDto<>(1, "로그아웃 성공", null), HttpStatus.OK);
+    }
 }
@@ -0,0 +1,2 @@
+-- prod(MariaDB) : 계좌번호 -> (계좌id, 소유자id) 조회(AccountMeta)용 커버링 인덱스 (배포 전에 한번만 실행)
+CREATE INDEX IF NOT EXISTS idx_account_number_user ON account_tb (number, user_id);
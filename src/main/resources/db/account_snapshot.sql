@@ -0,0 +1,32 @@
+-- prod(MariaDB 10.2 이상) : 계좌별 일별 마감잔액 테이블 (배포 전에 한번만 실행)
+-- 입금/출금/이체가 같은 트랜잭션에서 upsert 하므로 이 테이블과 uk_account_snapshot이 없으면 모든 거래가 롤백된다.
+-- ON DUPLICATE KEY UPDATE는 uk_account_snapshot (account_id, snapshot_date)로 같은 날 스냅샷을 찾는다.
+CREATE TABLE IF NOT EXISTS account_snapshot_tb (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    account_id BIGINT NOT NULL,
+    snapshot_date DATE NOT NULL,
+    balance BIGINT NOT NULL,
+    created_at DATETIME(6) NOT NULL,
+    updated_at DATETIME(6) NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_account_snapshot UNIQUE (account_id, snapshot_date)
+);
+
+-- 기존 거래내역으로 채우기 : 계좌별, 날짜별 마지막 거래 (createdAt, id 순)의 거래 후 잔액
+-- 이체는 출금계좌, 입금계좌 양쪽에 스냅샷을 남긴다. (AccountService.recordSnapshots와 같다)
+-- 배포 후에 실행해도 된다. 이미 있는 스냅샷은 애플리케이션이 쓴 최신 값이므로 덮어쓰지 않는다.
+INSERT INTO account_snapshot_tb (account_id, snapshot_date, balance, created_at, updated_at)
+SELECT account_id, snapshot_date, balance, NOW(), NOW()
+FROM (
+    SELECT account_id, DATE(created_at) AS snapshot_date, balance,
+           ROW_NUMBER() OVER (PARTITION BY account_id, DATE(created_at) ORDER BY created_at DESC, id DESC) AS rn
+    FROM (
+        SELECT withdraw_account_id AS account_id, created_at, id, withdraw_account_balance AS balance
+        FROM transaction_tb WHERE withdraw_account_id IS NOT NULL
+        UNION ALL
+        SELECT deposit_account_id AS account_id, created_at, id, deposit_account_balance AS balance
+        FROM transaction_tb WHERE deposit_account_id IS NOT NULL
+    ) account_side
+) last_of_day
+WHERE rn = 1
+ON DUPLICATE KEY UPDATE id = id;
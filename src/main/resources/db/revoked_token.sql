@@ -0,0 +1,11 @@
+-- prod(MariaDB) : 폐기된 토큰 테이블 (배포 전에 한번만 실행)
+-- 이 테이블이 없으면 토큰 재발급, 로그아웃이 실패한다.
+-- 만료된 행은 애플리케이션이 지운다. (TokenService - idx_revoked_token_expires_at)
+CREATE TABLE IF NOT EXISTS revoked_token_tb (
+    jti VARCHAR(64) NOT NULL,
+    refresh BIT(1) NOT NULL,
+    expires_at DATETIME(6) NOT NULL,
+    created_at DATETIME(6) NOT NULL,
+    PRIMARY KEY (jti)
+);
+CREATE INDEX IF NOT EXISTS idx_revoked_token_expires_at ON revoked_token_tb (expires_at);
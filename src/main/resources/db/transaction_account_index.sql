@@ -0,0 +1,5 @@
+-- prod(MariaDB) : 계좌별 입출금목록 (출금쪽, 입금쪽을 각각 조회해서 합친다)용 인덱스 (배포 전에 한번만 실행)
+-- (계좌id, createdAt, id) 순이라 커서 다음 행부터 바로 찾아가고 정렬도 하지 않는다.
+-- FK 컬럼 하나짜리 인덱스는 이 인덱스의 앞부분과 같으므로 FK 제약조건이 새 인덱스를 쓰게 된 뒤에 지워도 된다.
+CREATE INDEX IF NOT EXISTS idx_transaction_withdraw_account ON transaction_tb (withdraw_account_id, created_at, id);
+CREATE INDEX IF NOT EXISTS idx_transaction_deposit_account ON transaction_tb (deposit_account_id, created_at, id);
@@ -0,0 +1,2 @@
+-- prod(MariaDB) : 기간 내보내기(모든 계좌)용 인덱스 (배포 전에 한번만 실행)
+CREATE INDEX IF NOT EXISTS idx_transaction_created_at ON transaction_tb (created_at, id);
@@ -0,0 +1,12 @@
+-- prod(MariaDB) : 원장이 DB에 반영하지 못한 입금을 남겨두는 테이블 (배포 전에 한번만 실행)
+-- LedgerFlusher가 입금 계좌를 찾지 못하면 여기에 쓴다. 이 테이블이 없으면 그 묶음의 반영이 계속 실패한다.
+CREATE TABLE IF NOT EXISTS transaction_dead_letter_tb (
+    id BIGINT NOT NULL,
+    number BIGINT NOT NULL,
+    amount BIGINT NOT NULL,
+    tel VARCHAR(255),
+    reason VARCHAR(255) NOT NULL,
+    created_at DATETIME(6) NOT NULL,
+    parked_at DATETIME(6) NOT NULL,
+    PRIMARY KEY (id)
+);
@@ -0,0 +1,7 @@
+-- prod(MariaDB) : sender, receiver 컬럼 삭제 (새 버전 배포가 끝난 뒤에 한번만 실행)
+-- 보내는 쪽/받는 쪽은 withdraw_account_id, deposit_account_id로 정해지므로 저장하지 않는다. (TransactionParty)
+-- 이전 버전은 이 컬럼에 insert 하므로 배포 전에 실행하면 안 된다. (새 버전은 컬럼이 남아있어도 동작한다)
+-- 실행 전후로 행 크기를 비교한다.
+--   SELECT AVG_ROW_LENGTH, DATA_LENGTH, INDEX_LENGTH FROM information_schema.TABLES WHERE TABLE_NAME = 'transaction_tb';
+ALTER TABLE transaction_tb DROP COLUMN sender, DROP COLUMN receiver;
+OPTIMIZE TABLE transaction_tb;  -- InnoDB는 테이블을 다시 만들어서 줄어든 행 크기로 정리한다.
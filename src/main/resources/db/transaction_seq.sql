@@ -0,0 +1,8 @@
+-- prod(MariaDB 10.3 이상) : Transaction id를 IDENTITY에서 시퀀스로 변경 (배포 전에 한번만 실행)
+-- 시작값은 기존 거래내역의 MAX(id)로 계산한다. (손으로 고치지 않는다)
+-- 하이버네이트 pooled 생성기는 시퀀스 값 v를 받으면 v - 49 ~ v를 쓰므로 MAX(id) + 50에서 시작해야 id가 겹치지 않는다.
+-- INCREMENT BY는 @SequenceGenerator의 allocationSize(50)와 같아야 한다.
+-- 계산과 변경 사이에 거래내역이 저장되지 않도록 애플리케이션을 내린 상태에서 실행한다.
+SET @transaction_seq_start = (SELECT COALESCE(MAX(id), 0) + 50 FROM transaction_tb);
+EXECUTE IMMEDIATE CONCAT('CREATE SEQUENCE IF NOT EXISTS transaction_seq START WITH ', @transaction_seq_start, ' INCREMENT BY 50');
+ALTER TABLE transaction_tb MODIFY id BIGINT NOT NULL;   -- AUTO_INCREMENT 제거
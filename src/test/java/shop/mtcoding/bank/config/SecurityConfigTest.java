@@ -48,4 +48,17 @@ public class SecurityConfigTest {
         // then
         assertThat(httpStatusCode).isEqualTo(401);
     }
+
+    // 관리 포트가 아닌 서비스 포트로는 지표를 인증 없이 읽을 수 없다.
+    @Test
+    void prometheus_authentication_test() throws Exception {
+        // given
+        // when
+        ResultActions resultActions = mvc.perform(get("/actuator/prometheus"));
+        int httpStatusCode = resultActions.andReturn().getResponse().getStatus();
+        System.out.println("테스트: " + httpStatusCode);
+
+        // then
+        assertThat(httpStatusCode).isEqualTo(401);
+    }
 }
@@ -0,0 +1,81 @@
+package shop.mtcoding.bank.config.auth;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.junit.jupiter.api.Test;
+
+class LoginRateLimiterTest {
+
+    @Test
+    void username_tryAcquire_test() {
+        // given
+        LoginRateLimiter loginRateLimiter = new LoginRateLimiter();
+        for (int i = 0; i < 10; i++) {
+            assertThat(loginRateLimiter.tryAcquire("ssar", "127.0.0." + i)).isTrue();
+        }
+
+        // when
+        boolean ssar = loginRateLimiter.tryAcquire("ssar", "127.0.0.100");
+        boolean cos = loginRateLimiter.tryAcquire("cos", "127.0.0.100");
+
+        // then
+        assertThat(ssar).isFalse();
+        assertThat(cos).isTrue();
+    }
+
+    @Test
+    void ip_tryAcquire_test() {
+        // given
+        LoginRateLimiter loginRateLimiter = new LoginRateLimiter();
+        for (int i = 0; i < 50; i++) {
+            assertThat(loginRateLimiter.tryAcquire("user" + i, "127.0.0.1")).isTrue();
+        }
+
+        // when
+        boolean sameIp = loginRateLimiter.tryAcquire("ssar", "127.0.0.1");
+        boolean otherIp = loginRateLimiter.tryAcquire("ssar", "127.0.0.2");
+
+        // then
+        assertThat(sameIp).isFalse();
+        assertThat(otherIp).isTrue();
+    }
+
+    @Test
+    void username_concurrent_tryAcquire_test() throws Exception {
+        // given (처음 보는 username으로 동시에 50번 시도 - 버킷이 요청마다 따로 만들어지면 모두 통과한다)
+        LoginRateLimiter loginRateLimiter = new LoginRateLimiter();
+        int threadCount = 50;
+        ExecutorService executorService = Executors.newFixedThreadPool(threadCount);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Boolean>> results = new ArrayList<>();
+
+        // when
+        for (int i = 0; i < threadCount; i++) {
+            String ip = "127.0.0." + i;
+            Callable<Boolean> attempt = () -> {
+                start.await();
+                return loginRateLimiter.tryAcquire("ssar", ip);
+            };
+            results.add(executorService.submit(attempt));
+        }
+        start.countDown();
+        int acquired = 0;
+        for (Future<Boolean> result : results) {
+            if (result.get()) {
+                acquired++;
+            }
+        }
+        executorService.shutdown();
+        System.out.println("테스트: 통과 " + acquired + "건");
+
+        // then
+        assertThat(acquired).isEqualTo(10);
+    }
+}
@@ -6,6 +6,7 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -18,6 +19,7 @@ import org.springframework.test.context.jdbc.Sql;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.ResultActions;
 import org.springframework.transaction.annotation.Transactional;
+import shop.mtcoding.bank.config.auth.MissingUsernameCache;
 import shop.mtcoding.bank.config.dummy.DummyObject;
 import shop.mtcoding.bank.domain.user.UserRepository;
 import shop.mtcoding.bank.dto.user.UserReqDto.LoginReqDto;
@@ -38,6 +40,12 @@ class JwtAuthenticationFilterTest extends DummyObject {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private MissingUsernameCache missingUsernameCache;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
     @BeforeEach
     void setUp() {
         userRepository.save(newUser("ssar", "쌀"));
@@ -65,7 +73,9 @@ class JwtAuthenticationFilterTest extends DummyObject {
         resultActions.andExpect(status().isOk());
         assertNotNull(jwtToken);
         assertTrue(jwtToken.startsWith(JwtVO.TOKEN_PREFIX));
+        assertNotNull(resultActions.andReturn().getResponse().getHeader(JwtVO.REFRESH_HEADER));
         resultActions.andExpect(jsonPath("$.data.username").value("ssar"));
+        assertNotNull(meterRegistry.find(JwtAuthenticationFilter.METRIC_NAME).tag("outcome", "success").timer());
     }
 
     @Test
@@ -89,4 +99,50 @@ class JwtAuthenticationFilterTest extends DummyObject {
         // then
         resultActions.andExpect(status().isUnauthorized());
     }
-}
\ No newline at end of file
+
+    @Test
+    void missingUsername_test() throws Exception {
+        // given
+        LoginReqDto loginReqDto = new LoginReqDto();
+        loginReqDto.setUsername("nobody");
+        loginReqDto.setPassword("1234");
+        String requestBody = om.writeValueAsString(loginReqDto);
+        System.out.println("테스트: " + requestBody);
+
+        // when
+        ResultActions resultActions = mvc.perform(post("/api/login")
+                .content(requestBody)
+                .contentType(MediaType.APPLICATION_JSON));
+        String responseBody = resultActions.andReturn().getResponse().getContentAsString();
+        System.out.println("테스트: " + responseBody);
+
+        // then
+        resultActions.andExpect(status().isUnauthorized());
+        assertTrue(missingUsernameCache.isMissing("nobody"));
+    }
+
+    @Test
+    void tooManyRequests_test() throws Exception {
+        // given
+        LoginReqDto loginReqDto = new LoginReqDto();
+        loginReqDto.setUsername("love");
+        loginReqDto.setPassword("12345");
+        String requestBody = om.writeValueAsString(loginReqDto);
+        System.out.println("테스트: " + requestBody);
+
+        // when
+        for (int i = 0; i < 10; i++) {  // username 당 1분에 10번까지 시도 가능
+            mvc.perform(post("/api/login").content(requestBody).contentType(MediaType.APPLICATION_JSON))
+                    .andExpect(status().isUnauthorized());
+        }
+        ResultActions resultActions = mvc.perform(post("/api/login")
+                .content(requestBody)
+                .contentType(MediaType.APPLICATION_JSON));
+        String responseBody = resultActions.andReturn().getResponse().getContentAsString();
+        System.out.println("테스트: " + responseBody);
+
+        // then
+        resultActions.andExpect(status().isTooManyRequests());
+        resultActions.andExpect(jsonPath("$.code").value(-1));
+    }
+}
@@ -4,6 +4,7 @@ import static org.junit.jupiter.api.Assertions.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
+import com.auth0.jwt.interfaces.DecodedJWT;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
@@ -63,4 +64,20 @@ class JwtAuthorizationFilterTest {
         // then
         resultActions.andExpect(status().isForbidden());
     }
-}
\ No newline at end of file
+
+    @Test
+    void authorization_revoked_test() throws Exception {
+        // given
+        User user = User.builder().id(1L).role(UserEnum.CUSTOMER).build();
+        LoginUser loginUser = new LoginUser(user);
+        String token = JwtProcess.create(loginUser);
+        DecodedJWT decodedJWT = JwtProcess.verifyAccess(token.replace(JwtVO.TOKEN_PREFIX, ""));
+        JwtProcess.revoke(decodedJWT.getId(), decodedJWT.getExpiresAt().getTime());
+
+        // when
+        ResultActions resultActions = mvc.perform(post("/api/s/hello/test").header(JwtVO.HEADER, token));
+
+        // then
+        resultActions.andExpect(status().isUnauthorized()); // 401
+    }
+}
@@ -3,6 +3,8 @@ package shop.mtcoding.bank.config.jwt;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.*;
 
+import com.auth0.jwt.exceptions.JWTVerificationException;
+import com.auth0.jwt.interfaces.DecodedJWT;
 import org.junit.jupiter.api.Test;
 import shop.mtcoding.bank.config.auth.LoginUser;
 import shop.mtcoding.bank.domain.user.User;
@@ -35,10 +37,70 @@ class JwtProcessTest {
 
         // when
         LoginUser verifiedLoginUser = JwtProcess.verify(jwtToken);
-        System.out.println("테스트: " + verifiedLoginUser.getUser().getId());
+        System.out.println("테스트: " + verifiedLoginUser.getId());
 
         // then
-        assertThat(verifiedLoginUser.getUser().getId()).isEqualTo(1L);
-        assertThat(verifiedLoginUser.getUser().getRole()).isEqualTo(UserEnum.CUSTOMER);
+        assertThat(verifiedLoginUser.getId()).isEqualTo(1L);
+        assertThat(verifiedLoginUser.getRole()).isEqualTo(UserEnum.CUSTOMER);
+        assertThat(verifiedLoginUser.getUser()).isNull();   // 토큰 인증은 User를 만들지 않는다.
     }
-}
\ No newline at end of file
+
+    @Test
+    void verify_authorities_test() {
+        // given
+        LoginUser firstLoginUser = JwtProcess.verify(createToken().replace(JwtVO.TOKEN_PREFIX, ""));
+
+        // when
+        LoginUser secondLoginUser = JwtProcess.verify(createToken().replace(JwtVO.TOKEN_PREFIX, ""));
+
+        // then (role별로 미리 만든 권한을 공유한다)
+        assertThat(secondLoginUser).isNotSameAs(firstLoginUser);
+        assertThat(secondLoginUser.getAuthorities()).isSameAs(firstLoginUser.getAuthorities());
+        assertThat(secondLoginUser.getAuthorities().iterator().next().getAuthority()).isEqualTo("ROLE_CUSTOMER");
+    }
+
+    @Test
+    void verify_cache_test() {
+        // given
+        String jwtToken = createToken().replace(JwtVO.TOKEN_PREFIX, "");
+        LoginUser firstLoginUser = JwtProcess.verify(jwtToken);
+        long hitCount = JwtProcess.getVerifiedTokenCache().getHitCount();
+
+        // when
+        LoginUser secondLoginUser = JwtProcess.verify(jwtToken);
+
+        // then
+        assertThat(secondLoginUser).isSameAs(firstLoginUser);
+        assertThat(JwtProcess.getVerifiedTokenCache().getHitCount()).isEqualTo(hitCount + 1);
+    }
+
+    @Test
+    void revoke_test() {
+        // given
+        String jwtToken = createToken().replace(JwtVO.TOKEN_PREFIX, "");
+        JwtProcess.verify(jwtToken);    // 캐시에 올라간 토큰
+
+        // when
+        DecodedJWT decodedJWT = JwtProcess.verifyAccess(jwtToken);
+        JwtProcess.revoke(decodedJWT.getId(), decodedJWT.getExpiresAt().getTime());
+
+        // then
+        assertThrows(JWTVerificationException.class, () -> JwtProcess.verify(jwtToken));
+    }
+
+    @Test
+    void verifyRefresh_test() {
+        // given
+        User user = User.builder().id(1L).role(UserEnum.CUSTOMER).build();
+        String refreshToken = JwtProcess.createRefresh(new LoginUser(user));
+
+        // when
+        LoginUser loginUser = JwtProcess.toLoginUser(JwtProcess.verifyRefresh(refreshToken));
+        System.out.println("테스트: " + loginUser.getId());
+
+        // then
+        assertThat(loginUser.getId()).isEqualTo(1L);
+        assertThrows(JWTVerificationException.class, () -> JwtProcess.verifyAccess(refreshToken));
+        assertThrows(JWTVerificationException.class, () -> JwtProcess.verify(refreshToken));   // 액세스 토큰으로 쓸 수 없다
+    }
+}
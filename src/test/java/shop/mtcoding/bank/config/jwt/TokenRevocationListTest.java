@@ -0,0 +1,42 @@
+package shop.mtcoding.bank.config.jwt;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+class TokenRevocationListTest {
+
+    @Test
+    void revoke_test() {
+        // given
+        TokenRevocationList revocationList = new TokenRevocationList();
+        long expiresAt = System.currentTimeMillis() + 1000L * 60;
+
+        // when
+        boolean first = revocationList.revoke("jti-1", expiresAt);
+        boolean second = revocationList.revoke("jti-1", expiresAt);
+
+        // then
+        assertThat(first).isTrue();
+        assertThat(second).isFalse();
+        assertThat(revocationList.isRevoked("jti-1")).isTrue();
+        assertThat(revocationList.isRevoked("jti-2")).isFalse();
+    }
+
+    @Test
+    void purgeExpired_test() {
+        // given
+        TokenRevocationList revocationList = new TokenRevocationList();
+        long now = System.currentTimeMillis();
+        revocationList.revoke("expired", now - 1);
+        revocationList.revoke("alive", now + 1000L * 60);
+
+        // when
+        revocationList.purgeExpired(now);
+
+        // then
+        assertThat(revocationList.size()).isEqualTo(1);
+        assertThat(revocationList.isRevoked("expired")).isFalse();
+        assertThat(revocationList.isRevoked("alive")).isTrue();
+    }
+}
@@ -0,0 +1,18 @@
+package shop.mtcoding.bank.config.sql;
+
+import org.mockito.Mockito;
+
+// Mockito 단위 테스트용 - DB가 없으므로 리포지토리 목 호출 횟수를 DB 왕복 횟수로 본다. (스텁 설정은 세지 않는다)
+public class MockCallCounter {
+
+    private MockCallCounter() {
+    }
+
+    public static int count(Object... mocks) {
+        int count = 0;
+        for (Object mock : mocks) {
+            count += Mockito.mockingDetails(mock).getInvocations().size();
+        }
+        return count;
+    }
+}
@@ -0,0 +1,60 @@
+package shop.mtcoding.bank.config.sql;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+/*
+ * SqlStatementRecorder가 기록한 SQL (시퀀스 조회 제외)
+ * 시퀀스 조회는 allocationSize(50)번에 한번이라 어느 요청에서 실행될지 정해져 있지 않으므로 세지 않는다.
+ * 실행 횟수를 정확히 고정해두면 N+1, 지연 로딩, 불필요한 조회가 추가될 때 테스트가 실패한다.
+ */
+public class SqlCount {
+    private final List<String> statements;
+
+    SqlCount(List<String> recorded) {
+        this.statements = recorded.stream()
+                .map(sql -> sql.trim().toLowerCase())
+                .filter(sql -> !sql.contains("next value for"))
+                .collect(Collectors.toList());
+    }
+
+    public List<String> getStatements() {
+        return statements;
+    }
+
+    public int getTotal() {
+        return statements.size();
+    }
+
+    // select ... for update 포함
+    public int getSelectCount() {
+        return count("select");
+    }
+
+    // insert ... on duplicate key update (스냅샷 upsert) 포함
+    public int getInsertCount() {
+        return count("insert");
+    }
+
+    public int getUpdateCount() {
+        return count("update");
+    }
+
+    public int getDeleteCount() {
+        return count("delete");
+    }
+
+    public boolean touches(String table) {
+        return statements.stream().anyMatch(sql -> sql.contains(table));
+    }
+
+    private int count(String command) {
+        return (int) statements.stream().filter(sql -> sql.startsWith(command)).count();
+    }
+
+    // 실패 메시지에 실행된 SQL이 보이도록 한다.
+    @Override
+    public String toString() {
+        return String.join("\n", statements);
+    }
+}
@@ -0,0 +1,16 @@
+package shop.mtcoding.bank.config.sql;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+
+// SQL 실행 횟수를 세는 테스트에 @Import(SqlCountConfig.class)
+@TestConfiguration
+public class SqlCountConfig {
+
+    @Bean
+    public HibernatePropertiesCustomizer sqlStatementRecorderCustomizer() {
+        return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, new SqlStatementRecorder());
+    }
+}
@@ -0,0 +1,38 @@
+package shop.mtcoding.bank.config.sql;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/*
+ * 하이버네이트가 준비(prepare)하는 SQL을 스레드별로 기록한다. (테스트 전용 - SqlCountConfig로 등록)
+ * - JDBC 배치는 한번만 기록된다. (prepare 한번 + executeBatch)
+ * - start()를 호출한 스레드에서 실행된 SQL만 기록한다. (MockMvc는 테스트 스레드에서 요청을 처리한다)
+ *
+ * SqlStatementRecorder.start();
+ * ... (when)
+ * SqlCount sqlCount = SqlStatementRecorder.stop();
+ */
+public class SqlStatementRecorder implements StatementInspector {
+    private static final ThreadLocal<List<String>> STATEMENTS = new ThreadLocal<>();
+
+    @Override
+    public String inspect(String sql) {
+        List<String> statements = STATEMENTS.get();
+        if (statements != null) {
+            statements.add(sql);
+        }
+        return sql;
+    }
+
+    public static void start() {
+        STATEMENTS.set(new ArrayList<>());
+    }
+
+    // 기록을 멈추고 기록한 SQL을 리턴한다.
+    public static SqlCount stop() {
+        List<String> statements = STATEMENTS.get();
+        STATEMENTS.remove();
+        return new SqlCount(statements == null ? List.of() : statements);
+    }
+}
@@ -0,0 +1,60 @@
+package shop.mtcoding.bank.domain.account;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDate;
+import java.util.Optional;
+import javax.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.ActiveProfiles;
+
+@ActiveProfiles("test")
+@DataJpaTest
+public class AccountSnapshotRepositoryTest {
+
+    @Autowired
+    private AccountSnapshotRepository accountSnapshotRepository;
+
+    @Autowired
+    private EntityManager em;
+
+    @Test
+    void upsert_test() {
+        // given
+        LocalDate today = LocalDate.of(2024, 3, 1);
+
+        // when
+        accountSnapshotRepository.upsert(1L, today, 1000L);
+        accountSnapshotRepository.upsert(1L, today, 900L);  // 같은 날 두번째 거래
+        accountSnapshotRepository.upsert(1L, today.plusDays(1), 800L);
+        em.clear();
+
+        // then
+        assertThat(accountSnapshotRepository.count()).isEqualTo(2);
+        Optional<AccountSnapshot> snapshotOP = accountSnapshotRepository
+                .findFirstByAccountIdAndSnapshotDateBeforeOrderBySnapshotDateDesc(1L, today.plusDays(1));
+        assertThat(snapshotOP).isPresent();
+        assertThat(snapshotOP.get().getBalance()).isEqualTo(900L);
+    }
+
+    @Test
+    void findFirstBefore_test() {
+        // given
+        accountSnapshotRepository.upsert(1L, LocalDate.of(2024, 1, 31), 1000L);
+        accountSnapshotRepository.upsert(1L, LocalDate.of(2024, 2, 29), 2000L);
+        accountSnapshotRepository.upsert(2L, LocalDate.of(2024, 3, 1), 3000L);    // 다른 계좌
+        em.clear();
+
+        // when
+        Optional<AccountSnapshot> march = accountSnapshotRepository
+                .findFirstByAccountIdAndSnapshotDateBeforeOrderBySnapshotDateDesc(1L, LocalDate.of(2024, 3, 1));
+        Optional<AccountSnapshot> january = accountSnapshotRepository
+                .findFirstByAccountIdAndSnapshotDateBeforeOrderBySnapshotDateDesc(1L, LocalDate.of(2024, 1, 1));
+
+        // then
+        assertThat(march.get().getBalance()).isEqualTo(2000L);
+        assertThat(january).isEmpty();
+    }
+}
@@ -0,0 +1,73 @@
+package shop.mtcoding.bank.domain.transaction;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import javax.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.ActiveProfiles;
+import shop.mtcoding.bank.config.dummy.DummyObject;
+import shop.mtcoding.bank.domain.account.Account;
+import shop.mtcoding.bank.domain.account.AccountRepository;
+import shop.mtcoding.bank.domain.user.User;
+import shop.mtcoding.bank.domain.user.UserRepository;
+
+// H2(MySQL 모드)에서 거래내역 insert가 배치로 묶이는지 확인 (hibernate.jdbc.batch_size = 50)
+@ActiveProfiles("test")
+@DataJpaTest
+public class TransactionBatchInsertTest extends DummyObject {
+    private static final int COUNT = 1000;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private EntityManager em;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = em.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+    }
+
+    @Test
+    void saveAll_batch_test() {
+        // given
+        User ssar = userRepository.save(newUser("ssar", "쌀"));
+        Account ssarAccount = accountRepository.save(newAccount(1111L, ssar));
+        em.flush();
+
+        List<Transaction> transactions = new ArrayList<>();
+        for (int i = 0; i < COUNT; i++) {
+            transactions.add(newDepositTransaction(ssarAccount, null));
+        }
+        statistics.clear();
+
+        // when
+        long start = System.nanoTime();
+        transactionRepository.saveAll(transactions);
+        em.flush();
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+        System.out.println("테스트: " + COUNT + "건 insert " + elapsedMillis + "ms");
+        System.out.println("테스트: prepareStatementCount " + statistics.getPrepareStatementCount());
+
+        // then
+        assertThat(statistics.getEntityInsertCount()).isEqualTo(COUNT);
+        // insert 1000번 + 시퀀스 조회 1000번이 아니라 배치(50개) 단위, 시퀀스 조회도 50개 단위
+        assertThat(statistics.getPrepareStatementCount()).isLessThan(COUNT / 10);
+    }
+}
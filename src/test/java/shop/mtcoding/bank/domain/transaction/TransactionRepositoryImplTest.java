@@ -2,21 +2,29 @@ package shop.mtcoding.bank.domain.transaction;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.stream.Collectors;
 import javax.persistence.EntityManager;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
 import org.springframework.test.context.ActiveProfiles;
 import shop.mtcoding.bank.config.dummy.DummyObject;
+import shop.mtcoding.bank.config.sql.SqlCount;
+import shop.mtcoding.bank.config.sql.SqlCountConfig;
+import shop.mtcoding.bank.config.sql.SqlStatementRecorder;
 import shop.mtcoding.bank.domain.account.Account;
 import shop.mtcoding.bank.domain.account.AccountRepository;
 import shop.mtcoding.bank.domain.user.User;
 import shop.mtcoding.bank.domain.user.UserRepository;
+import shop.mtcoding.bank.dto.transaction.TransactionRespDto.TransactionDto;
 
 @ActiveProfiles("test")
 @DataJpaTest    // DB 관련 Bean이 다 올라온다. 기본적으로 @Transactional이 적용되어 있다.
+@Import(SqlCountConfig.class)
 public class TransactionRepositoryImplTest extends DummyObject {
 
     @Autowired
@@ -35,6 +43,7 @@ public class TransactionRepositoryImplTest extends DummyObject {
     void setUp() {
         autoincrementReset();
         dataSetting();
+        em.flush(); // 거래내역 id는 시퀀스라 insert가 flush 때까지 미뤄진다. (clear만 하면 버려진다)
         em.clear();
     }
 
@@ -44,6 +53,7 @@ public class TransactionRepositoryImplTest extends DummyObject {
         Long accountId = 1L;
 
         // when
+        SqlStatementRecorder.start();
         List<Transaction> transactionListPS = transactionRepository.findTransactionList(accountId, "ALL", 0);
         for (Transaction t : transactionListPS) {
             System.out.println("테스트: id " + t.getId());
@@ -56,9 +66,70 @@ public class TransactionRepositoryImplTest extends DummyObject {
 //            System.out.println("테스트: fullname " + t.getWithdrawAccount().getUser().getFullname());
             System.out.println("============================");
         }
+        SqlCount sqlCount = SqlStatementRecorder.stop();
 
         // then
         assertThat(transactionListPS.get(3).getDepositAccountBalance()).isEqualTo(800L);
+        // 출금쪽, 입금쪽 페치조인 2번 - 계좌를 지연 로딩하면(N+1) 늘어난다.
+        assertThat(sqlCount.getTotal()).as(sqlCount.toString()).isEqualTo(2);
+    }
+
+    @Test
+    void findTransactionListByCursor_test() {
+        // given
+        Long accountId = 1L;
+        List<Transaction> offsetListPS = transactionRepository.findTransactionList(accountId, "ALL", 0);
+
+        // when
+        List<Transaction> cursorListPS = new ArrayList<>();
+        TransactionCursor cursor = null;
+        while (true) {
+            List<Transaction> pagePS = transactionRepository.findTransactionListByCursor(accountId, "ALL", cursor, 3);
+            cursorListPS.addAll(pagePS);
+            if (pagePS.size() < 3) {
+                break;
+            }
+            // 클라이언트에게 전달한 커서를 다시 받아서 사용
+            String token = TransactionCursor.of(pagePS.get(pagePS.size() - 1)).encode();
+            cursor = TransactionCursor.decode(token);
+        }
+
+        // then
+        assertThat(cursorListPS).extracting(Transaction::getId)
+                .containsExactlyElementsOf(offsetListPS.stream().map(Transaction::getId).collect(Collectors.toList()));
+        assertThat(cursorListPS.get(3).getDepositAccountBalance()).isEqualTo(800L);
+    }
+
+    @Test
+    void findTransactionListByCursor_withdraw_test() {
+        // given
+        Long accountId = 1L;
+        List<Transaction> firstPagePS = transactionRepository.findTransactionListByCursor(accountId, "WITHDRAW", null, 2);
+
+        // when
+        TransactionCursor cursor = TransactionCursor.of(firstPagePS.get(1));
+        List<Transaction> secondPagePS = transactionRepository.findTransactionListByCursor(accountId, "WITHDRAW", cursor, 2);
+
+        // then
+        assertThat(firstPagePS.size()).isEqualTo(2);
+        assertThat(secondPagePS.size()).isEqualTo(1);
+        assertThat(secondPagePS.get(0).getWithdrawAccountBalance()).isEqualTo(700L);
+    }
+
+    @Test
+    void findTransactionHistory_test() {
+        // given
+        Long accountId = 1L;
+
+        // when
+        SqlStatementRecorder.start();
+        List<TransactionDto> transactionDtos = transactionRepository.findTransactionHistory(accountId, "ALL", null, 5);
+        SqlCount sqlCount = SqlStatementRecorder.stop();
+
+        // then
+        assertThat(transactionDtos).extracting(TransactionDto::getBalance).containsExactly(900L, 800L, 700L, 800L);
+        assertThat(transactionDtos).extracting(TransactionDto::getSender).containsExactly("1111", "1111", "1111", "2222");
+        assertThat(sqlCount.getTotal()).as(sqlCount.toString()).isEqualTo(2);  // 출금쪽, 입금쪽 DTO 조회
     }
 
     @Test
@@ -112,6 +183,6 @@ public class TransactionRepositoryImplTest extends DummyObject {
     private void autoincrementReset() {
         em.createNativeQuery("ALTER TABLE user_tb ALTER COLUMN id RESTART WITH 1").executeUpdate();
         em.createNativeQuery("ALTER TABLE account_tb ALTER COLUMN id RESTART WITH 1").executeUpdate();
-        em.createNativeQuery("ALTER TABLE transaction_tb ALTER COLUMN id RESTART WITH 1").executeUpdate();
+        // transaction_tb의 id는 시퀀스(transaction_seq)에서 미리 받아둔 값을 쓰기 때문에 초기화하지 않는다.
     }
 }
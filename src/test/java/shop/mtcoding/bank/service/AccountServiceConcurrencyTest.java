@@ -0,0 +1,155 @@
+package shop.mtcoding.bank.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.jdbc.Sql;
+import shop.mtcoding.bank.config.dummy.DummyObject;
+import shop.mtcoding.bank.domain.account.AccountRepository;
+import shop.mtcoding.bank.domain.user.User;
+import shop.mtcoding.bank.domain.user.UserRepository;
+import shop.mtcoding.bank.dto.account.AccountReqDto.AccountDepositReqDto;
+import shop.mtcoding.bank.dto.account.AccountReqDto.AccountTransferReqDto;
+import shop.mtcoding.bank.dto.account.AccountReqDto.AccountWithdrawReqDto;
+
+// 여러 스레드가 동시에 하나의 계좌를 수정해도 잔액이 정확해야 한다.
+// 스레드마다 각자의 트랜잭션으로 커밋되어야 하므로 @Transactional을 붙이지 않고 teardown.sql로 초기화한다.
+@Sql("classpath:db/teardown.sql")
+@ActiveProfiles("test")
+@SpringBootTest
+class AccountServiceConcurrencyTest extends DummyObject {
+    private static final int THREAD_COUNT = 32;
+    private static final int REQUEST_COUNT = 100;
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    private ExecutorService executorService;
+
+    @BeforeEach
+    void setUp() {
+        User ssar = userRepository.save(newUser("ssar", "쌀"));
+        User cos = userRepository.save(newUser("cos", "코스"));
+        accountRepository.save(newMockAccount(1L, 1111L, 1000L, ssar));
+        accountRepository.save(newMockAccount(2L, 2222L, 1000L, cos));
+
+        executorService = Executors.newFixedThreadPool(THREAD_COUNT);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executorService.shutdownNow();
+    }
+
+    @Test
+    void 계좌입금_동시요청_test() throws Exception {
+        // given
+        Queue<Throwable> errors = new ConcurrentLinkedQueue<>();
+
+        // when
+        runConcurrently(REQUEST_COUNT, i -> {
+            AccountDepositReqDto request = new AccountDepositReqDto();
+            request.setNumber(1111L);
+            request.setAmount(100L);
+            request.setGubun("DEPOSIT");
+            request.setTel("01011112222");
+            accountService.계좌입금(request);
+        }, errors);
+
+        // then
+        assertThat(errors).isEmpty();
+        assertThat(accountRepository.findByNumber(1111L).get().getBalance()).isEqualTo(1000L + 100L * REQUEST_COUNT);
+    }
+
+    @Test
+    void 계좌출금_동시요청_test() throws Exception {
+        // given
+        Queue<Throwable> errors = new ConcurrentLinkedQueue<>();
+
+        // when
+        runConcurrently(REQUEST_COUNT, i -> {
+            AccountWithdrawReqDto request = new AccountWithdrawReqDto();
+            request.setNumber(1111L);
+            request.setPassword(1234L);
+            request.setAmount(10L);
+            request.setGubun("WITHDRAW");
+            accountService.계좌출금(request, 1L);
+        }, errors);
+
+        // then
+        assertThat(errors).isEmpty();
+        assertThat(accountRepository.findByNumber(1111L).get().getBalance()).isEqualTo(1000L - 10L * REQUEST_COUNT);
+    }
+
+    // 서로 반대방향으로 이체해도 락 순서가 같기 때문에 데드락이 발생하지 않는다.
+    @Test
+    void 계좌이체_양방향_동시요청_test() throws Exception {
+        // given
+        Queue<Throwable> errors = new ConcurrentLinkedQueue<>();
+
+        // when
+        runConcurrently(REQUEST_COUNT, i -> {
+            AccountTransferReqDto request = new AccountTransferReqDto();
+            request.setAmount(10L);
+            request.setGubun("TRANSFER");
+            if (i % 2 == 0) {
+                request.setWithdrawNumber(1111L);
+                request.setDepositNumber(2222L);
+                request.setWithdrawPassword(1234L);
+                accountService.계좌이체(request, 1L);
+            } else {
+                request.setWithdrawNumber(2222L);
+                request.setDepositNumber(1111L);
+                request.setWithdrawPassword(1234L);
+                accountService.계좌이체(request, 2L);
+            }
+        }, errors);
+
+        // then
+        assertThat(errors).isEmpty();
+        assertThat(accountRepository.findByNumber(1111L).get().getBalance()).isEqualTo(1000L);
+        assertThat(accountRepository.findByNumber(2222L).get().getBalance()).isEqualTo(1000L);
+    }
+
+    private void runConcurrently(int count, Task task, Queue<Throwable> errors) throws InterruptedException {
+        CountDownLatch ready = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(count);
+        for (int i = 0; i < count; i++) {
+            int index = i;
+            executorService.execute(() -> {
+                try {
+                    ready.await();
+                    task.run(index);
+                } catch (Throwable e) {
+                    errors.add(e);
+                } finally {
+                    done.countDown();
+                }
+            });
+        }
+        ready.countDown(); // 모든 스레드를 동시에 출발시킨다.
+        assertThat(done.await(60, TimeUnit.SECONDS)).isTrue();
+    }
+
+    @FunctionalInterface
+    private interface Task {
+        void run(int index) throws Exception;
+    }
+}
@@ -0,0 +1,102 @@
+package shop.mtcoding.bank.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.jdbc.Sql;
+import shop.mtcoding.bank.config.dummy.DummyObject;
+import shop.mtcoding.bank.config.sql.SqlCount;
+import shop.mtcoding.bank.config.sql.SqlCountConfig;
+import shop.mtcoding.bank.config.sql.SqlStatementRecorder;
+import shop.mtcoding.bank.domain.account.AccountRepository;
+import shop.mtcoding.bank.domain.user.User;
+import shop.mtcoding.bank.domain.user.UserRepository;
+import shop.mtcoding.bank.dto.account.AccountReqDto.AccountTransferReqDto;
+import shop.mtcoding.bank.dto.account.AccountReqDto.AccountWithdrawReqDto;
+
+// 입출금 한건에 실행되는 SQL 수를 고정한다. (소유자 확인에 user_tb 조회, 프록시 초기화가 끼어들면 실패)
+// 서비스 메서드마다 커밋되어야 하므로 @Transactional을 붙이지 않고 teardown.sql로 초기화한다.
+@Sql("classpath:db/teardown.sql")
+@ActiveProfiles("test")
+@SpringBootTest
+@Import(SqlCountConfig.class)
+class AccountServiceSqlCountTest extends DummyObject {
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    private User ssar;
+
+    @BeforeEach
+    void setUp() {
+        ssar = userRepository.save(newUser("ssar", "쌀"));
+        User cos = userRepository.save(newUser("cos", "코스"));
+        accountRepository.save(newAccount(1111L, ssar));
+        accountRepository.save(newAccount(2222L, cos));
+    }
+
+    @Test
+    void 계좌이체_SQL_test() {
+        // given (첫 요청에서 계좌 메타데이터 캐시가 채워진다)
+        accountService.계좌이체(newTransferReqDto(), ssar.getId());
+
+        // when
+        SqlStatementRecorder.start();
+        accountService.계좌이체(newTransferReqDto(), ssar.getId());
+        SqlCount sqlCount = SqlStatementRecorder.stop();
+        System.out.println("테스트: " + sqlCount);
+
+        // then
+        // select for update 2 (출금, 입금계좌) + insert 거래내역 1 + update 계좌 1 (배치) + upsert 스냅샷 2
+        assertThat(sqlCount.getTotal()).as(sqlCount.toString()).isEqualTo(6);
+        assertThat(sqlCount.getStatements()).filteredOn(sql -> sql.contains("for update")).hasSize(2);
+        assertThat(sqlCount.touches("user_tb")).isFalse();
+    }
+
+    @Test
+    void 계좌출금_SQL_test() {
+        // given
+        accountService.계좌출금(newWithdrawReqDto(), ssar.getId());
+
+        // when
+        SqlStatementRecorder.start();
+        accountService.계좌출금(newWithdrawReqDto(), ssar.getId());
+        SqlCount sqlCount = SqlStatementRecorder.stop();
+        System.out.println("테스트: " + sqlCount);
+
+        // then
+        // select for update 1 + insert 거래내역 1 + update 계좌 1 + upsert 스냅샷 1
+        assertThat(sqlCount.getTotal()).as(sqlCount.toString()).isEqualTo(4);
+        assertThat(sqlCount.touches("user_tb")).isFalse();
+    }
+
+    private AccountTransferReqDto newTransferReqDto() {
+        AccountTransferReqDto request = new AccountTransferReqDto();
+        request.setWithdrawNumber(1111L);
+        request.setDepositNumber(2222L);
+        request.setWithdrawPassword(1234L);
+        request.setAmount(100L);
+        request.setGubun("TRANSFER");
+        return request;
+    }
+
+    private AccountWithdrawReqDto newWithdrawReqDto() {
+        AccountWithdrawReqDto request = new AccountWithdrawReqDto();
+        request.setNumber(1111L);
+        request.setPassword(1234L);
+        request.setAmount(100L);
+        request.setGubun("WITHDRAW");
+        return request;
+    }
+}
@@ -4,6 +4,9 @@ import static org.assertj.core.api.Assertions.*;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -17,19 +20,25 @@ import org.mockito.Mock;
 import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import shop.mtcoding.bank.config.dummy.DummyObject;
+import shop.mtcoding.bank.config.sql.MockCallCounter;
 import shop.mtcoding.bank.domain.account.Account;
+import shop.mtcoding.bank.domain.account.AccountMetaCache;
 import shop.mtcoding.bank.domain.account.AccountRepository;
+import shop.mtcoding.bank.domain.account.AccountSnapshotRepository;
 import shop.mtcoding.bank.domain.transaction.Transaction;
 import shop.mtcoding.bank.domain.transaction.TransactionRepository;
 import shop.mtcoding.bank.domain.user.User;
 import shop.mtcoding.bank.domain.user.UserRepository;
 import shop.mtcoding.bank.dto.account.AccountReqDto.AccountDepositReqDto;
 import shop.mtcoding.bank.dto.account.AccountReqDto.AccountSaveReqDto;
+import shop.mtcoding.bank.dto.account.AccountReqDto.AccountTransferBatchReqDto;
 import shop.mtcoding.bank.dto.account.AccountReqDto.AccountTransferReqDto;
 import shop.mtcoding.bank.dto.account.AccountRespDto.AccountDepositRespDto;
 import shop.mtcoding.bank.dto.account.AccountRespDto.AccountListRespDto;
 import shop.mtcoding.bank.dto.account.AccountRespDto.AccountSaveRespDto;
+import shop.mtcoding.bank.dto.account.AccountRespDto.AccountTransferBatchRespDto;
 import shop.mtcoding.bank.handler.ex.CustomApiException;
+import shop.mtcoding.bank.service.ledger.LedgerEngine;
 
 @ExtendWith(MockitoExtension.class)
 class AccountServiceTest extends DummyObject {
@@ -46,9 +55,18 @@ class AccountServiceTest extends DummyObject {
     @Mock
     private TransactionRepository transactionRepository;
 
+    @Mock
+    private AccountSnapshotRepository accountSnapshotRepository;
+
+    @Mock
+    private LedgerEngine ledgerEngine;
+
     @Spy    // 진짜 객체를 injectMocks에 주입한다.
     private ObjectMapper om;
 
+    @Spy
+    private AccountMetaCache accountMetaCache;
+
     @Test
     void 계좌등록_test() throws Exception {
         // given
@@ -61,7 +79,7 @@ class AccountServiceTest extends DummyObject {
         User ssar = newMockUser(userId, "ssar", "쌀");
         when(userRepository.findById(anyLong())).thenReturn(Optional.of(ssar));
 
-        when(accountRepository.findByNumber(anyLong())).thenReturn(Optional.empty());
+        when(accountRepository.existsByNumber(anyLong())).thenReturn(false);
 
         Account ssarAccount = newMockAccount(1L, 1111L, 1000L, ssar);
         when(accountRepository.save(any())).thenReturn(ssarAccount);
@@ -125,7 +143,7 @@ class AccountServiceTest extends DummyObject {
         // Stub : 실제 서비스메서드가 실행되기 전까지는 수행하지 않는다.
         User ssar = newMockUser(1L, "ssar", "쌀");
         Account ssarAccount = newMockAccount(1L, 1111L, 1000L, ssar);
-        when(accountRepository.findByNumber(any())).thenReturn(Optional.of(ssarAccount));
+        when(accountRepository.findByNumberForUpdate(any())).thenReturn(Optional.of(ssarAccount));
 
         // Stub2 : 스텁이 진행될때마다 연관된 객체는 새로 만들어서 주입한다.
         Account ssarAccount2 = newMockAccount(1L, 1111L, 1000L, ssar);
@@ -141,6 +159,8 @@ class AccountServiceTest extends DummyObject {
         assertThat(ssarAccount.getBalance()).isEqualTo(1100L);
         assertThat(ssarAccount2.getBalance()).isEqualTo(1100L);
         assertThat(accountDepositRespDto.getTransaction().getDepositAccountBalance()).isEqualTo(1100L);
+        // select for update 1 + insert 1 + upsert 스냅샷 1 (소유자 확인으로 user_tb를 조회하지 않는다)
+        assertThat(MockCallCounter.count(accountRepository, transactionRepository, accountSnapshotRepository, userRepository)).isEqualTo(3);
     }
 
     // 계좌 출금 테스트
@@ -209,6 +229,58 @@ class AccountServiceTest extends DummyObject {
         assertThat(withdrawAccount.getBalance()).isEqualTo(900L);
         assertThat(depositAccount.getBalance()).isEqualTo(1100L);
     }
+
+    @Test
+    void 계좌일괄이체_test() {
+        // given
+        Long userId = 1L;
+        User ssar = newMockUser(1L, "ssar", "쌀");
+        User cos = newMockUser(2L, "cos", "코스");
+        Account ssarAccount = newMockAccount(1L, 1111L, 1000L, ssar);
+        Account cosAccount = newMockAccount(2L, 2222L, 1000L, cos);
+
+        List<AccountTransferReqDto> transfers = new ArrayList<>();
+        transfers.add(newTransferReqDto(1111L, 2222L, 1234L, 300L));
+        transfers.add(newTransferReqDto(1111L, 2222L, 9999L, 100L));   // 비밀번호 틀림
+        transfers.add(newTransferReqDto(1111L, 2222L, 1234L, 800L));   // 잔액 부족 (700원 남음)
+        transfers.add(newTransferReqDto(1111L, 3333L, 1234L, 100L));   // 입금계좌 없음
+        transfers.add(newTransferReqDto(2222L, 1111L, 1234L, 100L));   // 소유자 아님
+        transfers.add(newTransferReqDto(1111L, 2222L, 1234L, 700L));
+        AccountTransferBatchReqDto accountTransferBatchReqDto = new AccountTransferBatchReqDto();
+        accountTransferBatchReqDto.setTransfers(transfers);
+
+        // stub
+        when(accountRepository.findAllByNumberInForUpdate(any())).thenReturn(List.of(ssarAccount, cosAccount));
+
+        // when
+        AccountTransferBatchRespDto accountTransferBatchRespDto = accountService.계좌일괄이체(accountTransferBatchReqDto, userId);
+
+        // then
+        assertThat(accountTransferBatchRespDto.getSuccessCount()).isEqualTo(2);
+        assertThat(accountTransferBatchRespDto.getFailCount()).isEqualTo(4);
+        assertThat(accountTransferBatchRespDto.getResults().get(1).getMsg()).isEqualTo("계좌 비밀번호 검증에 실패했습니다");
+        assertThat(accountTransferBatchRespDto.getResults().get(2).getMsg()).isEqualTo("계좌 잔액이 부족합니다");
+        assertThat(accountTransferBatchRespDto.getResults().get(3).getMsg()).isEqualTo("입금계좌를 찾을 수 없습니다");
+        assertThat(accountTransferBatchRespDto.getResults().get(4).getMsg()).isEqualTo("계좌 소유자가 아닙니다");
+        assertThat(accountTransferBatchRespDto.getResults().get(5).getBalance()).isEqualTo(0L);
+        assertThat(ssarAccount.getBalance()).isEqualTo(0L);
+        assertThat(cosAccount.getBalance()).isEqualTo(2000L);
+        // 계좌별 당일 스냅샷은 마지막 잔액으로 한번씩만 갱신
+        verify(accountSnapshotRepository, times(1)).upsert(eq(1L), any(), eq(0L));
+        verify(accountSnapshotRepository, times(1)).upsert(eq(2L), any(), eq(2000L));
+        // 이체 건수와 상관없이 IN 조회 1 + saveAll 1 + upsert 스냅샷 (계좌당) 2
+        assertThat(MockCallCounter.count(accountRepository, transactionRepository, accountSnapshotRepository, userRepository)).isEqualTo(4);
+    }
+
+    private AccountTransferReqDto newTransferReqDto(Long withdrawNumber, Long depositNumber, Long password, Long amount) {
+        AccountTransferReqDto accountTransferReqDto = new AccountTransferReqDto();
+        accountTransferReqDto.setWithdrawNumber(withdrawNumber);
+        accountTransferReqDto.setDepositNumber(depositNumber);
+        accountTransferReqDto.setWithdrawPassword(password);
+        accountTransferReqDto.setAmount(amount);
+        accountTransferReqDto.setGubun("TRANSFER");
+        return accountTransferReqDto;
+    }
     // 계좌목록보기 유저별 테스트
     // 계좌상세보기 테스트
 }
\ No newline at end of file
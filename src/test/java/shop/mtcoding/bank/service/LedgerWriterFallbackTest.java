@@ -0,0 +1,91 @@
+package shop.mtcoding.bank.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.TransactionSystemException;
+import shop.mtcoding.bank.config.dummy.DummyObject;
+import shop.mtcoding.bank.domain.account.Account;
+import shop.mtcoding.bank.domain.user.User;
+import shop.mtcoding.bank.dto.account.AccountReqDto.AccountDepositReqDto;
+import shop.mtcoding.bank.dto.account.AccountRespDto.AccountDepositRespDto;
+
+// 그룹 커밋이 실패했을때 건별로 다시 실행해도 되는 경우만 다시 실행하는지 확인한다.
+@ExtendWith(MockitoExtension.class)
+class LedgerWriterFallbackTest extends DummyObject {
+
+    @Mock
+    private AccountService accountService;
+
+    private LedgerWriter ledgerWriter;
+
+    @BeforeEach
+    void setUp() {
+        ledgerWriter = new LedgerWriter(accountService, new SimpleMeterRegistry(), true, 100, 5, 100);
+        ledgerWriter.start();
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        ledgerWriter.stop();
+    }
+
+    @Test
+    void 롤백된_실패_건별실행_test() throws Exception {
+        // given
+        User ssar = newMockUser(1L, "ssar", "쌀");
+        Account ssarAccount = newMockAccount(1L, 1111L, 1000L, ssar);
+        AccountDepositRespDto resp = new AccountDepositRespDto(ssarAccount, newMockDepositTransaction(1L, ssarAccount));
+
+        // stub
+        when(accountService.계좌입금_그룹(anyList())).thenThrow(new DataIntegrityViolationException("제약조건 위반"));
+        when(accountService.계좌입금(any())).thenReturn(resp);
+
+        // when
+        CompletableFuture<AccountDepositRespDto> future = ledgerWriter.depositAsync(newDepositReqDto());
+
+        // then
+        assertThat(future.get(5, TimeUnit.SECONDS).getNumber()).isEqualTo(1111L);
+        verify(accountService, times(1)).계좌입금(any());
+    }
+
+    @Test
+    void 커밋결과_모름_다시실행안함_test() {
+        // given (커밋 중 연결이 끊김 - 실제로는 커밋되었을 수 있다)
+        when(accountService.계좌입금_그룹(anyList())).thenThrow(new TransactionSystemException("커밋 중 연결 끊김"));
+
+        // when
+        CompletableFuture<AccountDepositRespDto> future = ledgerWriter.depositAsync(newDepositReqDto());
+
+        // then
+        ExecutionException e = assertThrows(ExecutionException.class, () -> future.get(5, TimeUnit.SECONDS));
+        assertThat(e.getCause()).isInstanceOf(TransactionSystemException.class);
+        verify(accountService, never()).계좌입금(any());
+    }
+
+    private AccountDepositReqDto newDepositReqDto() {
+        AccountDepositReqDto request = new AccountDepositReqDto();
+        request.setNumber(1111L);
+        request.setAmount(100L);
+        request.setGubun("DEPOSIT");
+        request.setTel("01011112222");
+        return request;
+    }
+}
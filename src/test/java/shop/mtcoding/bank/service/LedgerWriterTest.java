@@ -0,0 +1,105 @@
+package shop.mtcoding.bank.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.jdbc.Sql;
+import shop.mtcoding.bank.config.dummy.DummyObject;
+import shop.mtcoding.bank.domain.account.AccountRepository;
+import shop.mtcoding.bank.domain.transaction.TransactionRepository;
+import shop.mtcoding.bank.domain.user.User;
+import shop.mtcoding.bank.domain.user.UserRepository;
+import shop.mtcoding.bank.dto.account.AccountReqDto.AccountDepositReqDto;
+import shop.mtcoding.bank.dto.account.AccountRespDto.AccountDepositRespDto;
+import shop.mtcoding.bank.handler.ex.CustomApiException;
+
+// 그룹 커밋은 별도 스레드에서 커밋되므로 @Transactional을 붙이지 않고 teardown.sql로 초기화한다.
+@Sql("classpath:db/teardown.sql")
+@ActiveProfiles("test")
+@SpringBootTest(properties = {"bank.ledger.group-commit.enabled=true", "bank.ledger.group-commit.max-delay-ms=50"})
+class LedgerWriterTest extends DummyObject {
+    private static final int REQUEST_COUNT = 100;
+
+    @Autowired
+    private LedgerWriter ledgerWriter;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        User ssar = userRepository.save(newUser("ssar", "쌀"));
+        User cos = userRepository.save(newUser("cos", "코스"));
+        accountRepository.save(newMockAccount(1L, 1111L, 1000L, ssar));
+        accountRepository.save(newMockAccount(2L, 2222L, 1000L, cos));
+    }
+
+    @Test
+    void 그룹입금_test() {
+        // given
+        DistributionSummary batchSize = meterRegistry.find("bank.ledger.batch.size").summary();
+        long flushCountBefore = batchSize.count();
+
+        // when (한번에 요청을 넣으면 max-delay-ms 안에 묶여서 커밋된다)
+        List<CompletableFuture<AccountDepositRespDto>> futures = new ArrayList<>();
+        for (int i = 0; i < REQUEST_COUNT; i++) {
+            futures.add(ledgerWriter.depositAsync(newDepositReqDto(i % 2 == 0 ? 1111L : 2222L, 100L)));
+        }
+        CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).join();
+        long flushCount = batchSize.count() - flushCountBefore;
+        System.out.println("테스트: 커밋 횟수 " + flushCount);
+
+        // then
+        assertThat(flushCount).isLessThan(REQUEST_COUNT / 10);
+        assertThat(accountRepository.findByNumber(1111L).get().getBalance()).isEqualTo(1000L + 100L * REQUEST_COUNT / 2);
+        assertThat(accountRepository.findByNumber(2222L).get().getBalance()).isEqualTo(1000L + 100L * REQUEST_COUNT / 2);
+        assertThat(transactionRepository.count()).isEqualTo(REQUEST_COUNT);
+        assertThat(futures.get(0).join().getTransaction().getId()).isNotNull();
+    }
+
+    @Test
+    void 그룹입금_건별실패_test() {
+        // given
+        CompletableFuture<AccountDepositRespDto> success = ledgerWriter.depositAsync(newDepositReqDto(1111L, 100L));
+        CompletableFuture<AccountDepositRespDto> fail = ledgerWriter.depositAsync(newDepositReqDto(9999L, 100L));
+
+        // when
+        AccountDepositRespDto accountDepositRespDto = success.join();
+        CompletionException e = assertThrows(CompletionException.class, fail::join);
+
+        // then
+        assertThat(accountDepositRespDto.getNumber()).isEqualTo(1111L);
+        assertThat(e.getCause()).isInstanceOf(CustomApiException.class);
+        assertThat(e.getCause().getMessage()).isEqualTo("계좌를 찾을 수 없습니다");
+        assertThat(accountRepository.findByNumber(1111L).get().getBalance()).isEqualTo(1100L);
+    }
+
+    private AccountDepositReqDto newDepositReqDto(Long number, Long amount) {
+        AccountDepositReqDto request = new AccountDepositReqDto();
+        request.setNumber(number);
+        request.setAmount(amount);
+        request.setGubun("DEPOSIT");
+        request.setTel("01011112222");
+        return request;
+    }
+}
@@ -0,0 +1,81 @@
+package shop.mtcoding.bank.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.auth0.jwt.exceptions.JWTVerificationException;
+import com.auth0.jwt.interfaces.DecodedJWT;
+import java.time.LocalDateTime;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.jdbc.Sql;
+import shop.mtcoding.bank.config.auth.LoginUser;
+import shop.mtcoding.bank.config.jwt.JwtProcess;
+import shop.mtcoding.bank.config.jwt.JwtVO;
+import shop.mtcoding.bank.domain.user.RevokedTokenRepository;
+import shop.mtcoding.bank.domain.user.User;
+import shop.mtcoding.bank.domain.user.UserEnum;
+
+// 리포지토리 메서드가 각자 커밋하므로 @Transactional을 붙이지 않고 teardown.sql로 초기화한다.
+@Sql("classpath:db/teardown.sql")
+@ActiveProfiles("test")
+@SpringBootTest
+class TokenServiceTest {
+
+    @Autowired
+    private TokenService tokenService;
+
+    @Autowired
+    private RevokedTokenRepository revokedTokenRepository;
+
+    private LoginUser newLoginUser() {
+        User user = User.builder().id(1L).role(UserEnum.CUSTOMER).build();
+        return new LoginUser(user);
+    }
+
+    @Test
+    void 토큰재발급_test() {
+        // given
+        String refreshToken = JwtProcess.createRefresh(newLoginUser());
+
+        // when
+        LoginUser loginUser = tokenService.토큰재발급(refreshToken);
+        System.out.println("테스트: " + loginUser.getId());
+
+        // then
+        assertThat(loginUser.getId()).isEqualTo(1L);
+        assertThat(revokedTokenRepository.existsById(JwtProcess.verifyRefresh(refreshToken).getId())).isTrue();
+        assertThrows(JWTVerificationException.class, () -> tokenService.토큰재발급(refreshToken));  // 재사용 불가
+    }
+
+    @Test
+    void 로그아웃_test() {
+        // given
+        String token = JwtProcess.create(newLoginUser()).replace(JwtVO.TOKEN_PREFIX, "");
+        String refreshToken = JwtProcess.createRefresh(newLoginUser());
+
+        // when
+        tokenService.로그아웃(token, refreshToken);
+
+        // then
+        assertThat(revokedTokenRepository.count()).isEqualTo(2);
+        assertThrows(JWTVerificationException.class, () -> JwtProcess.verify(token));
+        assertThrows(JWTVerificationException.class, () -> tokenService.토큰재발급(refreshToken));
+    }
+
+    @Test
+    void 폐기목록복구_test() {
+        // given
+        String token = JwtProcess.create(newLoginUser()).replace(JwtVO.TOKEN_PREFIX, "");
+        DecodedJWT decodedJWT = JwtProcess.verifyAccess(token);
+        revokedTokenRepository.insert(decodedJWT.getId(), false, LocalDateTime.now().plusMinutes(30)); // 재시작 전에 폐기된 토큰
+
+        // when
+        tokenService.폐기목록복구();
+
+        // then
+        assertThrows(JWTVerificationException.class, () -> JwtProcess.verify(token));
+    }
+}
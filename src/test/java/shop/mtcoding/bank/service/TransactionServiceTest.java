@@ -0,0 +1,197 @@
+package shop.mtcoding.bank.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import shop.mtcoding.bank.config.dummy.DummyObject;
+import shop.mtcoding.bank.domain.account.Account;
+import shop.mtcoding.bank.domain.account.AccountMeta;
+import shop.mtcoding.bank.domain.account.AccountMetaCache;
+import shop.mtcoding.bank.domain.account.AccountRepository;
+import shop.mtcoding.bank.domain.account.AccountSnapshot;
+import shop.mtcoding.bank.domain.account.AccountSnapshotRepository;
+import shop.mtcoding.bank.domain.transaction.Transaction;
+import shop.mtcoding.bank.domain.transaction.TransactionEnum;
+import shop.mtcoding.bank.domain.transaction.TransactionRepository;
+import shop.mtcoding.bank.domain.user.User;
+import shop.mtcoding.bank.dto.transaction.TransactionRespDto.StatementRespDto;
+import shop.mtcoding.bank.dto.transaction.TransactionRespDto.TransactionDto;
+import shop.mtcoding.bank.dto.transaction.TransactionRespDto.TransactionListRespDto;
+import shop.mtcoding.bank.handler.ex.CustomApiException;
+
+@ExtendWith(MockitoExtension.class)
+class TransactionServiceTest extends DummyObject {
+
+    @InjectMocks
+    private TransactionService transactionService;
+
+    @Mock
+    private TransactionRepository transactionRepository;
+
+    @Mock
+    private AccountRepository accountRepository;
+
+    @Mock
+    private AccountSnapshotRepository accountSnapshotRepository;
+
+    @Spy
+    private AccountMetaCache accountMetaCache;
+
+    @Test
+    void 입출금목록보기_test() {
+        // given
+        Long userId = 1L;
+        when(accountRepository.findMetaByNumber(anyLong())).thenReturn(Optional.of(new AccountMeta(1L, 1111L, userId)));
+
+        TransactionDto withdraw = new TransactionDto(1L, TransactionEnum.WITHDRAW, 100L, null, LocalDateTime.now(),
+                1L, 1111L, null, 900L, null);
+        TransactionDto transfer = new TransactionDto(2L, TransactionEnum.TRANSFER, 100L, null, LocalDateTime.now(),
+                2L, 2222L, 1111L, 900L, 1000L);
+        withdraw.applyBalance(1L);
+        transfer.applyBalance(1L);
+        when(transactionRepository.findTransactionHistory(eq(1L), anyString(), any(), any())).thenReturn(List.of(withdraw, transfer));
+
+        // when
+        TransactionListRespDto transactionListRespDto = transactionService.입출금목록보기(userId, 1111L, "ALL", null, 2);
+
+        // then
+        assertThat(transactionListRespDto.getTransactions().size()).isEqualTo(2);
+        assertThat(transactionListRespDto.getTransactions().get(0).getBalance()).isEqualTo(900L);
+        assertThat(transactionListRespDto.getTransactions().get(1).getBalance()).isEqualTo(1000L); // 입금받은 쪽 잔액
+        assertThat(transactionListRespDto.getTransactions().get(0).getReceiver()).isEqualTo("ATM");
+        assertThat(transactionListRespDto.getTransactions().get(1).getSender()).isEqualTo("2222");
+        assertThat(transactionListRespDto.getNextCursor()).isNotNull();
+    }
+
+    @Test
+    void 입출금목록보기_구분값_fail_test() {
+        // given
+        Long userId = 1L;
+
+        // when
+        // then
+        assertThrows(CustomApiException.class, () -> transactionService.입출금목록보기(userId, 1111L, "TRANSFER", null, 5));
+    }
+
+    @Test
+    void 입출금목록페이지보기_test() {
+        // given
+        Long userId = 1L;
+        when(accountRepository.findMetaByNumber(anyLong())).thenReturn(Optional.of(new AccountMeta(1L, 1111L, userId)));
+
+        User ssar = newMockUser(userId, "ssar", "쌀");
+        Account ssarAccount = newMockAccount(1L, 1111L, 1000L, ssar);
+        Transaction deposit = newMockDepositTransaction(1L, ssarAccount);
+        when(transactionRepository.findTransactionList(1L, "DEPOSIT", 0)).thenReturn(List.of(deposit));
+
+        // when
+        TransactionListRespDto transactionListRespDto = transactionService.입출금목록페이지보기(userId, 1111L, "DEPOSIT", 0);
+
+        // then
+        assertThat(transactionListRespDto.getTransactions().size()).isEqualTo(1);
+        assertThat(transactionListRespDto.getTransactions().get(0).getBalance()).isEqualTo(1100L);
+        assertThat(transactionListRespDto.getTransactions().get(0).getSender()).isEqualTo("ATM");
+        assertThat(transactionListRespDto.getNextCursor()).isNull();
+    }
+
+    // 구분값과 상관없이 페이지를 제한한다. (계좌, 거래내역을 조회하기 전에 거절)
+    @Test
+    void 입출금목록페이지보기_페이지범위_fail_test() {
+        // given
+        Long userId = 1L;
+        int page = TransactionService.MAX_OFFSET_PAGE + 1;
+
+        // when
+        // then
+        for (String gubun : List.of("WITHDRAW", "DEPOSIT", "ALL")) {
+            assertThrows(CustomApiException.class, () -> transactionService.입출금목록페이지보기(userId, 1111L, gubun, page));
+        }
+        verify(transactionRepository, times(0)).findTransactionList(anyLong(), anyString(), any());
+    }
+
+    @Test
+    void 계좌명세서보기_test() {
+        // given
+        Long userId = 1L;
+        LocalDate from = LocalDate.of(2024, 3, 1);
+        LocalDate to = LocalDate.of(2024, 3, 31);
+        when(accountRepository.findMetaByNumber(anyLong())).thenReturn(Optional.of(new AccountMeta(1L, 1111L, userId)));
+
+        AccountSnapshot snapshot = AccountSnapshot.builder().accountId(1L).snapshotDate(LocalDate.of(2024, 2, 29)).balance(5000L).build();
+        when(accountSnapshotRepository.findFirstByAccountIdAndSnapshotDateBeforeOrderBySnapshotDateDesc(1L, from))
+                .thenReturn(Optional.of(snapshot));
+
+        TransactionDto withdraw = new TransactionDto(1L, TransactionEnum.WITHDRAW, 300L, null, LocalDateTime.of(2024, 3, 2, 10, 0),
+                1L, 1111L, null, 4700L, null);
+        TransactionDto transfer = new TransactionDto(2L, TransactionEnum.TRANSFER, 1000L, null, LocalDateTime.of(2024, 3, 15, 10, 0),
+                2L, 2222L, 1111L, 900L, 5700L);
+        withdraw.applyBalance(1L);
+        transfer.applyBalance(1L);
+        when(transactionRepository.findTransactionHistoryBetween(eq(1L), any(), any())).thenReturn(List.of(withdraw, transfer));
+
+        // when
+        StatementRespDto statementRespDto = transactionService.계좌명세서보기(userId, 1111L, from, to);
+
+        // then
+        assertThat(statementRespDto.getOpeningBalance()).isEqualTo(5000L);
+        assertThat(statementRespDto.getClosingBalance()).isEqualTo(5700L);
+        assertThat(statementRespDto.getWithdrawTotal()).isEqualTo(300L);
+        assertThat(statementRespDto.getDepositTotal()).isEqualTo(1000L);
+    }
+
+    @Test
+    void 계좌명세서보기_기간_fail_test() {
+        // given
+        Long userId = 1L;
+        LocalDate from = LocalDate.of(2024, 3, 31);
+        LocalDate to = LocalDate.of(2024, 3, 1);
+
+        // when & then
+        assertThrows(CustomApiException.class, () -> transactionService.계좌명세서보기(userId, 1111L, from, to));
+    }
+
+    @Test
+    void 입출금목록보기_계좌캐시_test() {
+        // given
+        Long userId = 1L;
+        when(accountRepository.findMetaByNumber(anyLong())).thenReturn(Optional.of(new AccountMeta(1L, 1111L, userId)));
+        when(transactionRepository.findTransactionHistory(eq(1L), anyString(), any(), any())).thenReturn(List.of());
+
+        // when
+        transactionService.입출금목록보기(userId, 1111L, "ALL", null, 5);
+        transactionService.입출금목록보기(userId, 1111L, "ALL", null, 5);
+
+        // then
+        verify(accountRepository, times(1)).findMetaByNumber(1111L);
+        assertThat(accountMetaCache.getMetaCache().getHitCount()).isEqualTo(1);
+    }
+
+    @Test
+    void 입출금목록보기_소유자_fail_test() {
+        // given
+        Long userId = 2L;
+        when(accountRepository.findMetaByNumber(anyLong())).thenReturn(Optional.of(new AccountMeta(1L, 1111L, 1L)));
+
+        // when
+        // then
+        assertThrows(CustomApiException.class, () -> transactionService.입출금목록보기(userId, 1111L, "ALL", null, 5));
+        verify(accountRepository, times(2)).findMetaByNumber(1111L);    // 캐시와 다르면 DB에서 다시 확인
+    }
+}
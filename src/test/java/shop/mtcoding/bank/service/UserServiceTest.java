@@ -12,6 +12,7 @@ import org.mockito.Mock;
 import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import shop.mtcoding.bank.config.auth.MissingUsernameCache;
 import shop.mtcoding.bank.config.dummy.DummyObject;
 import shop.mtcoding.bank.domain.user.User;
 import shop.mtcoding.bank.domain.user.UserRepository;
@@ -30,6 +31,9 @@ public class UserServiceTest extends DummyObject {
     @Spy
     private BCryptPasswordEncoder passwordEncoder;
 
+    @Spy
+    private MissingUsernameCache missingUsernameCache;
+
     @Test
     void 회원가입_test() throws Exception {
         // given
@@ -40,6 +44,7 @@ public class UserServiceTest extends DummyObject {
         joinReqDto.setFullname("쌀");
 
         when(userRepository.findByUsername(any())).thenReturn(Optional.empty());
+        missingUsernameCache.markMissing("ssar");   // 가입 전에 로그인을 시도한 경우
 
         User ssar = newMockUser(1L, "ssar", "쌀");
         when(userRepository.save(any())).thenReturn(ssar);
@@ -51,5 +56,6 @@ public class UserServiceTest extends DummyObject {
         // then
         assertThat(joinRespDto.getId()).isEqualTo(1L);
         assertThat(joinRespDto.getUsername()).isEqualTo("ssar");
+        assertThat(missingUsernameCache.isMissing("ssar")).isFalse();
     }
 }
@@ -0,0 +1,151 @@
+package shop.mtcoding.bank.service.ledger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.transaction.support.TransactionTemplate;
+import shop.mtcoding.bank.config.dummy.DummyObject;
+import shop.mtcoding.bank.domain.account.AccountRepository;
+import shop.mtcoding.bank.domain.transaction.TransactionRepository;
+import shop.mtcoding.bank.domain.user.User;
+import shop.mtcoding.bank.domain.user.UserRepository;
+import shop.mtcoding.bank.dto.account.AccountReqDto.AccountDepositReqDto;
+import shop.mtcoding.bank.dto.account.AccountReqDto.AccountWithdrawReqDto;
+import shop.mtcoding.bank.dto.account.AccountRespDto.AccountDepositRespDto;
+import shop.mtcoding.bank.dto.account.AccountRespDto.AccountWithdrawRespDto;
+import shop.mtcoding.bank.handler.ex.CustomApiException;
+import shop.mtcoding.bank.service.AccountService;
+
+// 입금은 샤드, flusher 스레드에서 커밋되므로 @Transactional을 붙이지 않고 teardown.sql로 초기화한다.
+@Sql("classpath:db/teardown.sql")
+@ActiveProfiles("test")
+@SpringBootTest(properties = {"bank.ledger.engine.enabled=true",
+        "bank.ledger.engine.wal-dir=${java.io.tmpdir}/bank-ledger-test-${random.uuid}"})
+class LedgerEngineTest extends DummyObject {
+    private static final int REQUEST_COUNT = 100;
+
+    @Autowired
+    private LedgerEngine ledgerEngine;
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private User ssar;
+
+    @BeforeEach
+    void setUp() {
+        ssar = userRepository.save(newUser("ssar", "쌀"));
+        User cos = userRepository.save(newUser("cos", "코스"));
+        accountRepository.save(newAccount(1111L, ssar));
+        accountRepository.save(newAccount(2222L, cos));
+    }
+
+    @Test
+    void 원장입금_test() {
+        // given
+        List<CompletableFuture<AccountDepositRespDto>> futures = new ArrayList<>();
+
+        // when
+        for (int i = 0; i < REQUEST_COUNT; i++) {
+            futures.add(ledgerEngine.depositAsync(newDepositReqDto(i % 2 == 0 ? 1111L : 2222L, 100L)));
+        }
+        CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).join();
+        ledgerEngine.syncForUpdate(List.of(1111L, 2222L));
+
+        // then (응답의 잔액은 샤드가, DB 잔액은 flusher가 계산한다)
+        AccountDepositRespDto last = futures.get(REQUEST_COUNT - 2).join();
+        System.out.println("테스트: 마지막 입금 후 잔액 " + last.getTransaction().getDepositAccountBalance());
+        assertThat(last.getTransaction().getDepositAccountBalance()).isEqualTo(1000L + 100L * REQUEST_COUNT / 2);
+        assertThat(last.getTransaction().getId()).isNotNull();
+        assertThat(accountRepository.findByNumber(1111L).get().getBalance()).isEqualTo(1000L + 100L * REQUEST_COUNT / 2);
+        assertThat(accountRepository.findByNumber(2222L).get().getBalance()).isEqualTo(1000L + 100L * REQUEST_COUNT / 2);
+        assertThat(transactionRepository.count()).isEqualTo(REQUEST_COUNT);
+    }
+
+    @Test
+    void 원장입금_출금후_test() {
+        // given
+        ledgerEngine.deposit(newDepositReqDto(1111L, 100L));
+        AccountWithdrawReqDto accountWithdrawReqDto = new AccountWithdrawReqDto();
+        accountWithdrawReqDto.setNumber(1111L);
+        accountWithdrawReqDto.setPassword(1234L);
+        accountWithdrawReqDto.setAmount(500L);
+        accountWithdrawReqDto.setGubun("WITHDRAW");
+
+        // when (출금은 JPA 경로 - 커밋 후 샤드가 잔액을 다시 읽어야 한다)
+        AccountWithdrawRespDto accountWithdrawRespDto = accountService.계좌출금(accountWithdrawReqDto, ssar.getId());
+        AccountDepositRespDto accountDepositRespDto = ledgerEngine.deposit(newDepositReqDto(1111L, 100L));
+
+        // then
+        assertThat(accountWithdrawRespDto.getBalance()).isEqualTo(600L);
+        assertThat(accountDepositRespDto.getTransaction().getDepositAccountBalance()).isEqualTo(700L);
+    }
+
+    @Test
+    void 원장입금_출금중_test() throws Exception {
+        // given
+        AccountWithdrawReqDto accountWithdrawReqDto = new AccountWithdrawReqDto();
+        accountWithdrawReqDto.setNumber(1111L);
+        accountWithdrawReqDto.setPassword(1234L);
+        accountWithdrawReqDto.setAmount(500L);
+        accountWithdrawReqDto.setGubun("WITHDRAW");
+        ledgerEngine.deposit(newDepositReqDto(1111L, 100L));  // 샤드가 잔액을 들고 있다.
+
+        // when (출금 트랜잭션이 끝나기 전에 들어온 입금은 커밋 후에 처리되어야 한다)
+        CompletableFuture<AccountDepositRespDto> future = transactionTemplate.execute(status -> {
+            accountService.계좌출금(accountWithdrawReqDto, ssar.getId());
+            CompletableFuture<AccountDepositRespDto> pending = ledgerEngine.depositAsync(newDepositReqDto(1111L, 100L));
+            assertThrows(TimeoutException.class, () -> pending.get(200, TimeUnit.MILLISECONDS));
+            return pending;
+        });
+        AccountDepositRespDto accountDepositRespDto = future.get(5, TimeUnit.SECONDS);
+        System.out.println("테스트: 출금중 입금 후 잔액 " + accountDepositRespDto.getTransaction().getDepositAccountBalance());
+
+        // then
+        assertThat(accountDepositRespDto.getTransaction().getDepositAccountBalance()).isEqualTo(700L);
+    }
+
+    @Test
+    void 원장입금_계좌없음_test() {
+        // given
+        AccountDepositReqDto accountDepositReqDto = newDepositReqDto(9999L, 100L);
+
+        // when
+        CustomApiException e = assertThrows(CustomApiException.class, () -> ledgerEngine.deposit(accountDepositReqDto));
+
+        // then
+        assertThat(e.getMessage()).isEqualTo("계좌를 찾을 수 없습니다");
+    }
+
+    private AccountDepositReqDto newDepositReqDto(Long number, Long amount) {
+        AccountDepositReqDto request = new AccountDepositReqDto();
+        request.setNumber(number);
+        request.setAmount(amount);
+        request.setGubun("DEPOSIT");
+        request.setTel("01011112222");
+        return request;
+    }
+}
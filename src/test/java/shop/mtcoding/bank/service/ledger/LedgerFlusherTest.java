@@ -0,0 +1,103 @@
+package shop.mtcoding.bank.service.ledger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.nio.file.Path;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import shop.mtcoding.bank.config.dummy.DummyObject;
+import shop.mtcoding.bank.domain.account.Account;
+import shop.mtcoding.bank.domain.account.AccountRepository;
+import shop.mtcoding.bank.domain.account.AccountSnapshotRepository;
+import shop.mtcoding.bank.domain.user.User;
+import shop.mtcoding.bank.domain.user.UserRepository;
+
+// flusher 스레드가 커밋하므로 @Transactional을 붙이지 않고 teardown.sql로 초기화한다.
+@Sql("classpath:db/teardown.sql")
+@ActiveProfiles("test")
+@SpringBootTest
+class LedgerFlusherTest extends DummyObject {
+    private static final long DUPLICATE_ID = 900_001L;
+
+    @TempDir
+    Path walDir;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private AccountSnapshotRepository accountSnapshotRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private LedgerWal wal;
+    private LedgerFlusher flusher;
+    private Account ssarAccount;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        User ssar = userRepository.save(newUser("ssar", "쌀"));
+        ssarAccount = accountRepository.save(newAccount(1111L, ssar));
+
+        wal = new LedgerWal(0, walDir.resolve("ledger-0.wal"), LedgerWal.HEADER_SIZE + LedgerWal.RECORD_SIZE * 16L);
+        flusher = new LedgerFlusher(new LedgerWal[]{wal}, new TransactionTemplate(transactionManager), accountRepository,
+                accountSnapshotRepository, jdbcTemplate, 100, 10,
+                DistributionSummary.builder("test.flush.size").register(new SimpleMeterRegistry()));
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        flusher.stop(5000);
+        wal.close();
+    }
+
+    @Test
+    void flush_permanent_failure_test() throws Exception {
+        // given (거래내역 id가 이미 있는 입금 - 몇번을 다시 시도해도 insert가 실패한다)
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.update("INSERT INTO transaction_tb (id, deposit_account_id, amount, deposit_account_balance, gubun, tel, "
+                + "created_at, updated_at) VALUES (?, ?, 100, 1100, 'DEPOSIT', '01011112222', ?, ?)",
+                DUPLICATE_ID, ssarAccount.getId(), now, now);
+        List<LedgerRecord> records = List.of(newRecord(1L, 900_000L), newRecord(2L, DUPLICATE_ID), newRecord(3L, 900_002L));
+
+        // when
+        flusher.start();
+        flusher.enqueue(records);
+        boolean flushed = flusher.awaitFlushed(0, 3L, 5000);
+
+        // then (실패한 입금만 dead letter로 남고 나머지는 반영된다)
+        Long balance = accountRepository.findByNumber(1111L).orElseThrow().getBalance();
+        List<Long> deadLetterIds = jdbcTemplate.queryForList("SELECT id FROM transaction_dead_letter_tb", Long.class);
+        System.out.println("테스트: 잔액 " + balance + ", dead letter " + deadLetterIds);
+        assertThat(flushed).isTrue();
+        assertThat(balance).isEqualTo(1200L);
+        assertThat(deadLetterIds).containsExactly(DUPLICATE_ID);
+        assertThat(wal.getCheckpointLsn()).isEqualTo(3L);
+    }
+
+    private LedgerRecord newRecord(long lsn, long transactionId) {
+        return new LedgerRecord(0, lsn, transactionId, ssarAccount.getId(), 1111L, 100L, 1000L + 100L * lsn,
+                LedgerRecord.toEpochNanos(LocalDateTime.now()), LedgerRecord.parseTel("01011112222"));
+    }
+}
@@ -0,0 +1,115 @@
+package shop.mtcoding.bank.service.ledger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.file.Path;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class LedgerWalTest {
+    private static final long FILE_SIZE = LedgerWal.HEADER_SIZE + LedgerWal.RECORD_SIZE * 4L;
+
+    @TempDir
+    Path walDir;
+
+    @Test
+    void recover_test() throws Exception {
+        // given
+        Path path = walDir.resolve("ledger-0.wal");
+        try (LedgerWal wal = new LedgerWal(0, path, FILE_SIZE)) {
+            wal.append(newRecord(1L));
+            wal.append(newRecord(2L));
+            wal.append(newRecord(3L));
+            wal.force();
+            wal.checkpoint(1L);
+        }
+
+        // when (재기동)
+        List<LedgerRecord> records;
+        try (LedgerWal wal = new LedgerWal(0, path, FILE_SIZE)) {
+            records = wal.recover();
+        }
+        System.out.println("테스트: 복구 " + records.size() + "건");
+
+        // then
+        assertThat(records).extracting(record -> record.lsn).containsExactly(2L, 3L);
+        assertThat(records.get(0).getTel()).isEqualTo("01011112222");
+        assertThat(records.get(0).balance).isEqualTo(1200L);
+    }
+
+    @Test
+    void recover_wrap_test() throws Exception {
+        // given (capacity 4 - lsn 5, 6은 lsn 1, 2 자리에 쓰인다)
+        Path path = walDir.resolve("ledger-0.wal");
+        try (LedgerWal wal = new LedgerWal(0, path, FILE_SIZE)) {
+            for (long lsn = 1; lsn <= 6; lsn++) {
+                wal.append(newRecord(lsn));
+            }
+            wal.force();
+            wal.checkpoint(3L);
+        }
+
+        // when
+        List<LedgerRecord> records;
+        try (LedgerWal wal = new LedgerWal(0, path, FILE_SIZE)) {
+            records = wal.recover();
+        }
+
+        // then
+        assertThat(records).extracting(record -> record.lsn).containsExactly(4L, 5L, 6L);
+    }
+
+    @Test
+    void recover_gap_test() throws Exception {
+        // given (lsn 3이 쓰이지 않았다 - 3 이후는 완료되지 않은 입금)
+        Path path = walDir.resolve("ledger-0.wal");
+        try (LedgerWal wal = new LedgerWal(0, path, FILE_SIZE)) {
+            wal.append(newRecord(1L));
+            wal.append(newRecord(2L));
+            wal.append(newRecord(4L));
+            wal.force();
+        }
+
+        // when
+        List<LedgerRecord> records;
+        List<LedgerRecord> recoveredAgain;
+        try (LedgerWal wal = new LedgerWal(0, path, FILE_SIZE)) {
+            records = wal.recover();
+            recoveredAgain = wal.recover();
+        }
+
+        // then
+        assertThat(records).extracting(record -> record.lsn).containsExactly(1L, 2L);
+        assertThat(recoveredAgain).extracting(record -> record.lsn).containsExactly(1L, 2L);
+    }
+
+    @Test
+    void recover_truncate_test() throws Exception {
+        // given (lsn 2, 3은 샤드가 실패해서 지웠고, 같은 lsn으로 다시 썼다)
+        Path path = walDir.resolve("ledger-0.wal");
+        try (LedgerWal wal = new LedgerWal(0, path, FILE_SIZE)) {
+            wal.append(newRecord(1L));
+            wal.append(newRecord(2L));
+            wal.append(newRecord(3L));
+            wal.truncate(2L, 4L);
+            wal.append(newRecord(2L));
+            wal.force();
+        }
+
+        // when
+        List<LedgerRecord> records;
+        try (LedgerWal wal = new LedgerWal(0, path, FILE_SIZE)) {
+            records = wal.recover();
+        }
+        System.out.println("테스트: 복구 " + records.size() + "건");
+
+        // then
+        assertThat(records).extracting(record -> record.lsn).containsExactly(1L, 2L);
+    }
+
+    private LedgerRecord newRecord(long lsn) {
+        return new LedgerRecord(0, lsn, 100L + lsn, 1L, 1111L, 100L, 1000L + 100L * lsn, System.nanoTime(),
+                LedgerRecord.parseTel("01011112222"));
+    }
+}
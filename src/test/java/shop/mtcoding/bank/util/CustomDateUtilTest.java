@@ -0,0 +1,42 @@
+package shop.mtcoding.bank.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDateTime;
+import org.junit.jupiter.api.Test;
+
+class CustomDateUtilTest {
+
+    @Test
+    void toStringFormat_test() {
+        // given
+        LocalDateTime[] dateTimes = {
+                LocalDateTime.of(2023, 1, 2, 3, 4, 5),
+                LocalDateTime.of(1999, 12, 31, 23, 59, 59, 999_999_999),
+                LocalDateTime.of(10, 10, 10, 0, 0, 0),
+                LocalDateTime.now()
+        };
+
+        for (LocalDateTime dateTime : dateTimes) {
+            // when
+            String result = CustomDateUtil.toStringFormat(dateTime);
+            System.out.println("테스트: " + result);
+
+            // then (DateTimeFormatter와 결과가 같아야 한다)
+            assertThat(result).isEqualTo(dateTime.format(CustomDateUtil.FORMATTER));
+        }
+    }
+
+    @Test
+    void toEpochMilli_test() {
+        // given
+        LocalDateTime dateTime = LocalDateTime.of(2023, 1, 2, 3, 4, 5);
+
+        // when
+        long epochMilli = CustomDateUtil.toEpochMilli(dateTime);
+
+        // then
+        assertThat(epochMilli).isEqualTo(dateTime.atZone(CustomDateUtil.ZONE).toInstant().toEpochMilli());
+        assertThat(CustomDateUtil.toStringFormat(null)).isNull();
+    }
+}
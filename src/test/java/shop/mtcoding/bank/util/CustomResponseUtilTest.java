@@ -0,0 +1,45 @@
+package shop.mtcoding.bank.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDateTime;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockHttpServletResponse;
+import shop.mtcoding.bank.domain.user.User;
+import shop.mtcoding.bank.dto.user.UserRespDto.LoginRespDto;
+
+class CustomResponseUtilTest {
+
+    @Test
+    void success_test() throws Exception {
+        // given
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        User user = User.builder().id(1L).username("ssar").createdAt(LocalDateTime.now()).build();
+
+        // when
+        CustomResponseUtil.success(response, new LoginRespDto(user));
+        String responseBody = response.getContentAsString();
+        System.out.println("테스트: " + responseBody);
+
+        // then
+        assertThat(response.getStatus()).isEqualTo(200);
+        assertThat(response.getContentType()).startsWith("application/json");
+        assertThat(responseBody).contains("\"code\":1", "\"username\":\"ssar\"");
+    }
+
+    @Test
+    void fail_test() throws Exception {
+        // given
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // when
+        CustomResponseUtil.fail(response, "권한이 없습니다", HttpStatus.FORBIDDEN);
+        String responseBody = response.getContentAsString();
+        System.out.println("테스트: " + responseBody);
+
+        // then
+        assertThat(response.getStatus()).isEqualTo(403);
+        assertThat(responseBody).isEqualTo("{\"code\":-1,\"msg\":\"권한이 없습니다\",\"data\":null}");
+    }
+}
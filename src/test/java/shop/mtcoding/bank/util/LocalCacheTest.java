@@ -0,0 +1,127 @@
+package shop.mtcoding.bank.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.junit.jupiter.api.Test;
+
+class LocalCacheTest {
+
+    @Test
+    void get_test() {
+        // given
+        LocalCache<String, String> cache = new LocalCache<>(10, 1000L * 60);
+        cache.put("ssar", "쌀");
+
+        // when
+        String hit = cache.get("ssar");
+        String miss = cache.get("cos");
+
+        // then
+        assertThat(hit).isEqualTo("쌀");
+        assertThat(miss).isNull();
+        assertThat(cache.getHitRatio()).isEqualTo(0.5);
+    }
+
+    @Test
+    void expire_test() {
+        // given
+        LocalCache<String, String> cache = new LocalCache<>(10, 1000L * 60);
+        cache.put("ssar", "쌀", System.currentTimeMillis() - 1);    // 이미 만료된 값
+
+        // when
+        String value = cache.get("ssar");
+
+        // then
+        assertThat(value).isNull();
+        assertThat(cache.size()).isEqualTo(0);
+    }
+
+    @Test
+    void maxSize_test() {
+        // given
+        LocalCache<Integer, Integer> cache = new LocalCache<>(3, 1000L * 60);
+
+        // when
+        for (int i = 0; i < 10; i++) {
+            cache.put(i, i);
+        }
+
+        // then
+        assertThat(cache.size()).isEqualTo(3);
+        assertThat(cache.get(9)).isEqualTo(9);
+    }
+
+    @Test
+    void lru_test() {
+        // given
+        LocalCache<Integer, Integer> cache = new LocalCache<>(3, 1000L * 60);
+        cache.put(1, 1);
+        cache.put(2, 2);
+        cache.put(3, 3);
+
+        // when (1을 다시 읽었으므로 가장 오래 쓰지 않은 항목은 2)
+        cache.get(1);
+        cache.put(4, 4);
+
+        // then
+        assertThat(cache.get(1)).isEqualTo(1);
+        assertThat(cache.get(2)).isNull();
+        assertThat(cache.get(4)).isEqualTo(4);
+    }
+
+    @Test
+    void segment_maxSize_test() {
+        // given (세그먼트로 나뉘는 크기)
+        LocalCache<Integer, Integer> cache = new LocalCache<>(10_000, 1000L * 60);
+
+        // when
+        for (int i = 0; i < 50_000; i++) {
+            cache.put(i, i);
+        }
+
+        // then
+        System.out.println("테스트: 캐시 크기 " + cache.size());
+        assertThat(cache.size()).isLessThanOrEqualTo(10_000);
+        assertThat(cache.get(49_999)).isEqualTo(49_999);
+    }
+
+    @Test
+    void evictLive_false_test() {
+        // given (유효한 항목은 지우지 않는 캐시 - 가장 먼저 저장된 1만 만료)
+        LocalCache<Integer, Integer> cache = new LocalCache<>(3, 1000L * 60, false);
+        cache.put(1, 1, System.currentTimeMillis() - 1);
+        cache.putIfAbsent(2, 2);
+        cache.putIfAbsent(3, 3);
+
+        // when
+        Integer stored = cache.putIfAbsent(4, 4);   // 만료된 1 자리에 저장
+        LocalCache.FullException e = assertThrows(LocalCache.FullException.class, () -> cache.putIfAbsent(5, 5));
+
+        // then
+        System.out.println("테스트: " + e.getMessage());
+        assertThat(stored).isNull();
+        assertThat(cache.get(2)).isEqualTo(2);
+        assertThat(cache.get(4)).isEqualTo(4);
+        assertThat(cache.get(5)).isNull();
+    }
+
+    @Test
+    void putIfAbsent_test() {
+        // given
+        LocalCache<String, String> cache = new LocalCache<>(10, 1000L * 60);
+        cache.put("cos", "코스", System.currentTimeMillis() - 1);    // 이미 만료된 값
+
+        // when
+        String first = cache.putIfAbsent("ssar", "쌀");
+        String second = cache.putIfAbsent("ssar", "쌀2");
+        String expired = cache.putIfAbsent("cos", "코스2");
+
+        // then
+        assertThat(first).isNull();
+        assertThat(second).isEqualTo("쌀");
+        assertThat(expired).isNull();
+        assertThat(cache.get("ssar")).isEqualTo("쌀");
+        assertThat(cache.get("cos")).isEqualTo("코스2");
+    }
+}
@@ -1,13 +1,20 @@
 package shop.mtcoding.bank.web;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
 import javax.persistence.EntityManager;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -15,6 +22,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.context.SpringBootTest.WebEnvironment;
+import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.TestExecutionEvent;
 import org.springframework.security.test.context.support.WithUserDetails;
@@ -23,20 +31,28 @@ import org.springframework.test.context.jdbc.Sql;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.ResultActions;
 import shop.mtcoding.bank.config.dummy.DummyObject;
+import shop.mtcoding.bank.config.sql.SqlCount;
+import shop.mtcoding.bank.config.sql.SqlCountConfig;
+import shop.mtcoding.bank.config.sql.SqlStatementRecorder;
 import shop.mtcoding.bank.domain.account.Account;
+import shop.mtcoding.bank.domain.account.AccountMetaCache;
 import shop.mtcoding.bank.domain.account.AccountRepository;
 import shop.mtcoding.bank.domain.user.User;
 import shop.mtcoding.bank.domain.user.UserRepository;
 import shop.mtcoding.bank.dto.account.AccountReqDto.AccountDepositReqDto;
 import shop.mtcoding.bank.dto.account.AccountReqDto.AccountSaveReqDto;
+import shop.mtcoding.bank.dto.account.AccountReqDto.AccountTransferBatchReqDto;
 import shop.mtcoding.bank.dto.account.AccountReqDto.AccountTransferReqDto;
 import shop.mtcoding.bank.dto.account.AccountReqDto.AccountWithdrawReqDto;
+import shop.mtcoding.bank.handler.aop.AccountServiceMetricsAdvice;
+import shop.mtcoding.bank.handler.aop.IdempotencyAdvice;
 import shop.mtcoding.bank.handler.ex.CustomApiException;
 
 @Sql("classpath:db/teardown.sql")
 @ActiveProfiles("test")
 @AutoConfigureMockMvc
 @SpringBootTest(webEnvironment = WebEnvironment.MOCK)
+@Import(SqlCountConfig.class)
 class AccountControllerTest extends DummyObject {
 
     @Autowired
@@ -54,6 +70,12 @@ class AccountControllerTest extends DummyObject {
     @Autowired
     private EntityManager em;
 
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private AccountMetaCache accountMetaCache;
+
     @BeforeEach
     public void setUp() {
         User ssar = userRepository.save(newUser("ssar", "쌀"));
@@ -62,6 +84,10 @@ class AccountControllerTest extends DummyObject {
         Account cosAccount = accountRepository.save(newMockAccount(2L, 2222L, 1000L, cos));
 
         em.clear(); // 실제로는 PC에 내용이 없어야하기 때문에 환경을 맞춰줘야 한다.
+
+        // teardown.sql로 id가 초기화되므로 이전 테스트에서 캐시된 계좌 메타데이터를 비운다. (SQL 수가 테스트 순서에 따라 달라지지 않도록)
+        accountMetaCache.getMetaCache().clear();
+        accountMetaCache.getFullnameCache().clear();
     }
 
     // 세션값만 만들어주면 된다.
@@ -115,11 +141,16 @@ class AccountControllerTest extends DummyObject {
         Long number = 1111L;
 
         // when
+        SqlStatementRecorder.start();
         ResultActions resultActions = mvc.perform(delete("/api/s/account/" + number));
+        SqlCount sqlCount = SqlStatementRecorder.stop();
         String responseBody = resultActions.andReturn().getResponse().getContentAsString();
         System.out.println("테스트: " + responseBody);
 
         // then
+        // 계좌 조회 1 + delete 1 (deleteById의 findById는 영속성 컨텍스트에서 찾는다)
+        assertThat(sqlCount.getTotal()).as(sqlCount.toString()).isEqualTo(2);
+        assertThat(sqlCount.touches("user_tb")).isFalse();
         // JUnit테스트에서 delete쿼리는 DB관련으로 가장 마지막에 실행되면 발동 안됨.
         assertThrows(CustomApiException.class, () -> accountRepository.findByNumber(number).orElseThrow(() -> new CustomApiException("계좌를 찾을 수 없습니다")));
     }
@@ -147,6 +178,140 @@ class AccountControllerTest extends DummyObject {
         resultActions.andExpect(status().isCreated());
     }
 
+    @Test
+    void deposit_idempotency_test() throws Exception {
+        // given
+        AccountDepositReqDto request = new AccountDepositReqDto();
+        request.setNumber(1111L);
+        request.setAmount(100L);
+        request.setGubun("DEPOSIT");
+        request.setTel("01011112222");
+
+        String requestBody = om.writeValueAsString(request);
+        String idempotencyKey = UUID.randomUUID().toString();
+        System.out.println("테스트: " + requestBody);
+
+        // when (타임아웃으로 같은 요청을 다시 보냄)
+        mvc.perform(post("/api/account/deposit")
+                        .header(IdempotencyAdvice.HEADER, idempotencyKey)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(requestBody))
+                .andExpect(status().isCreated());
+        ResultActions resultActions = mvc.perform(post("/api/account/deposit")
+                .header(IdempotencyAdvice.HEADER, idempotencyKey)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(requestBody));
+        String responseBody = resultActions.andReturn().getResponse().getContentAsString();
+        System.out.println("테스트: " + responseBody);
+
+        // then
+        resultActions.andExpect(status().isCreated());
+        resultActions.andExpect(header().string(IdempotencyAdvice.REPLAYED_HEADER, "true"));
+        Account accountPS = accountRepository.findByNumber(1111L).orElseThrow();
+        assertThat(accountPS.getBalance()).isEqualTo(1100L);    // 한번만 입금됨
+    }
+
+    @Test
+    void deposit_idempotency_body_mismatch_test() throws Exception {
+        // given
+        AccountDepositReqDto request = new AccountDepositReqDto();
+        request.setNumber(1111L);
+        request.setAmount(100L);
+        request.setGubun("DEPOSIT");
+        request.setTel("01011112222");
+        String idempotencyKey = UUID.randomUUID().toString();
+        mvc.perform(post("/api/account/deposit")
+                        .header(IdempotencyAdvice.HEADER, idempotencyKey)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(om.writeValueAsString(request)))
+                .andExpect(status().isCreated());
+
+        request.setAmount(500L);    // 같은 키로 금액만 바꿈
+        String requestBody = om.writeValueAsString(request);
+        System.out.println("테스트: " + requestBody);
+
+        // when (저장된 응답을 돌려주지 않고 서비스도 실행하지 않는다)
+        ResultActions resultActions = mvc.perform(post("/api/account/deposit")
+                .header(IdempotencyAdvice.HEADER, idempotencyKey)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(requestBody));
+        String responseBody = resultActions.andReturn().getResponse().getContentAsString();
+        System.out.println("테스트: " + responseBody);
+
+        // then
+        resultActions.andExpect(status().isUnprocessableEntity());
+        Account accountPS = accountRepository.findByNumber(1111L).orElseThrow();
+        assertThat(accountPS.getBalance()).isEqualTo(1100L);
+    }
+
+    @Test
+    void deposit_idempotency_scope_test() throws Exception {
+        // given (로그인하지 않은 두 입금자가 우연히 같은 키를 사용)
+        String idempotencyKey = UUID.randomUUID().toString();
+        AccountDepositReqDto request = new AccountDepositReqDto();
+        request.setNumber(1111L);
+        request.setAmount(100L);
+        request.setGubun("DEPOSIT");
+        request.setTel("01011112222");
+        mvc.perform(post("/api/account/deposit")
+                        .header(IdempotencyAdvice.HEADER, idempotencyKey)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(om.writeValueAsString(request)))
+                .andExpect(status().isCreated());
+
+        AccountDepositReqDto otherRequest = new AccountDepositReqDto();
+        otherRequest.setNumber(2222L);
+        otherRequest.setAmount(100L);
+        otherRequest.setGubun("DEPOSIT");
+        otherRequest.setTel("01033334444");
+        String requestBody = om.writeValueAsString(otherRequest);
+        System.out.println("테스트: " + requestBody);
+
+        // when
+        ResultActions resultActions = mvc.perform(post("/api/account/deposit")
+                .header(IdempotencyAdvice.HEADER, idempotencyKey)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(requestBody));
+        String responseBody = resultActions.andReturn().getResponse().getContentAsString();
+        System.out.println("테스트: " + responseBody);
+
+        // then (다른 사람의 응답이 아니라 자기 입금 결과를 받는다)
+        resultActions.andExpect(status().isCreated());
+        resultActions.andExpect(header().doesNotExist(IdempotencyAdvice.REPLAYED_HEADER));
+        resultActions.andExpect(jsonPath("$.data.number").value(2222L));
+        Account cosAccountPS = accountRepository.findByNumber(2222L).orElseThrow();
+        assertThat(cosAccountPS.getBalance()).isEqualTo(1100L);
+    }
+
+    @Test
+    void deposit_metrics_test() throws Exception {
+        // given
+        AccountDepositReqDto request = new AccountDepositReqDto();
+        request.setNumber(9999L);   // 없는 계좌
+        request.setAmount(100L);
+        request.setGubun("DEPOSIT");
+        request.setTel("01011112222");
+
+        String requestBody = om.writeValueAsString(request);
+        System.out.println("테스트: " + requestBody);
+
+        // when
+        ResultActions resultActions = mvc.perform(post("/api/account/deposit")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(requestBody));
+        String responseBody = resultActions.andReturn().getResponse().getContentAsString();
+        System.out.println("테스트: " + responseBody);
+
+        // then
+        resultActions.andExpect(status().isBadRequest());
+        Timer timer = meterRegistry.find(AccountServiceMetricsAdvice.METRIC_NAME)
+                .tags("method", "계좌입금", "outcome", "fail", "reason", "계좌를 찾을 수 없습니다")
+                .timer();
+        System.out.println("테스트: " + (timer == null ? null : timer.count()));
+        assertThat(timer).isNotNull();
+        assertThat(timer.count()).isGreaterThanOrEqualTo(1L);
+    }
+
     @WithUserDetails(value = "ssar", setupBefore = TestExecutionEvent.TEST_EXECUTION)
     @Test
     void withdrawAccount_test() throws Exception {
@@ -186,13 +351,60 @@ class AccountControllerTest extends DummyObject {
         System.out.println("테스트: " + requestBody);
 
         // when
+        SqlStatementRecorder.start();
         ResultActions resultActions = mvc.perform(post("/api/s/account/transfer")
                 .content(requestBody)
                 .contentType(MediaType.APPLICATION_JSON));
+        SqlCount sqlCount = SqlStatementRecorder.stop();
+        String responseBody = resultActions.andReturn().getResponse().getContentAsString();
+        System.out.println("테스트: " + responseBody);
+
+        // then
+        resultActions.andExpect(status().isCreated());
+        // 메타데이터 1 + select for update 2 + insert 거래내역 1 + update 계좌 1 (배치) + upsert 스냅샷 2
+        assertThat(sqlCount.getTotal()).as(sqlCount.toString()).isEqualTo(7);
+        assertThat(sqlCount.getSelectCount()).isEqualTo(3);
+        assertThat(sqlCount.touches("user_tb")).isFalse();
+    }
+
+    @WithUserDetails(value = "ssar", setupBefore = TestExecutionEvent.TEST_EXECUTION)
+    @Test
+    void transferAccountBatch_test() throws Exception {
+        // given
+        List<AccountTransferReqDto> transfers = new ArrayList<>();
+        for (long amount : new long[]{100L, 200L, 5000L}) {  // 마지막 건은 잔액 부족
+            AccountTransferReqDto accountTransferReqDto = new AccountTransferReqDto();
+            accountTransferReqDto.setWithdrawNumber(1111L);
+            accountTransferReqDto.setWithdrawPassword(1234L);
+            accountTransferReqDto.setDepositNumber(2222L);
+            accountTransferReqDto.setGubun("TRANSFER");
+            accountTransferReqDto.setAmount(amount);
+            transfers.add(accountTransferReqDto);
+        }
+        AccountTransferBatchReqDto accountTransferBatchReqDto = new AccountTransferBatchReqDto();
+        accountTransferBatchReqDto.setTransfers(transfers);
+
+        String requestBody = om.writeValueAsString(accountTransferBatchReqDto);
+        System.out.println("테스트: " + requestBody);
+
+        // when
+        SqlStatementRecorder.start();
+        ResultActions resultActions = mvc.perform(post("/api/s/account/transfer/batch")
+                .content(requestBody)
+                .contentType(MediaType.APPLICATION_JSON));
+        SqlCount sqlCount = SqlStatementRecorder.stop();
         String responseBody = resultActions.andReturn().getResponse().getContentAsString();
         System.out.println("테스트: " + responseBody);
 
         // then
         resultActions.andExpect(status().isCreated());
+        resultActions.andExpect(jsonPath("$.data.successCount").value(2));
+        resultActions.andExpect(jsonPath("$.data.failCount").value(1));
+        resultActions.andExpect(jsonPath("$.data.results[1].balance").value(700L));
+        resultActions.andExpect(jsonPath("$.data.results[2].msg").value("계좌 잔액이 부족합니다"));
+        Account cosAccountPS = accountRepository.findByNumber(2222L).orElseThrow();
+        assertThat(cosAccountPS.getBalance()).isEqualTo(1300L);
+        // 이체 건수와 상관없이 IN 조회 1 + insert 배치 1 + update 배치 1 + upsert 스냅샷 (계좌당) 2
+        assertThat(sqlCount.getTotal()).as(sqlCount.toString()).isEqualTo(5);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,45 @@
+package shop.mtcoding.bank.web;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.SpringBootTest.WebEnvironment;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+import shop.mtcoding.bank.config.auth.LoginUser;
+import shop.mtcoding.bank.config.jwt.JwtProcess;
+import shop.mtcoding.bank.config.jwt.JwtVO;
+import shop.mtcoding.bank.domain.user.User;
+import shop.mtcoding.bank.domain.user.UserEnum;
+
+@ActiveProfiles("test")
+@AutoConfigureMockMvc
+@SpringBootTest(webEnvironment = WebEnvironment.MOCK)
+class AdminControllerTest {
+
+    @Autowired
+    private MockMvc mvc;
+
+    @Test
+    void findCacheStats_test() throws Exception {
+        // given
+        User admin = User.builder().id(1L).role(UserEnum.ADMIN).build();
+        String token = JwtProcess.create(new LoginUser(admin));
+
+        // when
+        ResultActions resultActions = mvc.perform(get("/api/admin/cache").header(JwtVO.HEADER, token));
+        String responseBody = resultActions.andReturn().getResponse().getContentAsString();
+        System.out.println("테스트: " + responseBody);
+
+        // then
+        resultActions.andExpect(status().isOk());
+        resultActions.andExpect(jsonPath("$.data.caches[0].name").value("accountMeta"));
+        resultActions.andExpect(jsonPath("$.data.caches.length()").value(5));
+    }
+}
@@ -0,0 +1,231 @@
+package shop.mtcoding.bank.web;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.time.LocalDate;
+import javax.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.SpringBootTest.WebEnvironment;
+import org.springframework.security.test.context.support.TestExecutionEvent;
+import org.springframework.security.test.context.support.WithUserDetails;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+import shop.mtcoding.bank.config.auth.LoginUser;
+import shop.mtcoding.bank.config.dummy.DummyObject;
+import shop.mtcoding.bank.config.jwt.JwtProcess;
+import shop.mtcoding.bank.config.jwt.JwtVO;
+import shop.mtcoding.bank.domain.account.Account;
+import shop.mtcoding.bank.domain.account.AccountRepository;
+import shop.mtcoding.bank.domain.transaction.TransactionRepository;
+import shop.mtcoding.bank.domain.user.User;
+import shop.mtcoding.bank.domain.user.UserEnum;
+import shop.mtcoding.bank.domain.user.UserRepository;
+import shop.mtcoding.bank.util.CustomDateUtil;
+
+@Sql("classpath:db/teardown.sql")
+@ActiveProfiles("test")
+@AutoConfigureMockMvc
+@SpringBootTest(webEnvironment = WebEnvironment.MOCK)
+class TransactionControllerTest extends DummyObject {
+
+    @Autowired
+    private MockMvc mvc;
+
+    @Autowired
+    private ObjectMapper om;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private EntityManager em;
+
+    @BeforeEach
+    public void setUp() {
+        User ssar = userRepository.save(newUser("ssar", "쌀"));
+        User cos = userRepository.save(newUser("cos", "코스"));
+        Account ssarAccount = accountRepository.save(newMockAccount(1L, 1111L, 1000L, ssar));
+        Account cosAccount = accountRepository.save(newMockAccount(2L, 2222L, 1000L, cos));
+
+        transactionRepository.save(newWithdrawTransaction(ssarAccount, accountRepository));   // 900원
+        transactionRepository.save(newDepositTransaction(ssarAccount, accountRepository));    // 1000원
+        transactionRepository.save(newTransferTransaction(ssarAccount, cosAccount, accountRepository)); // 900원
+
+        em.clear();
+    }
+
+    @WithUserDetails(value = "ssar", setupBefore = TestExecutionEvent.TEST_EXECUTION)
+    @Test
+    void findTransactionList_test() throws Exception {
+        // given
+        Long number = 1111L;
+
+        // when
+        ResultActions resultActions = mvc.perform(get("/api/s/account/" + number + "/transaction")
+                .param("gubun", "ALL")
+                .param("size", "2"));
+        String responseBody = resultActions.andReturn().getResponse().getContentAsString();
+        System.out.println("테스트: " + responseBody);
+
+        // then
+        resultActions.andExpect(status().isOk());
+        resultActions.andExpect(jsonPath("$.data.transactions.size()").value(2));
+        resultActions.andExpect(jsonPath("$.data.transactions[0].balance").value(900L));
+        resultActions.andExpect(jsonPath("$.data.nextCursor").isNotEmpty());
+    }
+
+    @WithUserDetails(value = "ssar", setupBefore = TestExecutionEvent.TEST_EXECUTION)
+    @Test
+    void findTransactionList_epoch_test() throws Exception {
+        // given
+        Long number = 1111L;
+
+        // when
+        ResultActions resultActions = mvc.perform(get("/api/s/account/" + number + "/transaction")
+                .header(CustomDateUtil.FORMAT_HEADER, CustomDateUtil.FORMAT_EPOCH));
+        String responseBody = resultActions.andReturn().getResponse().getContentAsString();
+        System.out.println("테스트: " + responseBody);
+
+        // then
+        resultActions.andExpect(status().isOk());
+        resultActions.andExpect(jsonPath("$.data.transactions[0].createdAt").isNumber());
+    }
+
+    @WithUserDetails(value = "ssar", setupBefore = TestExecutionEvent.TEST_EXECUTION)
+    @Test
+    void findTransactionList_nextCursor_test() throws Exception {
+        // given
+        Long number = 1111L;
+        String firstPage = mvc.perform(get("/api/s/account/" + number + "/transaction").param("size", "2"))
+                .andReturn().getResponse().getContentAsString();
+        String nextCursor = om.readTree(firstPage).get("data").get("nextCursor").asText();
+
+        // when
+        ResultActions resultActions = mvc.perform(get("/api/s/account/" + number + "/transaction")
+                .param("size", "2")
+                .param("cursor", nextCursor));
+        String responseBody = resultActions.andReturn().getResponse().getContentAsString();
+        System.out.println("테스트: " + responseBody);
+
+        // then
+        resultActions.andExpect(status().isOk());
+        resultActions.andExpect(jsonPath("$.data.transactions.size()").value(1));
+        resultActions.andExpect(jsonPath("$.data.transactions[0].receiver").value("2222"));
+        resultActions.andExpect(jsonPath("$.data.nextCursor").doesNotExist());
+    }
+
+    @WithUserDetails(value = "ssar", setupBefore = TestExecutionEvent.TEST_EXECUTION)
+    @Test
+    void findTransactionList_fail_test() throws Exception {
+        // given
+        Long number = 2222L;    // cos의 계좌
+
+        // when
+        ResultActions resultActions = mvc.perform(get("/api/s/account/" + number + "/transaction"));
+
+        // then
+        resultActions.andExpect(status().isBadRequest());
+    }
+
+    @WithUserDetails(value = "ssar", setupBefore = TestExecutionEvent.TEST_EXECUTION)
+    @Test
+    void findStatement_test() throws Exception {
+        // given
+        Long number = 1111L;
+        String today = LocalDate.now().toString();
+
+        // when
+        ResultActions resultActions = mvc.perform(get("/api/s/account/" + number + "/statement")
+                .param("from", today)
+                .param("to", today));
+        String responseBody = resultActions.andReturn().getResponse().getContentAsString();
+        System.out.println("테스트: " + responseBody);
+
+        // then
+        resultActions.andExpect(status().isOk());
+        resultActions.andExpect(jsonPath("$.data.openingBalance").value(1000L));
+        resultActions.andExpect(jsonPath("$.data.closingBalance").value(900L));
+        resultActions.andExpect(jsonPath("$.data.depositTotal").value(100L));
+        resultActions.andExpect(jsonPath("$.data.withdrawTotal").value(200L));
+        resultActions.andExpect(jsonPath("$.data.transactions.length()").value(3));
+    }
+
+    @WithUserDetails(value = "ssar", setupBefore = TestExecutionEvent.TEST_EXECUTION)
+    @Test
+    void exportTransactionList_csv_test() throws Exception {
+        // given
+        Long number = 1111L;
+
+        // when
+        ResultActions resultActions = mvc.perform(get("/api/s/account/" + number + "/transaction/export")
+                .param("format", "csv"));
+        String responseBody = resultActions.andReturn().getResponse().getContentAsString();
+        System.out.println("테스트: " + responseBody);
+
+        // then
+        resultActions.andExpect(status().isOk());
+        resultActions.andExpect(content().contentTypeCompatibleWith("text/csv"));
+        String[] lines = responseBody.split("\n");
+        assertThat(lines).hasSize(4);   // 헤더 + 3건
+        assertThat(lines[0]).startsWith("id,gubun,amount");
+        assertThat(lines[1]).contains("WITHDRAW,100,1111,,900,");
+        assertThat(lines[3]).contains("TRANSFER,100,1111,2222,900,1100,");
+    }
+
+    @WithUserDetails(value = "ssar", setupBefore = TestExecutionEvent.TEST_EXECUTION)
+    @Test
+    void exportTransactionList_fail_test() throws Exception {
+        // given
+        Long number = 2222L;    // cos의 계좌
+
+        // when
+        ResultActions resultActions = mvc.perform(get("/api/s/account/" + number + "/transaction/export"));
+        String responseBody = resultActions.andReturn().getResponse().getContentAsString();
+        System.out.println("테스트: " + responseBody);
+
+        // then (응답을 시작하기 전에 실패하므로 JSON으로 응답한다)
+        resultActions.andExpect(status().isBadRequest());
+        resultActions.andExpect(jsonPath("$.code").value(-1));
+    }
+
+    @Test
+    void exportAllTransactionList_ndjson_test() throws Exception {
+        // given
+        User admin = User.builder().id(1L).role(UserEnum.ADMIN).build();
+        String token = JwtProcess.create(new LoginUser(admin));
+        String today = LocalDate.now().toString();
+
+        // when
+        ResultActions resultActions = mvc.perform(get("/api/admin/transaction/export")
+                .header(JwtVO.HEADER, token)
+                .param("format", "ndjson")
+                .param("from", today)
+                .param("to", today));
+        String responseBody = resultActions.andReturn().getResponse().getContentAsString();
+        System.out.println("테스트: " + responseBody);
+
+        // then
+        resultActions.andExpect(status().isOk());
+        resultActions.andExpect(content().contentTypeCompatibleWith("application/x-ndjson"));
+        String[] lines = responseBody.split("\n");
+        assertThat(lines).hasSize(3);
+        assertThat(om.readTree(lines[2]).get("depositNumber").asLong()).isEqualTo(2222L);
+    }
+}
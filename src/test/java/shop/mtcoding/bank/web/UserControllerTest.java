@@ -2,6 +2,7 @@ package shop.mtcoding.bank.web;
 
 import static org.assertj.core.api.Assertions.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -84,6 +85,33 @@ public class UserControllerTest extends DummyObject {
         resultActions.andExpect(status().isBadRequest());
     }
 
+    @Test
+    void join_validation_fail_test() throws Exception {
+        // given
+        JoinReqDto joinReqDto = new JoinReqDto();
+        joinReqDto.setUsername("s");    // 2자 미만
+        joinReqDto.setPassword("1234");
+        joinReqDto.setEmail("love@nate");   // 이메일 형식 아님
+        joinReqDto.setFullname("러브");
+
+        String requestBody = om.writeValueAsString(joinReqDto);
+
+        // when
+        ResultActions resultActions = mvc.perform(post("/api/join")
+                .content(requestBody)
+                .contentType(MediaType.APPLICATION_JSON));
+        String responseBody = resultActions.andReturn().getResponse().getContentAsString();
+        System.out.println("테스트: " + responseBody);
+
+        // then
+        resultActions.andExpect(status().isBadRequest());
+        resultActions.andExpect(jsonPath("$.msg").value("유효성검사 실패"));
+        resultActions.andExpect(jsonPath("$.data.username").value("영문/숫자 2~20자 이내로 작성해주세요"));
+        resultActions.andExpect(jsonPath("$.data.email").value("이메일 형식으로 작성해주세요"));
+        resultActions.andExpect(jsonPath("$.data.password").doesNotExist());
+        assertThat(userRepository.findByUsername("s")).isEmpty();
+    }
+
     private void dataSetting() {
         userRepository.save(newUser("ssar", "쌀"));
         em.clear();